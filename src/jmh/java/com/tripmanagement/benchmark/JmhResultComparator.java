@@ -0,0 +1,63 @@
+package com.tripmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and exits with status 1 if any benchmark present in
+ * both got slower than the allowed ratio. Only average-time results are compared.
+ *
+ * <pre>
+ * java -cp target/test-classes:... com.tripmanagement.benchmark.JmhResultComparator \
+ *     baseline/jmh-result.json target/jmh-result.json 1.10
+ * </pre>
+ */
+public class JmhResultComparator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: JmhResultComparator <baseline.json> <candidate.json> [max slowdown ratio, default 1.10]");
+            System.exit(2);
+        }
+        double maxRatio = args.length > 2 ? Double.parseDouble(args[2]) : 1.10;
+        Map<String, Double> baseline = read(new File(args[0]));
+        Map<String, Double> candidate = read(new File(args[1]));
+
+        boolean regressed = false;
+        for (Map.Entry<String, Double> entry : candidate.entrySet()) {
+            Double before = baseline.get(entry.getKey());
+            if (before == null || before == 0.0) {
+                continue;
+            }
+            double ratio = entry.getValue() / before;
+            boolean slower = ratio > maxRatio;
+            regressed |= slower;
+            System.out.printf("%-100s %12.3f -> %12.3f  x%.2f%s%n",
+                    entry.getKey(), before, entry.getValue(), ratio, slower ? "  REGRESSION" : "");
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static Map<String, Double> read(File file) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            if (!"avgt".equals(result.path("mode").asText())) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            scores.put(key.toString(), result.path("primaryMetric").path("score").asDouble());
+        }
+        return scores;
+    }
+}
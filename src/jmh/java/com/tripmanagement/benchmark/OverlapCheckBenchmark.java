@@ -0,0 +1,67 @@
+package com.tripmanagement.benchmark;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.index.TripOverlapIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap check for a new trip to a destination that already has {@code tripsPerDestination}
+ * trips: the original loop over the LIKE query result (DB time excluded) against the
+ * interval index. The probe fits between the last two trips, the loop's worst case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverlapCheckBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int tripsPerDestination;
+
+    private List<Trip> existingTrips;
+    private TripOverlapIndex tripOverlapIndex;
+    private Trip probe;
+
+    @Setup
+    public void setUp() {
+        existingTrips = TripFixtures.trips(tripsPerDestination, 1);
+        tripOverlapIndex = new TripOverlapIndex(null, null);
+        existingTrips.forEach(tripOverlapIndex::put);
+        Trip last = existingTrips.get(existingTrips.size() - 1);
+        LocalDate start = last.getStartDate().minusDays(4);
+        probe = new Trip(0, last.getDestination(), start, start.plusDays(2), 100.0, last.getStatus(), 0);
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        for (Trip existingTrip : existingTrips) {
+            if (existingTrip.getDestination().equalsIgnoreCase(probe.getDestination()) &&
+                    ((probe.getStartDate().isBefore(existingTrip.getEndDate()) || probe.getStartDate().isEqual(existingTrip.getEndDate())) &&
+                            (probe.getEndDate().isAfter(existingTrip.getStartDate()) || probe.getEndDate().isEqual(existingTrip.getStartDate())))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean intervalIndex() {
+        return tripOverlapIndex.findOverlap(probe.getDestination(), probe.getStartDate(), probe.getEndDate(), 0).isPresent();
+    }
+}
@@ -0,0 +1,87 @@
+package com.tripmanagement.benchmark;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.statistics.PriceSketch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price quantiles kept in a {@link PriceSketch} against exact ones: the update cost of the
+ * sketch and of the price multiset the statistics engine already keeps, and p99 from the
+ * sketch against sorting a copy of every price. Setup prints the memory each one holds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PriceQuantileBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int trips;
+
+    private double[] prices;
+    private PriceSketch sketch;
+    private TreeMap<Double, Integer> multiset;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        prices = TripFixtures.trips(trips, 1000).stream().mapToDouble(Trip::getPrice).toArray();
+        sketch = new PriceSketch();
+        multiset = new TreeMap<>();
+        for (double price : prices) {
+            sketch.add(price);
+            multiset.merge(price, 1, Integer::sum);
+        }
+        // TreeMap entry (40) + boxed Double key (16); small Integer counts come from the cache
+        System.out.printf("%n%d trips: sketch %d bytes, exact multiset ~%d bytes, price array %d bytes%n",
+                trips, sketch.sizeInBytes(), multiset.size() * 56L, prices.length * 8L);
+    }
+
+    @Benchmark
+    public long sketchUpdate() {
+        double price = prices[next++ % prices.length];
+        sketch.remove(price);
+        sketch.add(price + 1);
+        sketch.remove(price + 1);
+        sketch.add(price);
+        return sketch.count();
+    }
+
+    @Benchmark
+    public int multisetUpdate() {
+        double price = prices[next++ % prices.length];
+        multiset.merge(price, -1, Integer::sum);
+        multiset.merge(price + 1, 1, Integer::sum);
+        multiset.merge(price + 1, -1, (count, delta) -> count + delta == 0 ? null : count + delta);
+        multiset.merge(price, 1, Integer::sum);
+        return multiset.size();
+    }
+
+    @Benchmark
+    public double sketchP99() {
+        return sketch.quantile(0.99);
+    }
+
+    @Benchmark
+    public double sortedP99() {
+        double[] sorted = prices.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.floor(0.99 * (sorted.length - 1))];
+    }
+}
@@ -0,0 +1,71 @@
+package com.tripmanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripmanagement.dto.ResponseDto;
+import com.tripmanagement.dto.TripDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the list and page envelopes returned by the controller, using an
+ * ObjectMapper built the way Spring Boot builds its default one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int trips;
+
+    private ObjectMapper objectMapper;
+    private ResponseDto<List<TripDto>> listResponse;
+    private ResponseDto<Page<TripDto>> pageResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<TripDto> tripDtos = TripFixtures.tripDtos(trips);
+
+        listResponse = new ResponseDto<>();
+        listResponse.setStatusCode(HttpStatus.OK);
+        listResponse.setMessage("All trips fetched successfully");
+        listResponse.setData(tripDtos);
+
+        pageResponse = new ResponseDto<>();
+        pageResponse.setStatusCode(HttpStatus.OK);
+        pageResponse.setMessage("Trips found successfully");
+        pageResponse.setData(new PageImpl<>(tripDtos, PageRequest.of(0, trips), trips * 10L));
+    }
+
+    @Benchmark
+    public byte[] listEnvelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(listResponse);
+    }
+
+    @Benchmark
+    public byte[] pageEnvelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+}
@@ -0,0 +1,73 @@
+package com.tripmanagement.benchmark;
+
+import com.tripmanagement.analytics.TripAnalyticsFilter;
+import com.tripmanagement.analytics.TripColumnStore;
+import com.tripmanagement.dto.TripGroupDto;
+import com.tripmanagement.dto.TripPriceBucketDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripGroupBy;
+import com.tripmanagement.index.TripOverlapIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Group-by destination and a price histogram over the column store, against the same
+ * group-by as a stream over a list of Trip objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TripAnalyticsBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int trips;
+
+    private List<Trip> allTrips;
+    private TripColumnStore tripColumnStore;
+
+    @Setup
+    public void setUp() {
+        allTrips = TripFixtures.trips(trips, 1000);
+        tripColumnStore = new TripColumnStore(null);
+        allTrips.forEach(tripColumnStore::onTripSaved);
+    }
+
+    @Benchmark
+    public Map<String, DoubleSummaryStatistics> streamGroupByDestination() {
+        return allTrips.stream().collect(Collectors.groupingBy(trip -> TripOverlapIndex.normalize(trip.getDestination()),
+                Collectors.summarizingDouble(Trip::getPrice)));
+    }
+
+    @Benchmark
+    public List<TripGroupDto> columnarGroupByDestination() {
+        return tripColumnStore.groupBy(TripGroupBy.DESTINATION, TripAnalyticsFilter.ALL);
+    }
+
+    @Benchmark
+    public List<TripGroupDto> columnarGroupByMonth() {
+        return tripColumnStore.groupBy(TripGroupBy.MONTH, TripAnalyticsFilter.ALL);
+    }
+
+    @Benchmark
+    public List<TripPriceBucketDto> columnarPriceHistogram() {
+        return tripColumnStore.priceHistogram(50, TripAnalyticsFilter.ALL);
+    }
+}
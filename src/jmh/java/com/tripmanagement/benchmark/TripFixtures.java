@@ -0,0 +1,43 @@
+package com.tripmanagement.benchmark;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic trip data for the benchmarks. Trips are spread over {@code destinations}
+ * destinations, each destination's trips laid end to end without overlapping.
+ */
+final class TripFixtures {
+
+    static final LocalDate EPOCH = LocalDate.of(2020, 1, 1);
+    private static final TripStatus[] STATUSES = TripStatus.values();
+
+    private TripFixtures() {
+    }
+
+    static List<Trip> trips(int count, int destinations) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Trip> trips = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int destination = i % destinations;
+            int slot = i / destinations;
+            LocalDate start = EPOCH.plusDays(slot * 10L);
+            trips.add(new Trip(i + 1, "Destination " + destination, start, start.plusDays(5),
+                    100 + random.nextInt(100_000) / 10.0, STATUSES[i % STATUSES.length], 0));
+        }
+        return trips;
+    }
+
+    static List<TripDto> tripDtos(int count) {
+        return trips(count, Math.max(1, count / 10)).stream()
+                .map(trip -> new TripDto(trip.getId(), trip.getDestination(), trip.getStartDate(),
+                        trip.getEndDate(), trip.getPrice(), trip.getStatus(), 0))
+                .toList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.tripmanagement.benchmark;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.mapper.TripMapper;
+import com.tripmanagement.mapper.TripMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TripMapperBenchmark {
+
+    private final TripMapper tripMapper = new TripMapperImpl();
+    private Trip trip;
+    private TripDto tripDto;
+
+    @Setup
+    public void setUp() {
+        trip = TripFixtures.trips(1, 1).get(0);
+        tripDto = TripFixtures.tripDtos(1).get(0);
+    }
+
+    @Benchmark
+    public TripDto mapTripToTripDto() {
+        return tripMapper.mapTripToTripDto(trip);
+    }
+
+    @Benchmark
+    public Trip mapTripDtoToTrip() {
+        return tripMapper.mapTripDtoToTrip(tripDto);
+    }
+}
@@ -0,0 +1,77 @@
+package com.tripmanagement.benchmark;
+
+import com.tripmanagement.dto.TripSummaryDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.statistics.TripStatisticsEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trip summary at increasing table sizes: the original aggregation over a findAll() result
+ * (DB time excluded), reading the incrementally maintained summary, and the cost the
+ * engine adds to each update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TripSummaryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int trips;
+
+    private List<Trip> allTrips;
+    private TripStatisticsEngine tripStatisticsEngine;
+    private Trip previous;
+    private Trip updated;
+
+    @Setup
+    public void setUp() {
+        allTrips = TripFixtures.trips(trips, 1000);
+        tripStatisticsEngine = new TripStatisticsEngine(null, null);
+        allTrips.forEach(tripStatisticsEngine::onTripSaved);
+        previous = allTrips.get(trips / 2);
+        updated = new Trip(previous.getId(), previous.getDestination(), previous.getStartDate(),
+                previous.getEndDate(), previous.getPrice() + 1, previous.getStatus(), 0);
+    }
+
+    @Benchmark
+    public TripSummaryDto findAllAggregation() {
+        TripSummaryDto tripSummary = new TripSummaryDto();
+        tripSummary.setTotalTrips(allTrips.size());
+        DoubleSummaryStatistics stats = allTrips.stream()
+                .mapToDouble(Trip::getPrice)
+                .summaryStatistics();
+        tripSummary.setMinPrice(stats.getMin());
+        tripSummary.setMaxPrice(stats.getMax());
+        tripSummary.setAveragePrice(stats.getAverage());
+        return tripSummary;
+    }
+
+    @Benchmark
+    public TripSummaryDto incrementalSummary() {
+        return tripStatisticsEngine.getSummary();
+    }
+
+    @Benchmark
+    public TripSummaryDto incrementalUpdate() {
+        tripStatisticsEngine.onTripUpdated(previous, updated);
+        tripStatisticsEngine.onTripUpdated(updated, previous);
+        return tripStatisticsEngine.getSummary();
+    }
+}
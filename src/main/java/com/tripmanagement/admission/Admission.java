@@ -0,0 +1,19 @@
+package com.tripmanagement.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a handler method in an {@link AdmissionClass}. Handlers without it are
+ * {@link AdmissionClass#STANDARD}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Admission {
+
+    AdmissionClass value();
+}
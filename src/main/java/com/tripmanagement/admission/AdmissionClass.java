@@ -0,0 +1,14 @@
+package com.tripmanagement.admission;
+
+/**
+ * Cost classes for API endpoints. Each class gets its own concurrency limit, so a burst of
+ * expensive calls can only use up its own slots and cheap lookups keep being served.
+ */
+public enum AdmissionClass {
+    /** Served from memory or by primary key, e.g. GET /api/trips/{id}. */
+    LIGHT,
+    /** Bounded database work such as a single page or a single-row write. */
+    STANDARD,
+    /** Unbounded reads, full scans and bulk writes. */
+    HEAVY
+}
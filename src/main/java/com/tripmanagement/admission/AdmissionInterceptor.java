@@ -0,0 +1,150 @@
+package com.tripmanagement.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tripmanagement.exception.TripOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admission control in front of the API. Every request first takes a token from its
+ * client's bucket (429 when empty), then a slot in its endpoint class's {@link Bulkhead}
+ * (503 when the class is saturated and its queue is full or times out). Both rejections
+ * carry Retry-After and happen before the handler runs, so a shed request costs no thread
+ * time beyond the short queue wait and never touches the database.
+ * <p>
+ * The slot is held until the request completes; for async handlers such as the NDJSON
+ * stream that is after the async dispatch, not when the servlet thread is released.
+ */
+@Slf4j
+public class AdmissionInterceptor implements AsyncHandlerInterceptor, MeterBinder {
+
+    private static final String BULKHEAD_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".bulkhead";
+
+    private final AdmissionProperties properties;
+    private final Map<AdmissionClass, Bulkhead> bulkheads = new EnumMap<>(AdmissionClass.class);
+    private final Cache<String, TokenBucket> clientBuckets;
+    private final Map<AdmissionClass, Counter> shed = new EnumMap<>(AdmissionClass.class);
+    private final Map<AdmissionClass, Counter> rateLimited = new EnumMap<>(AdmissionClass.class);
+    private final Set<String> trustedProxies;
+
+    public AdmissionInterceptor(AdmissionProperties properties) {
+        this.properties = properties;
+        this.trustedProxies = Set.copyOf(properties.getTrustedProxies());
+        for (AdmissionClass admissionClass : AdmissionClass.values()) {
+            AdmissionProperties.Limit limit = properties.limit(admissionClass);
+            bulkheads.put(admissionClass, new Bulkhead(limit.getMaxConcurrent(), limit.getMaxQueued(), limit.getQueueTimeout()));
+        }
+        this.clientBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getClientIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC && request.getAttribute(BULKHEAD_ATTRIBUTE) != null) {
+            return true;
+        }
+        AdmissionClass admissionClass = classify(handler);
+
+        String clientId = clientId(request);
+        long now = System.nanoTime();
+        long waitNanos = clientBuckets
+                .get(clientId, id -> new TokenBucket(properties.getClientBurst(), properties.getClientRate(), now))
+                .tryConsume(now);
+        if (waitNanos > 0) {
+            increment(rateLimited, admissionClass);
+            throw new TripOverloadedException("Too many requests from client " + clientId,
+                    HttpStatus.TOO_MANY_REQUESTS, Duration.ofNanos(waitNanos));
+        }
+
+        Bulkhead bulkhead = bulkheads.get(admissionClass);
+        if (!bulkhead.tryAcquire()) {
+            increment(shed, admissionClass);
+            log.debug("Shed {} request {} {}", admissionClass, request.getMethod(), request.getRequestURI());
+            throw new TripOverloadedException("Server is busy, " + admissionClass.name().toLowerCase() + " requests are being shed",
+                    HttpStatus.SERVICE_UNAVAILABLE, properties.getShedRetryAfter());
+        }
+        request.setAttribute(BULKHEAD_ATTRIBUTE, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(BULKHEAD_ATTRIBUTE) instanceof Bulkhead bulkhead) {
+            request.removeAttribute(BULKHEAD_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (AdmissionClass admissionClass : AdmissionClass.values()) {
+            String tag = admissionClass.name().toLowerCase();
+            Bulkhead bulkhead = bulkheads.get(admissionClass);
+            Gauge.builder("trip.admission.in-flight", bulkhead, Bulkhead::inFlight)
+                    .description("Requests of this class currently executing")
+                    .tag("class", tag)
+                    .register(registry);
+            Gauge.builder("trip.admission.queued", bulkhead, Bulkhead::queued)
+                    .description("Requests of this class waiting for a slot")
+                    .tag("class", tag)
+                    .register(registry);
+            shed.put(admissionClass, Counter.builder("trip.admission.rejected")
+                    .description("Requests turned away by admission control")
+                    .tag("class", tag)
+                    .tag("reason", "shed")
+                    .register(registry));
+            rateLimited.put(admissionClass, Counter.builder("trip.admission.rejected")
+                    .description("Requests turned away by admission control")
+                    .tag("class", tag)
+                    .tag("reason", "rate-limited")
+                    .register(registry));
+        }
+    }
+
+    private static AdmissionClass classify(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Admission admission = handlerMethod.getMethodAnnotation(Admission.class);
+            if (admission != null) {
+                return admission.value();
+            }
+        }
+        return AdmissionClass.STANDARD;
+    }
+
+    /**
+     * The remote address, unless the request comes through a trusted proxy that names the
+     * client; the header from anyone else is ignored, since it is free to change per request.
+     */
+    private String clientId(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!trustedProxies.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+        String clientId = request.getHeader(properties.getClientIdHeader());
+        return clientId == null || clientId.isBlank() ? remoteAddr : clientId;
+    }
+
+    private static void increment(Map<AdmissionClass, Counter> counters, AdmissionClass admissionClass) {
+        Counter counter = counters.get(admissionClass);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
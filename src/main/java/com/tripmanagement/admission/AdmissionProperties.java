@@ -0,0 +1,73 @@
+package com.tripmanagement.admission;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits for {@link AdmissionInterceptor}, bound from {@code trip.admission.*}.
+ */
+@Data
+@ConfigurationProperties("trip.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    private Limit light = new Limit(200, 200, Duration.ofMillis(50));
+
+    private Limit standard = new Limit(64, 64, Duration.ofMillis(100));
+
+    private Limit heavy = new Limit(8, 16, Duration.ofMillis(500));
+
+    /**
+     * Header identifying the client for rate limiting. Only honoured on requests arriving from
+     * one of {@link #trustedProxies}; every other request is keyed by its remote address, so a
+     * client can't reset its bucket by sending a different value.
+     */
+    private String clientIdHeader = "X-Client-Id";
+
+    /**
+     * Remote addresses allowed to name the client in {@link #clientIdHeader}, typically the
+     * gateway or load balancer in front of the service. Empty means the header is ignored.
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+
+    /** Sustained requests per second allowed per client. */
+    private double clientRate = 50;
+
+    /** Requests a client may send in a burst on top of the sustained rate. */
+    private int clientBurst = 100;
+
+    /** Clients tracked at once. Buckets of idle clients are dropped first. */
+    private long maxClients = 100_000;
+
+    private Duration clientIdleTimeout = Duration.ofMinutes(10);
+
+    /** Retry-After sent when a request is shed because its class is saturated. */
+    private Duration shedRetryAfter = Duration.ofSeconds(1);
+
+    public Limit limit(AdmissionClass admissionClass) {
+        return switch (admissionClass) {
+            case LIGHT -> light;
+            case STANDARD -> standard;
+            case HEAVY -> heavy;
+        };
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        /** Requests of this class executing at once. */
+        private int maxConcurrent;
+        /** Requests allowed to wait for a slot; anything beyond is shed immediately. */
+        private int maxQueued;
+        /** How long a queued request waits for a slot before it is shed. */
+        private Duration queueTimeout;
+    }
+}
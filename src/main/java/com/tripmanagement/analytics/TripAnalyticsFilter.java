@@ -0,0 +1,14 @@
+package com.tripmanagement.analytics;
+
+import com.tripmanagement.enums.TripStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Restricts an analytics query to trips starting in {@code [from, to)} with the given
+ * status. Any of the three may be null to leave that side open.
+ */
+public record TripAnalyticsFilter(LocalDate from, LocalDate to, TripStatus status) {
+
+    public static final TripAnalyticsFilter ALL = new TripAnalyticsFilter(null, null, null);
+}
@@ -0,0 +1,512 @@
+package com.tripmanagement.analytics;
+
+import com.tripmanagement.dto.TripFacetsDto;
+import com.tripmanagement.dto.TripGroupDto;
+import com.tripmanagement.dto.TripPriceBucketDto;
+import com.tripmanagement.dto.TripQueryFilter;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripGroupBy;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.index.TripOverlapIndex;
+import com.tripmanagement.journal.TripJournal;
+import com.tripmanagement.service.TripChangeListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Trips held column by column in primitive arrays: prices, start and end dates as epoch
+ * days, start month as {@code year * 12 + month - 1}, status as a byte and the normalized
+ * destination as a code into a dictionary. Deleted rows are replaced by the last row, so
+ * columns stay dense and a scan touches nothing but live trips.
+ * <p>
+ * Queries split the rows across the common fork-join pool, each leaf aggregating its range
+ * into small arrays indexed by group key that are then merged pairwise. Loaded from the
+ * {@link TripJournal} at startup and kept current through {@link TripChangeListener}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripColumnStore implements TripChangeListener, SmartInitializingSingleton {
+
+    private static final int LEAF_ROWS = 1 << 14;
+    private static final TripStatus[] STATUSES = TripStatus.values();
+
+    private final TripJournal tripJournal;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] ids = new int[1024];
+    private double[] prices = new double[1024];
+    private int[] startDays = new int[1024];
+    private int[] endDays = new int[1024];
+    private int[] startMonths = new int[1024];
+    private byte[] statuses = new byte[1024];
+    private int[] destinations = new int[1024];
+    private int size;
+
+    private final IntIntHashMap rowById = new IntIntHashMap(1024);
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> destinationCodes = new HashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            rowById.clear();
+            tripJournal.forEachTrip(this::putUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Trip column store loaded {} trips across {} destinations", size, dictionary.size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count, price range, average and revenue per group of the trips matching {@code filter},
+     * ordered by key. Empty groups are left out.
+     */
+    public List<TripGroupDto> groupBy(TripGroupBy groupBy, TripAnalyticsFilter filter) {
+        lock.readLock().lock();
+        try {
+            int status = filter.status() == null ? -1 : filter.status().ordinal();
+            int from = filter.from() == null ? Integer.MIN_VALUE : (int) filter.from().toEpochDay();
+            int to = filter.to() == null ? Integer.MAX_VALUE : (int) filter.to().toEpochDay();
+
+            int base;
+            int groups;
+            switch (groupBy) {
+                case DESTINATION -> {
+                    base = 0;
+                    groups = dictionary.size();
+                }
+                case STATUS -> {
+                    base = 0;
+                    groups = STATUSES.length;
+                }
+                default -> {
+                    int[] range = scan(() -> new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE}, (bounds, start, end) -> {
+                        for (int row = start; row < end; row++) {
+                            if (matches(row, from, to, status)) {
+                                int period = period(groupBy, startMonths[row]);
+                                bounds[0] = Math.min(bounds[0], period);
+                                bounds[1] = Math.max(bounds[1], period);
+                            }
+                        }
+                    }, (a, b) -> new int[]{Math.min(a[0], b[0]), Math.max(a[1], b[1])});
+                    if (range[0] > range[1]) {
+                        return List.of();
+                    }
+                    base = range[0];
+                    groups = range[1] - range[0] + 1;
+                }
+            }
+
+            GroupAggregate total = scan(() -> new GroupAggregate(groups), (aggregate, start, end) -> {
+                for (int row = start; row < end; row++) {
+                    if (matches(row, from, to, status)) {
+                        int key = switch (groupBy) {
+                            case DESTINATION -> destinations[row];
+                            case STATUS -> statuses[row];
+                            default -> period(groupBy, startMonths[row]) - base;
+                        };
+                        aggregate.add(key, prices[row]);
+                    }
+                }
+            }, GroupAggregate::merge);
+
+            List<TripGroupDto> result = new ArrayList<>();
+            for (int key = 0; key < groups; key++) {
+                if (total.counts[key] > 0) {
+                    result.add(new TripGroupDto(label(groupBy, key + base), total.counts[key], total.mins[key],
+                            total.maxs[key], total.sums[key] / total.counts[key], total.sums[key]));
+                }
+            }
+            if (groupBy == TripGroupBy.DESTINATION) {
+                result.sort((a, b) -> a.getKey().compareTo(b.getKey()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits the price range of the matching trips into {@code buckets} equal-width buckets,
+     * upper bounds exclusive except for the last, and counts the trips in each.
+     */
+    public List<TripPriceBucketDto> priceHistogram(int buckets, TripAnalyticsFilter filter) {
+        lock.readLock().lock();
+        try {
+            int status = filter.status() == null ? -1 : filter.status().ordinal();
+            int from = filter.from() == null ? Integer.MIN_VALUE : (int) filter.from().toEpochDay();
+            int to = filter.to() == null ? Integer.MAX_VALUE : (int) filter.to().toEpochDay();
+
+            double[] range = scan(() -> new double[]{Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}, (bounds, start, end) -> {
+                for (int row = start; row < end; row++) {
+                    if (matches(row, from, to, status)) {
+                        bounds[0] = Math.min(bounds[0], prices[row]);
+                        bounds[1] = Math.max(bounds[1], prices[row]);
+                    }
+                }
+            }, (a, b) -> new double[]{Math.min(a[0], b[0]), Math.max(a[1], b[1])});
+            if (range[0] > range[1]) {
+                return List.of();
+            }
+            double min = range[0];
+            double width = bucketWidth(min, range[1], buckets);
+
+            long[] counts = scan(() -> new long[buckets], (bucketCounts, start, end) -> {
+                for (int row = start; row < end; row++) {
+                    if (matches(row, from, to, status)) {
+                        bucketCounts[bucket(prices[row], min, width, buckets)]++;
+                    }
+                }
+            }, TripColumnStore::sum);
+
+            List<TripPriceBucketDto> result = new ArrayList<>(buckets);
+            for (int i = 0; i < buckets; i++) {
+                result.add(new TripPriceBucketDto(min + i * width, min + (i + 1) * width, counts[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Facet counts of the trips matching {@code filter}: per status (every status, zeros
+     * included), per start month and per equal-width price bucket. Two scans: the first finds
+     * the month and price ranges, the second fills the month and price counts.
+     */
+    public TripFacetsDto facets(TripQueryFilter filter, int priceBuckets) {
+        lock.readLock().lock();
+        try {
+            RowFilter rows = new RowFilter(filter);
+            FacetBounds bounds = scan(FacetBounds::new, (facetBounds, start, end) -> {
+                for (int row = start; row < end; row++) {
+                    if (rows.test(row)) {
+                        facetBounds.add(statuses[row], startMonths[row], prices[row]);
+                    }
+                }
+            }, FacetBounds::merge);
+
+            Map<TripStatus, Long> byStatus = new EnumMap<>(TripStatus.class);
+            for (TripStatus status : STATUSES) {
+                byStatus.put(status, bounds.statusCounts[status.ordinal()]);
+            }
+            long total = Arrays.stream(bounds.statusCounts).sum();
+            if (total == 0) {
+                return new TripFacetsDto(0, byStatus, Map.of(), List.of());
+            }
+
+            int months = bounds.maxMonth - bounds.minMonth + 1;
+            double minPrice = bounds.minPrice;
+            double width = bucketWidth(minPrice, bounds.maxPrice, priceBuckets);
+            // Month counts first, price bucket counts after them, in one array per leaf
+            long[] counts = scan(() -> new long[months + priceBuckets], (facetCounts, start, end) -> {
+                for (int row = start; row < end; row++) {
+                    if (rows.test(row)) {
+                        facetCounts[startMonths[row] - bounds.minMonth]++;
+                        facetCounts[months + bucket(prices[row], minPrice, width, priceBuckets)]++;
+                    }
+                }
+            }, TripColumnStore::sum);
+
+            Map<String, Long> byMonth = new LinkedHashMap<>();
+            for (int month = 0; month < months; month++) {
+                if (counts[month] > 0) {
+                    byMonth.put(label(TripGroupBy.MONTH, bounds.minMonth + month), counts[month]);
+                }
+            }
+            List<TripPriceBucketDto> byPrice = new ArrayList<>(priceBuckets);
+            for (int i = 0; i < priceBuckets; i++) {
+                byPrice.add(new TripPriceBucketDto(minPrice + i * width, minPrice + (i + 1) * width, counts[months + i]));
+            }
+            return new TripFacetsDto(total, byStatus, byMonth, byPrice);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onTripSaved(Trip trip) {
+        put(trip);
+    }
+
+    @Override
+    public void onTripUpdated(Trip previous, Trip updated) {
+        put(updated);
+    }
+
+    @Override
+    public void onTripDeleted(Trip trip) {
+        lock.writeLock().lock();
+        try {
+            int row = rowById.get(trip.getId());
+            if (row == IntIntHashMap.MISSING) {
+                return;
+            }
+            rowById.remove(trip.getId());
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                prices[row] = prices[last];
+                startDays[row] = startDays[last];
+                endDays[row] = endDays[last];
+                startMonths[row] = startMonths[last];
+                statuses[row] = statuses[last];
+                destinations[row] = destinations[last];
+                rowById.put(ids[row], row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Trip trip) {
+        lock.writeLock().lock();
+        try {
+            putUnlocked(trip);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putUnlocked(Trip trip) {
+        int row = rowById.get(trip.getId());
+        if (row == IntIntHashMap.MISSING) {
+            if (size == ids.length) {
+                grow();
+            }
+            row = size++;
+            rowById.put(trip.getId(), row);
+        }
+        LocalDate start = trip.getStartDate();
+        ids[row] = trip.getId();
+        prices[row] = trip.getPrice();
+        startDays[row] = (int) start.toEpochDay();
+        endDays[row] = (int) trip.getEndDate().toEpochDay();
+        startMonths[row] = start.getYear() * 12 + start.getMonthValue() - 1;
+        statuses[row] = (byte) trip.getStatus().ordinal();
+        destinations[row] = destinationCodes.computeIfAbsent(TripOverlapIndex.normalize(trip.getDestination()), destination -> {
+            dictionary.add(destination);
+            return dictionary.size() - 1;
+        });
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        startDays = Arrays.copyOf(startDays, capacity);
+        endDays = Arrays.copyOf(endDays, capacity);
+        startMonths = Arrays.copyOf(startMonths, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        destinations = Arrays.copyOf(destinations, capacity);
+    }
+
+    private boolean matches(int row, int from, int to, int status) {
+        int start = startDays[row];
+        return start >= from && start < to && (status < 0 || statuses[row] == status);
+    }
+
+    private static double bucketWidth(double min, double max, int buckets) {
+        return max > min ? (max - min) / buckets : 1.0;
+    }
+
+    /**
+     * Bucket of {@code price}; the maximum lands in the last bucket rather than one past it.
+     */
+    private static int bucket(double price, double min, double width, int buckets) {
+        return Math.min(buckets - 1, (int) ((price - min) / width));
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    private static int period(TripGroupBy groupBy, int month) {
+        return switch (groupBy) {
+            case QUARTER -> Math.floorDiv(month, 3);
+            case YEAR -> Math.floorDiv(month, 12);
+            default -> month;
+        };
+    }
+
+    private String label(TripGroupBy groupBy, int key) {
+        return switch (groupBy) {
+            case DESTINATION -> dictionary.get(key);
+            case STATUS -> STATUSES[key].name();
+            case MONTH -> YearMonth.of(Math.floorDiv(key, 12), Math.floorMod(key, 12) + 1).toString();
+            case QUARTER -> Math.floorDiv(key, 4) + "-Q" + (Math.floorMod(key, 4) + 1);
+            case YEAR -> Integer.toString(key);
+        };
+    }
+
+    /**
+     * Runs {@code leaf} over the rows in parallel and merges the per-range results. Callers
+     * hold the read lock, so the columns can't change underneath the workers.
+     */
+    private <A> A scan(Supplier<A> identity, RangeAggregator<A> leaf, BinaryOperator<A> merge) {
+        return ForkJoinPool.commonPool().invoke(new ScanTask<>(0, size, identity, leaf, merge));
+    }
+
+    @FunctionalInterface
+    private interface RangeAggregator<A> {
+        void aggregate(A accumulator, int start, int end);
+    }
+
+    private static final class ScanTask<A> extends RecursiveTask<A> {
+        private final int start;
+        private final int end;
+        private final Supplier<A> identity;
+        private final RangeAggregator<A> leaf;
+        private final BinaryOperator<A> merge;
+
+        ScanTask(int start, int end, Supplier<A> identity, RangeAggregator<A> leaf, BinaryOperator<A> merge) {
+            this.start = start;
+            this.end = end;
+            this.identity = identity;
+            this.leaf = leaf;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (end - start <= LEAF_ROWS) {
+                A accumulator = identity.get();
+                leaf.aggregate(accumulator, start, end);
+                return accumulator;
+            }
+            int middle = (start + end) >>> 1;
+            ScanTask<A> left = new ScanTask<>(start, middle, identity, leaf, merge);
+            left.fork();
+            A right = new ScanTask<>(middle, end, identity, leaf, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+    }
+
+    /**
+     * {@link TripQueryFilter} compiled against the columns: the destination substring becomes
+     * a mask over the dictionary, dates become epoch days.
+     */
+    private final class RowFilter {
+        private final boolean[] destinationMask;
+        private final int status;
+        private final int from;
+        private final int to;
+        private final double minPrice;
+        private final double maxPrice;
+
+        RowFilter(TripQueryFilter filter) {
+            if (filter.getDestination() == null || filter.getDestination().isBlank()) {
+                destinationMask = null;
+            } else {
+                String needle = TripOverlapIndex.normalize(filter.getDestination());
+                destinationMask = new boolean[dictionary.size()];
+                for (int code = 0; code < destinationMask.length; code++) {
+                    destinationMask[code] = dictionary.get(code).contains(needle);
+                }
+            }
+            status = filter.getStatus() == null ? -1 : filter.getStatus().ordinal();
+            from = filter.getFrom() == null ? Integer.MIN_VALUE : (int) filter.getFrom().toEpochDay();
+            to = filter.getTo() == null ? Integer.MAX_VALUE : (int) filter.getTo().toEpochDay();
+            minPrice = filter.getMinPrice() == null ? Double.NEGATIVE_INFINITY : filter.getMinPrice();
+            maxPrice = filter.getMaxPrice() == null ? Double.POSITIVE_INFINITY : filter.getMaxPrice();
+        }
+
+        boolean test(int row) {
+            return startDays[row] >= from && endDays[row] < to
+                    && prices[row] >= minPrice && prices[row] <= maxPrice
+                    && (status < 0 || statuses[row] == status)
+                    && (destinationMask == null || destinationMask[destinations[row]]);
+        }
+    }
+
+    private static final class FacetBounds {
+        final long[] statusCounts = new long[STATUSES.length];
+        int minMonth = Integer.MAX_VALUE;
+        int maxMonth = Integer.MIN_VALUE;
+        double minPrice = Double.POSITIVE_INFINITY;
+        double maxPrice = Double.NEGATIVE_INFINITY;
+
+        void add(byte status, int month, double price) {
+            statusCounts[status]++;
+            minMonth = Math.min(minMonth, month);
+            maxMonth = Math.max(maxMonth, month);
+            minPrice = Math.min(minPrice, price);
+            maxPrice = Math.max(maxPrice, price);
+        }
+
+        FacetBounds merge(FacetBounds other) {
+            sum(statusCounts, other.statusCounts);
+            minMonth = Math.min(minMonth, other.minMonth);
+            maxMonth = Math.max(maxMonth, other.maxMonth);
+            minPrice = Math.min(minPrice, other.minPrice);
+            maxPrice = Math.max(maxPrice, other.maxPrice);
+            return this;
+        }
+    }
+
+    private static final class GroupAggregate {
+        final long[] counts;
+        final double[] sums;
+        final double[] mins;
+        final double[] maxs;
+
+        GroupAggregate(int groups) {
+            counts = new long[groups];
+            sums = new double[groups];
+            mins = new double[groups];
+            maxs = new double[groups];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(int key, double price) {
+            counts[key]++;
+            sums[key] += price;
+            mins[key] = Math.min(mins[key], price);
+            maxs[key] = Math.max(maxs[key], price);
+        }
+
+        GroupAggregate merge(GroupAggregate other) {
+            for (int key = 0; key < counts.length; key++) {
+                counts[key] += other.counts[key];
+                sums[key] += other.sums[key];
+                mins[key] = Math.min(mins[key], other.mins[key]);
+                maxs[key] = Math.max(maxs[key], other.maxs[key]);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.tripmanagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tripmanagement.dto.TripCacheStatsDto;
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.service.TripChangeListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Bounded read-through cache of {@link TripDto} by id for GET /api/trips/{id}. Missing ids
+ * are cached as empty entries with a shorter TTL so repeated lookups of bad ids skip the
+ * database too.
+ * <p>
+ * Every committed mutation writes the trip it committed into the cache rather than just
+ * invalidating it: with read replicas, the miss after an invalidation could load the old row
+ * from a replica that hasn't caught up and serve it for the whole TTL. Caffeine blocks the
+ * write until an in-flight load of the same key finishes, and an entry is only replaced by
+ * a higher version, so neither a slow load nor a late notification can put back an older trip.
+ */
+@Component
+public class TripCache implements TripChangeListener, MeterBinder {
+
+    private final Cache<Integer, Optional<TripDto>> cache;
+    private final LongAdder negativeHits = new LongAdder();
+
+    public TripCache(@Value("${trip.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${trip.cache.ttl:PT10M}") Duration ttl,
+                     @Value("${trip.cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Integer, Optional<TripDto>>() {
+                    @Override
+                    public long expireAfterCreate(Integer id, Optional<TripDto> tripDto, long currentTime) {
+                        return (tripDto.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Integer id, Optional<TripDto> tripDto, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, tripDto, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Integer id, Optional<TripDto> tripDto, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached trip, calling {@code loader} on a miss. An empty result is cached too.
+     */
+    public Optional<TripDto> get(int id, IntFunction<Optional<TripDto>> loader) {
+        boolean[] loaded = {false};
+        Optional<TripDto> tripDto = cache.get(id, key -> {
+            loaded[0] = true;
+            return loader.apply(key);
+        });
+        if (tripDto.isEmpty() && !loaded[0]) {
+            negativeHits.increment();
+        }
+        return tripDto;
+    }
+
+    public void invalidate(int id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public TripCacheStatsDto getStats() {
+        CacheStats stats = cache.stats();
+        return new TripCacheStatsDto(cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                negativeHits.sum(), stats.evictionCount(), stats.hitRate());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "tripById");
+        FunctionCounter.builder("trip.cache.negative.hits", negativeHits, LongAdder::sum)
+                .description("Lookups answered by a cached miss")
+                .register(registry);
+    }
+
+    @Override
+    public void onTripSaved(Trip trip) {
+        put(trip);
+    }
+
+    @Override
+    public void onTripUpdated(Trip previous, Trip updated) {
+        put(updated);
+    }
+
+    @Override
+    public void onTripDeleted(Trip trip) {
+        // Ids are never reused, so the trip stays gone
+        cache.put(trip.getId(), Optional.empty());
+    }
+
+    private void put(Trip trip) {
+        TripDto tripDto = new TripDto(trip.getId(), trip.getDestination(), trip.getStartDate(), trip.getEndDate(),
+                trip.getPrice(), trip.getStatus(), trip.getVersion());
+        cache.asMap().merge(trip.getId(), Optional.of(tripDto), (cached, committed) ->
+                cached.isPresent() && cached.get().getVersion() > tripDto.getVersion() ? cached : committed);
+    }
+}
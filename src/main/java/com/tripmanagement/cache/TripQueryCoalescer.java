@@ -0,0 +1,138 @@
+package com.tripmanagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.service.TripChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for read queries. The first caller for a (query, argument) pair runs the
+ * query; identical calls arriving while it runs wait for that result instead of running
+ * their own, and get the same value or the same exception. Optionally the result is kept
+ * for a short micro-cache window afterwards.
+ * <p>
+ * Any trip mutation drops both the micro-cache and the in-flight table, so a call arriving
+ * after a write never joins a query that started before it, and a result computed across a
+ * write is never cached.
+ */
+@Component
+public class TripQueryCoalescer implements TripChangeListener {
+
+    private record Key(String query, Object argument) {
+    }
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<Key, Object> recent;
+    private final AtomicLong generation = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public TripQueryCoalescer(@Value("${trip.coalescing.micro-cache-ttl:PT0S}") Duration microCacheTtl,
+                              MeterRegistry meterRegistry) {
+        this.recent = microCacheTtl.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(microCacheTtl)
+                .maximumSize(10_000)
+                .build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the result of {@code loader}, shared with every identical call in flight.
+     * Callers must not be inside a transaction of their own: waiters would hold a connection
+     * while doing nothing.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T call(String query, Object argument, Supplier<T> loader) {
+        Key key = new Key(query, argument);
+        if (recent != null) {
+            Object cached = recent.getIfPresent(key);
+            if (cached != null) {
+                count(query, "cached");
+                return (T) cached;
+            }
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            count(query, "joined");
+            return (T) await(existing);
+        }
+
+        count(query, "executed");
+        long startedAt = generation.get();
+        try {
+            T result = loader.get();
+            if (recent != null && result != null && generation.get() == startedAt) {
+                recent.put(key, result);
+            }
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        inFlight.clear();
+        if (recent != null) {
+            recent.invalidateAll();
+        }
+    }
+
+    @Override
+    public void onTripSaved(Trip trip) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onTripUpdated(Trip previous, Trip updated) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onTripDeleted(Trip trip) {
+        invalidateAll();
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            // Rethrow what the leader threw, so TripNotFoundException and friends reach the
+            // exception handler with their own status instead of wrapped
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void count(String query, String outcome) {
+        counters.computeIfAbsent(query + ":" + outcome, name -> Counter.builder("trip.coalescing.calls")
+                        .description("Coalesced read calls by whether they ran the query, joined one in flight or hit the micro-cache")
+                        .tag("query", query)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
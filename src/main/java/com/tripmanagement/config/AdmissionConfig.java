@@ -0,0 +1,39 @@
+package com.tripmanagement.config;
+
+import com.tripmanagement.admission.AdmissionInterceptor;
+import com.tripmanagement.admission.AdmissionProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts {@link AdmissionInterceptor} in front of {@code /api/**} unless
+ * {@code trip.admission.enabled=false}. Actuator endpoints are left out so health checks
+ * and scrapes still answer while the API sheds load. Servlet stack only: the reactive stack
+ * holds no thread per request, so there is no thread pool to protect.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "trip.admission.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionInterceptor admissionInterceptor(AdmissionProperties admissionProperties) {
+        return new AdmissionInterceptor(admissionProperties);
+    }
+
+    @Bean
+    public WebMvcConfigurer admissionWebMvcConfigurer(AdmissionInterceptor admissionInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(admissionInterceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.tripmanagement.config;
+
+import com.tripmanagement.mapper.TripMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Persistence and mapping metrics on top of what Spring Boot already records.
+ * Endpoint latency ({@code http.server.requests}) and repository method latency
+ * ({@code spring.data.repository.invocations}) come from the auto-configuration;
+ * this adds rows returned per repository call ({@code trip.repository.rows}) and time
+ * spent in {@link TripMapper} ({@code trip.mapper}). Percentiles are set in application.properties.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    static final String REPOSITORY_ROWS = "trip.repository.rows";
+    static final String MAPPER_TIME = "trip.mapper";
+
+    @Bean
+    static BeanPostProcessor repositoryRowsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(rowsInterceptor(meterRegistry,
+                                    repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    static BeanPostProcessor tripMapperTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof TripMapper)) {
+                    return bean;
+                }
+                Map<Method, Timer> timers = new ConcurrentHashMap<>();
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                    Timer timer = timers.computeIfAbsent(invocation.getMethod(), method -> Timer.builder(MAPPER_TIME)
+                            .description("Time spent mapping trips")
+                            .tag("method", method.getName())
+                            .register(meterRegistry.getObject()));
+                    long start = System.nanoTime();
+                    try {
+                        return invocation.proceed();
+                    } finally {
+                        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                });
+                return proxyFactory.getProxy();
+            }
+        };
+    }
+
+    private static MethodInterceptor rowsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String repository) {
+        Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+        return invocation -> {
+            Object result = invocation.proceed();
+            if (invocation.getMethod().getReturnType() == void.class) {
+                return result;
+            }
+            DistributionSummary summary = summaries.computeIfAbsent(invocation.getMethod(), method -> DistributionSummary
+                    .builder(REPOSITORY_ROWS)
+                    .description("Rows returned per repository call")
+                    .baseUnit("rows")
+                    .tag("repository", repository)
+                    .tag("method", method.getName())
+                    .register(meterRegistry.getObject()));
+            if (result instanceof Stream<?> stream) {
+                LongAdder rows = new LongAdder();
+                return stream.peek(row -> rows.increment()).onClose(() -> summary.record(rows.sum()));
+            }
+            long rows = countRows(result);
+            if (rows >= 0) {
+                summary.record(rows);
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Returns the number of rows in a repository result, or -1 for results that aren't rows
+     * at all, such as counts and existence checks.
+     */
+    static long countRows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+}
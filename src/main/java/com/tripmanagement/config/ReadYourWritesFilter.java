@@ -0,0 +1,68 @@
+package com.tripmanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Scopes {@link ReplicaRoutingDataSource}'s read-your-writes window to the client: the commit
+ * time of a client's last write travels in the {@value #COOKIE} cookie, which is set on the
+ * response of every request that commits a write and read back on the next one. A client that
+ * doesn't return the cookie is only kept on the primary for the request that wrote.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "trip-last-write";
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    public ReadYourWritesFilter(ReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReplicaRoutingDataSource.bindClient(lastWriteMillis(request), committedMillis -> {
+            if (!response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE, Long.toString(committedMillis));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (routingDataSource.getReadYourWritesMillis() + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unbindClient();
+        }
+    }
+
+    /**
+     * The client's last write, or 0 when it sent none, an unparsable one or one from the
+     * future, which could otherwise pin it to the primary indefinitely.
+     */
+    private static long lastWriteMillis(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    long lastWriteMillis = Long.parseLong(cookie.getValue());
+                    return lastWriteMillis <= System.currentTimeMillis() ? lastWriteMillis : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,186 @@
+package com.tripmanagement.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Sends connections for read-only transactions to a round-robin pool of replicas and
+ * everything else to the primary. Two cases fall back to the primary for reads:
+ * <ul>
+ *     <li>the read-your-writes window after the same client's last committed write, so a read
+ *     straight after a mutation sees it even if the replicas lag behind. The client is the one
+ *     bound by {@link ReadYourWritesFilter} for the current request, or the current thread
+ *     outside requests; other clients' writes don't keep anyone off the replicas</li>
+ *     <li>no healthy replica, either because the periodic health check marked them down or
+ *     because handing out a connection just failed</li>
+ * </ul>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the connection is taken after the transaction's read-only flag is known.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder, AutoCloseable {
+
+    static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean up = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    /**
+     * When a client last had a write committed, and who to tell about its next one.
+     */
+    static final class Client {
+        long lastWriteMillis;
+        final LongConsumer onWrite;
+
+        Client(long lastWriteMillis, LongConsumer onWrite) {
+            this.lastWriteMillis = lastWriteMillis;
+            this.onWrite = onWrite;
+        }
+    }
+
+    private static final ThreadLocal<Client> CLIENT = ThreadLocal.withInitial(() -> new Client(0, null));
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long readYourWritesMillis;
+    private final int healthCheckTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas,
+                                    Duration readYourWritesWindow, Duration healthCheckTimeout) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesMillis = readYourWritesWindow.toMillis();
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+    }
+
+    /**
+     * Makes the current thread act for a client whose last write committed at
+     * {@code lastWriteMillis} (epoch millis, 0 for none) until {@link #unbindClient()};
+     * {@code onWrite} receives the commit time of each of its writes from then on.
+     */
+    static void bindClient(long lastWriteMillis, LongConsumer onWrite) {
+        CLIENT.set(new Client(lastWriteMillis, onWrite));
+    }
+
+    static void unbindClient() {
+        CLIENT.remove();
+    }
+
+    long getReadYourWritesMillis() {
+        return readYourWritesMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWriteOnCommit();
+            }
+            return primary.getConnection();
+        }
+        if (System.currentTimeMillis() - CLIENT.get().lastWriteMillis >= readYourWritesMillis) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.up) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException | RuntimeException ex) {
+                    markDown(replica, ex.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Probes every replica and brings it in or out of rotation.
+     */
+    @Scheduled(fixedDelayString = "${trip.datasource.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(healthCheckTimeoutSeconds)) {
+                    if (!replica.up) {
+                        replica.up = true;
+                        log.info("Replica {} is back in rotation", replica.name);
+                    }
+                    continue;
+                }
+                markDown(replica, "connection is not valid");
+            } catch (SQLException | RuntimeException ex) {
+                markDown(replica, ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("trip.datasource.replica.up", replica, r -> r.up ? 1 : 0)
+                    .description("Whether the replica is in the read rotation")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Starts the current client's read-your-writes window when the read-write transaction
+     * commits. Connections taken outside a transaction, mostly plain reads, start none.
+     */
+    private static void recordWriteOnCommit() {
+        Client client = CLIENT.get();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                client.lastWriteMillis = System.currentTimeMillis();
+                if (client.onWrite != null) {
+                    client.onWrite.accept(client.lastWriteMillis);
+                }
+            }
+        });
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.up) {
+            replica.up = false;
+            log.warn("Replica {} taken out of rotation: {}", replica.name, reason);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.tripmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replica settings for {@link ReplicaRoutingDataSource}, bound from {@code trip.datasource.*}.
+ * Replica pools inherit every other Hikari setting from {@code spring.datasource.hikari.*}.
+ */
+@Data
+@ConfigurationProperties("trip.datasource")
+public class ReplicaRoutingProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * How long after one of its writes commits a client's read-only transactions keep going
+     * to the primary, so it isn't served a replica that hasn't caught up with its own change.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,99 @@
+package com.tripmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.repository.TripRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Turns on Hibernate's second-level cache for {@link Trip} and the query cache for the
+ * status and date range finders in {@link TripRepository}, backed by Caffeine through
+ * JCache, when {@code trip.second-level-cache.enabled=true}.
+ * <p>
+ * Regions are created here from {@link SecondLevelCacheProperties} and Hibernate is told to
+ * fail on any other, so nothing ends up in an unbounded region. Every write Hibernate makes
+ * to {@code trips}, bulk updates included, bumps the table's entry in the update timestamps
+ * region, and cached query results older than that are ignored. That region holds one entry
+ * per table and must never expire or be evicted, otherwise stale results could be served.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    static final List<String> QUERY_REGIONS = List.of(TripRepository.QUERY_CACHE_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    /**
+     * Hibernate picks up hibernate-jcache from the classpath on its own and would cache
+     * {@link Trip} in an unbounded default region, so switched off means switched off explicitly.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "trip.second-level-cache.enabled", havingValue = "false", matchIfMissing = true)
+    public HibernatePropertiesCustomizer secondLevelCacheDisabledHibernateProperties() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        };
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "trip.second-level-cache.enabled", havingValue = "true")
+    static class Enabled {
+
+        @Bean(destroyMethod = "close")
+        public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+            // A URI of its own per application context, so test contexts never share regions
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                    .getCacheManager(URI.create("trip-second-level-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+            cacheManager.createCache(Trip.CACHE_REGION, region(properties.getEntity()));
+            for (String queryRegion : QUERY_REGIONS) {
+                cacheManager.createCache(queryRegion, region(properties.getQuery()));
+            }
+            cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                    new CaffeineConfiguration<>().setStatisticsEnabled(true));
+            return cacheManager;
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer secondLevelCacheHibernateProperties(CacheManager secondLevelCacheManager) {
+            return hibernateProperties -> {
+                hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+                hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+                hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            };
+        }
+
+        @Bean
+        public SecondLevelCacheMetrics secondLevelCacheMetrics(CacheManager secondLevelCacheManager,
+                                                               EntityManagerFactory entityManagerFactory) {
+            return new SecondLevelCacheMetrics(secondLevelCacheManager,
+                    entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+        }
+
+        private static CaffeineConfiguration<Object, Object> region(SecondLevelCacheProperties.Region region) {
+            return new CaffeineConfiguration<>()
+                    .setMaximumSize(OptionalLong.of(region.getMaximumSize()))
+                    .setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()))
+                    .setStatisticsEnabled(true);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.tripmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.Expirable;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-region gauges for the second-level cache, tagged {@code region}:
+ * {@code trip.l2cache.hit.ratio} from Hibernate's statistics, {@code trip.l2cache.entries}
+ * and {@code trip.l2cache.estimated.bytes}. The byte estimate is the serialized size of a
+ * sample of entries scaled to the region's entry count, refreshed at most every
+ * {@link #ESTIMATE_INTERVAL}; it tracks growth, it is not a heap measurement. Hit and miss
+ * counters per region come from Spring Boot's Hibernate metrics
+ * ({@code hibernate.second.level.cache.requests}).
+ */
+@Slf4j
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    static final String HIT_RATIO = "trip.l2cache.hit.ratio";
+    static final String ENTRIES = "trip.l2cache.entries";
+    static final String ESTIMATED_BYTES = "trip.l2cache.estimated.bytes";
+
+    private static final int SAMPLE_SIZE = 8;
+    private static final Duration ESTIMATE_INTERVAL = Duration.ofSeconds(30);
+
+    private record Estimate(long bytesPerEntry, long takenAt) {
+    }
+
+    private final CacheManager cacheManager;
+    private final Statistics statistics;
+    private final Map<String, Estimate> estimates = new ConcurrentHashMap<>();
+
+    public SecondLevelCacheMetrics(CacheManager cacheManager, Statistics statistics) {
+        this.cacheManager = cacheManager;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : cacheManager.getCacheNames()) {
+            Gauge.builder(HIT_RATIO, this, metrics -> metrics.hitRatio(region))
+                    .description("Share of second-level cache lookups answered from the region")
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder(ENTRIES, this, metrics -> metrics.entries(region))
+                    .description("Entries held in the second-level cache region")
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder(ESTIMATED_BYTES, this, metrics -> metrics.estimatedBytes(region))
+                    .description("Estimated size of the second-level cache region, from sampled serialized entries")
+                    .tag("region", region)
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+    }
+
+    double hitRatio(String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        long hits = regionStatistics.getHitCount();
+        long lookups = hits + regionStatistics.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+
+    long entries(String region) {
+        com.github.benmanes.caffeine.cache.Cache<?, ?> cache = caffeine(region);
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    long estimatedBytes(String region) {
+        com.github.benmanes.caffeine.cache.Cache<?, ?> cache = caffeine(region);
+        if (cache == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        Estimate estimate = estimates.get(region);
+        if (estimate == null || now - estimate.takenAt() > ESTIMATE_INTERVAL.toNanos()) {
+            estimate = new Estimate(sampleBytesPerEntry(cache), now);
+            estimates.put(region, estimate);
+        }
+        return estimate.bytesPerEntry() * cache.estimatedSize();
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine(String region) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        return cache == null ? null : cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+    }
+
+    private static long sampleBytesPerEntry(com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        CountingOutputStream counter = new CountingOutputStream();
+        int sampled = 0;
+        // Walks the backing map directly: going through JCache would count as reads
+        Iterator<? extends Map.Entry<?, ?>> entries = cache.asMap().entrySet().iterator();
+        try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+            while (sampled < SAMPLE_SIZE && entries.hasNext()) {
+                Map.Entry<?, ?> entry = entries.next();
+                out.writeObject(entry.getKey());
+                out.writeObject(entry.getValue() instanceof Expirable<?> expirable ? expirable.get() : entry.getValue());
+                out.reset();
+                sampled++;
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.debug("Could not sample second-level cache entries", ex);
+            return 0;
+        }
+        return sampled == 0 ? 0 : counter.count / sampled;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.tripmanagement.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hibernate second-level and query cache regions for {@link SecondLevelCacheConfig}, bound
+ * from {@code trip.second-level-cache.*}. Each region is bounded by entry count and evicts
+ * the least valuable entries first (Caffeine's W-TinyLFU) once full, or after its TTL.
+ */
+@Data
+@ConfigurationProperties("trip.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    private boolean enabled = false;
+
+    /** Trip entities by id. */
+    private Region entity = new Region(10_000, Duration.ofMinutes(10));
+
+    /**
+     * Result lists of the cacheable finders, one entry per distinct parameter set. Entries
+     * can hold many rows each, so keep this far smaller than the entity region.
+     */
+    private Region query = new Region(256, Duration.ofMinutes(1));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private long maximumSize;
+        private Duration ttl;
+    }
+}
@@ -0,0 +1,46 @@
+package com.tripmanagement.config;
+
+import com.tripmanagement.sharding.TripShardContext;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Hands out connections to the shard in {@link TripShardContext}, shard 0 when none is set.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so a transaction takes its connection at its first statement, once the repository call
+ * has set the shard, rather than when it begins.
+ */
+public class ShardRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return shards.get(TripShardContext.currentOrDefault()).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return shards.get(TripShardContext.currentOrDefault()).getConnection(username, password);
+    }
+
+    /**
+     * Closes the pools of shards 1 and up; shard 0 is a bean of its own.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards.subList(1, shards.size())) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
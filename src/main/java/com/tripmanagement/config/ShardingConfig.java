@@ -0,0 +1,124 @@
+package com.tripmanagement.config;
+
+import com.tripmanagement.repository.TripRepository;
+import com.tripmanagement.sharding.ShardSchemaIntegrator;
+import com.tripmanagement.sharding.ShardedSequenceGenerator;
+import com.tripmanagement.sharding.ShardedTripRepository;
+import com.tripmanagement.sharding.TripShardContext;
+import com.tripmanagement.sharding.TripShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits trips across several databases by destination when {@code trip.sharding.enabled=true}:
+ * the DataSource becomes a {@link ShardRoutingDataSource}, Hibernate numbers ids per shard and
+ * creates or migrates the schema on every shard, and {@link TripRepository} is replaced by
+ * {@link ShardedTripRepository}, which routes and scatters its calls. Shards are listed under
+ * {@code trip.sharding.shards}, see {@link ShardingProperties}.
+ * <p>
+ * Not combinable with replica routing, which would make a second primary DataSource.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    /**
+     * Always there, with a single shard when sharding is off, so callers that work shard by
+     * shard need no special case.
+     */
+    @Bean
+    public TripShardRouter tripShardRouter(ShardingProperties properties) {
+        return new TripShardRouter(properties.isEnabled() ? 1 + properties.getShards().size() : 1);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "trip.sharding.enabled", havingValue = "true")
+    static class Enabled {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource shardZeroDataSource(DataSourceProperties dataSourceProperties) {
+            HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            dataSource.setPoolName("shard-0");
+            return dataSource;
+        }
+
+        @Bean
+        public ShardRoutingDataSource tripShardRoutingDataSource(HikariDataSource shardZeroDataSource, ShardingProperties properties) {
+            List<DataSource> shards = new ArrayList<>();
+            shards.add(shardZeroDataSource);
+            for (int i = 0; i < properties.getShards().size(); i++) {
+                ShardingProperties.Shard shard = properties.getShards().get(i);
+                HikariDataSource dataSource = new HikariDataSource();
+                shardZeroDataSource.copyStateTo(dataSource);
+                dataSource.setPoolName("shard-" + (i + 1));
+                dataSource.setJdbcUrl(shard.getUrl());
+                dataSource.setUsername(shard.getUsername());
+                dataSource.setPassword(shard.getPassword());
+                shards.add(dataSource);
+            }
+            return new ShardRoutingDataSource(shards);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardRoutingDataSource tripShardRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(tripShardRoutingDataSource);
+        }
+
+        @Bean
+        public HibernatePropertiesCustomizer shardingHibernateProperties(TripShardRouter tripShardRouter) {
+            return hibernateProperties -> {
+                hibernateProperties.put(ShardedSequenceGenerator.SHARD_COUNT_SETTING, tripShardRouter.shardCount());
+                hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                        (IntegratorProvider) () -> List.of(new ShardSchemaIntegrator(tripShardRouter.shardCount())));
+            };
+        }
+
+        /**
+         * Runs the Flyway migrations on every shard in turn when {@code spring.flyway.enabled}
+         * is on; each shard keeps its own schema history.
+         */
+        @Bean
+        public FlywayMigrationStrategy shardedFlywayMigrationStrategy(TripShardRouter tripShardRouter) {
+            return flyway -> tripShardRouter.shards().forEach(shard -> TripShardContext.run(shard, flyway::migrate));
+        }
+
+        @Bean
+        @Primary
+        public TripRepository shardedTripRepository(@Qualifier("tripRepository") TripRepository tripRepository,
+                                                    TripShardRouter tripShardRouter,
+                                                    PlatformTransactionManager transactionManager,
+                                                    ShardingProperties properties) {
+            // Not an Executor bean, which would make Spring Boot back off its own task executor.
+            // Idle threads time out, so nothing needs shutting down.
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("trip-shard-");
+            threadFactory.setDaemon(true);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(properties.getScatterThreads(), properties.getScatterThreads(),
+                    1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+            return ShardedTripRepository.create(tripRepository, tripShardRouter, transactionManager, executor);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.tripmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shard settings, bound from {@code trip.sharding.*}. Shard 0 is the usual
+ * {@code spring.datasource}; {@code shards[0]} is shard 1, {@code shards[1]} shard 2 and so
+ * on. Their pools inherit every other Hikari setting from {@code spring.datasource.hikari.*}.
+ * <p>
+ * Shards can be appended but never removed or reordered: a trip's shard is part of its id.
+ */
+@Data
+@ConfigurationProperties("trip.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Threads running the per-shard legs of queries that span every shard.
+     */
+    private int scatterThreads = 16;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,120 @@
+package com.tripmanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the application to one running instance per database. The overlap index, the
+ * statistics, the by-id cache, the search index and the change journal are held by the
+ * instance and only follow its own writes, so a second instance on the same database would
+ * accept overlapping trips and serve data it never saw.
+ * <p>
+ * The running instance holds a lease row in {@code trip_instance_lease} and renews it every
+ * {@code trip.instance-lease.renew-interval}. Startup fails while another instance's lease is
+ * live; a lease expires {@code trip.instance-lease.ttl} after its last renewal and is given up
+ * on shutdown, so a replacement can start as soon as the previous instance has stopped.
+ * <p>
+ * Switched by a runtime value rather than a conditional bean, so the AOT build's training
+ * run can start next to the running instance with {@code trip.instance-lease.enabled=false}.
+ */
+@Slf4j
+@Component
+public class TripInstanceLease implements SmartInitializingSingleton, DisposableBean {
+
+    static final String LEASE_NAME = "trip-management";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final boolean createTable;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    private volatile boolean held;
+
+    /**
+     * @param flywayEnabled whether the migrations own the schema; without them the lease
+     *                      table is created when missing
+     */
+    public TripInstanceLease(JdbcTemplate jdbcTemplate,
+                             @Value("${trip.instance-lease.enabled:true}") boolean enabled,
+                             @Value("${trip.instance-lease.ttl:PT30S}") Duration ttl,
+                             @Value("${spring.flyway.enabled:true}") boolean flywayEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.ttlMillis = ttl.toMillis();
+        this.createTable = !flywayEnabled;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Whether this instance still holds the lease, as of its last renewal; always true with
+     * the lease switched off. Jobs that write check it, so an instance that lost the lease
+     * leaves the writing to the one that took it over.
+     */
+    public boolean isHeld() {
+        return !enabled || held;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        if (createTable) {
+            jdbcTemplate.execute("create table if not exists trip_instance_lease (name varchar(64) not null,"
+                    + " owner varchar(255) not null, expires_at bigint not null, primary key (name))");
+        }
+        long now = System.currentTimeMillis();
+        try {
+            jdbcTemplate.update("insert into trip_instance_lease (name, owner, expires_at) values (?, ?, ?)",
+                    LEASE_NAME, owner, now + ttlMillis);
+        } catch (DuplicateKeyException e) {
+            int taken = jdbcTemplate.update("update trip_instance_lease set owner = ?, expires_at = ?"
+                    + " where name = ? and (owner = ? or expires_at < ?)", owner, now + ttlMillis, LEASE_NAME, owner, now);
+            if (taken == 0) {
+                List<String> holder = jdbcTemplate.queryForList("select owner from trip_instance_lease where name = ?",
+                        String.class, LEASE_NAME);
+                throw new IllegalStateException("Instance " + (holder.isEmpty() ? "?" : holder.get(0))
+                        + " already runs against this database. Only one instance per database is supported;"
+                        + " stop it, or wait up to " + Duration.ofMillis(ttlMillis) + " if it stopped without releasing its lease");
+            }
+        }
+        held = true;
+        log.info("Holding the instance lease as {}", owner);
+    }
+
+    @Scheduled(fixedDelayString = "${trip.instance-lease.renew-interval:PT10S}",
+            initialDelayString = "${trip.instance-lease.renew-interval:PT10S}")
+    public void renew() {
+        if (!enabled) {
+            return;
+        }
+        int renewed = jdbcTemplate.update("update trip_instance_lease set expires_at = ? where name = ? and owner = ?",
+                System.currentTimeMillis() + ttlMillis, LEASE_NAME, owner);
+        held = renewed > 0;
+        if (!held) {
+            log.error("Instance lease lost, another instance may be running against this database");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.update("delete from trip_instance_lease where name = ? and owner = ?", LEASE_NAME, owner);
+    }
+}
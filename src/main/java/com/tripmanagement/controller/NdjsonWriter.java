@@ -0,0 +1,52 @@
+package com.tripmanagement.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes each accepted value as one line of newline-delimited JSON. The first row is flushed
+ * immediately so clients see bytes right away; after that output is flushed every
+ * {@code flushInterval} rows instead of per row. Lines end in the newline alone: the root value
+ * separator, a space by default, is switched off so no line starts with it.
+ */
+class NdjsonWriter<T> implements Consumer<T>, Closeable {
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+    private final int flushInterval;
+    private long rows;
+
+    NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream, int flushInterval) throws IOException {
+        this.writer = objectMapper.writer()
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = writer.createGenerator(outputStream);
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    public void accept(T value) {
+        try {
+            writer.writeValue(generator, value);
+            generator.writeRaw('\n');
+            if (++rows == 1 || rows % flushInterval == 0) {
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
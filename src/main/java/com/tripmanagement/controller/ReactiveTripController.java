@@ -0,0 +1,145 @@
+package com.tripmanagement.controller;
+
+import com.tripmanagement.config.BinaryContentConfig;
+import com.tripmanagement.dto.CursorPageDto;
+import com.tripmanagement.dto.ResponseDto;
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.dto.TripSummaryDto;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.mapper.TripMapper;
+import com.tripmanagement.service.ReactiveTripService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The /api/trips routes of {@link TripController} on WebFlux, active when the application
+ * runs as a reactive web application (the {@code reactive} profile). Request parameters,
+ * status codes, messages, ETags and the {@link ResponseDto} envelope are the same; the
+ * NDJSON stream of {@code GET /api/trips/all} is a {@link Flux} written as the client
+ * reads it, so a slow client slows the query down rather than piling rows up in memory.
+ * <p>
+ * Batch ingestion, offset paging, the faceted query, analytics, the change feed and the
+ * admin endpoints are only served by the servlet stack.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTripController {
+
+    private final ReactiveTripService reactiveTripService;
+    private final TripMapper tripMapper;
+
+    @PostMapping("/trips")
+    public Mono<ResponseEntity<ResponseDto<TripDto>>> addTrip(@Valid @RequestBody TripDto tripDto){
+        return reactiveTripService.saveTrip(tripDto)
+                .map(savedTripDto -> respond(HttpStatus.CREATED, "Trip created successfully", savedTripDto));
+    }
+
+    @GetMapping(value = "/trips/all", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ResponseDto<List<TripDto>>>> getAllTrip(ServerWebExchange exchange){
+        return reactiveTripService.getAllTrips()
+                .collectList()
+                .filter(tripDtoList -> !exchange.checkNotModified(TripETags.of(tripDtoList)))
+                .map(tripDtoList -> respond(HttpStatus.CREATED, "All trips fetched successfully", tripDtoList));
+    }
+
+    @GetMapping(value = "/trips/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TripDto> streamAllTrips(){
+        return reactiveTripService.getAllTrips();
+    }
+
+    @GetMapping(value = "/trips", params = "cursor", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ResponseDto<CursorPageDto<TripDto>>>> getTripsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            ServerWebExchange exchange){
+
+        return reactiveTripService.getTripsByCursor(cursor, size, sort, withTotal)
+                .filter(tripDtoPage -> !exchange.checkNotModified(TripETags.of(tripDtoPage)))
+                .map(tripDtoPage -> respond(HttpStatus.OK, "Trips found successfully", tripDtoPage));
+    }
+
+    @GetMapping("/trips/{id}")
+    public Mono<ResponseEntity<ResponseDto<TripDto>>> getTripById(@PathVariable String id, ServerWebExchange exchange){
+        return reactiveTripService.getTripById(id)
+                .filter(tripDto -> !exchange.checkNotModified(TripETags.of(tripDto)))
+                .map(tripDto -> respond(HttpStatus.CREATED, "Trip Id "+id+" fetched successfully", tripDto));
+    }
+
+    @PutMapping("/trips/{id}")
+    public Mono<ResponseEntity<ResponseDto<TripDto>>> updateTripById(
+            @PathVariable int id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TripDto tripDto){
+
+        return Mono.defer(() -> reactiveTripService.updateTripById(id, tripMapper.mapTripDtoToTrip(tripDto),
+                        TripETags.expectedVersion(ifMatch, id)))
+                .map(updatedTrip -> ResponseEntity.status(HttpStatus.OK)
+                        .eTag(TripETags.of(updatedTrip))
+                        .body(body(HttpStatus.OK, "Trip updated successfully", updatedTrip)));
+    }
+
+    @DeleteMapping("/trips/{id}")
+    public Mono<ResponseEntity<ResponseDto<TripDto>>> deleteTripByTd(
+            @PathVariable int id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return Mono.defer(() -> reactiveTripService.deleteTripById(id, TripETags.expectedVersion(ifMatch, id)))
+                .map(deleteTrip -> respond(HttpStatus.OK, "Trip deleted successfully", deleteTrip));
+    }
+
+    @GetMapping(value = "/trips/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ResponseDto<List<TripDto>>>> getTripsByDestination(@RequestParam String destination, ServerWebExchange exchange){
+        return reactiveTripService.getTripsByDestination(destination)
+                .collectList()
+                .filter(tripsByDestination -> !exchange.checkNotModified(TripETags.of(tripsByDestination)))
+                .map(tripsByDestination -> respond(HttpStatus.OK, "Trips with destination "+destination+" found successfully", tripsByDestination));
+    }
+
+    @GetMapping(value = "/trips/filter", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ResponseDto<List<TripDto>>>> getTripsByStatus(@RequestParam TripStatus status, ServerWebExchange exchange){
+        return reactiveTripService.getTripByStatus(status)
+                .collectList()
+                .filter(filterTripByStatus -> !exchange.checkNotModified(TripETags.of(filterTripByStatus)))
+                .map(filterTripByStatus -> respond(HttpStatus.OK, "Trips with status "+status+" found successfully", filterTripByStatus));
+    }
+
+    @GetMapping(value = "/trips/daterange", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ResponseDto<List<TripDto>>>> getTripsByDateRange(@RequestParam String start, @RequestParam String end, ServerWebExchange exchange){
+        return reactiveTripService.getTripsBetweenDates(start, end)
+                .collectList()
+                .filter(tripsBetweenDates -> !exchange.checkNotModified(TripETags.of(tripsBetweenDates)))
+                .map(tripsBetweenDates -> respond(HttpStatus.OK, "Trips between dates found successfully", tripsBetweenDates));
+    }
+
+    @GetMapping("/trips/summary")
+    public Mono<ResponseEntity<ResponseDto<TripSummaryDto>>> getTripSummary(){
+        return reactiveTripService.getTripSummary()
+                .map(summary -> respond(HttpStatus.OK, "Trip summary found successfully", summary));
+    }
+
+    private static <T> ResponseEntity<ResponseDto<T>> respond(HttpStatus status, String message, T data) {
+        return new ResponseEntity<>(body(status, message, data), status);
+    }
+
+    private static <T> ResponseDto<T> body(HttpStatus status, String message, T data) {
+        ResponseDto<T> responseDto = new ResponseDto<>();
+        responseDto.setStatusCode(status);
+        responseDto.setMessage(message);
+        responseDto.setData(data);
+        return responseDto;
+    }
+}
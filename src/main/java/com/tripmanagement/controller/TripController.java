@@ -1,11 +1,31 @@
 package com.tripmanagement.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripmanagement.admission.Admission;
+import com.tripmanagement.admission.AdmissionClass;
+import com.tripmanagement.analytics.TripAnalyticsFilter;
+import com.tripmanagement.config.BinaryContentConfig;
+import com.tripmanagement.dto.CursorPageDto;
 import com.tripmanagement.dto.ResponseDto;
+import com.tripmanagement.dto.TripBatchResultDto;
+import com.tripmanagement.dto.TripCacheStatsDto;
+import com.tripmanagement.dto.TripChangeDto;
 import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.dto.TripGroupDto;
+import com.tripmanagement.dto.TripPriceBucketDto;
+import com.tripmanagement.dto.TripPriceQuantilesDto;
+import com.tripmanagement.dto.TripQueryFilter;
+import com.tripmanagement.dto.TripQueryResultDto;
+import com.tripmanagement.dto.TripStatisticsDto;
 import com.tripmanagement.dto.TripSummaryDto;
 import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripGroupBy;
 import com.tripmanagement.enums.TripStatus;
 import com.tripmanagement.mapper.TripMapper;
+import com.tripmanagement.service.TripAnalyticsService;
+import com.tripmanagement.service.TripBatchService;
+import com.tripmanagement.service.TripQueryService;
 import com.tripmanagement.service.TripService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,15 +36,26 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController()
 @RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(
         name = "CRUD APIs for Trip Management",
         description = "REST api of trip management like GET, POST, PUT, DELETE"
@@ -34,8 +65,16 @@ public class TripController {
 
     @Autowired
     private final TripService tripService;
+    private final TripBatchService tripBatchService;
+    private final TripAnalyticsService tripAnalyticsService;
+    private final TripQueryService tripQueryService;
     @Autowired
     private TripMapper tripMapper;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${trip.stream.flush-interval:500}")
+    private int streamFlushInterval;
 
     @Operation(summary = "Create a new trip", description = "Creates a new trip with the provided details")
     @ApiResponses(value = {
@@ -56,12 +95,36 @@ public class TripController {
         return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
     }
 
+    @Operation(summary = "Create trips in bulk", description = "Creates trips from a JSON array or newline-delimited JSON, " +
+            "reporting a result per row. Rows are committed in chunks, so failed rows do not roll back the others")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    })
+    @Admission(AdmissionClass.HEAVY)
+    @PostMapping(value = "/trips/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ResponseDto<TripBatchResultDto>> addTrips(InputStream body) throws IOException {
+        TripBatchResultDto result;
+        try (MappingIterator<TripDto> tripDtos = objectMapper.readerFor(TripDto.class).readValues(body)) {
+            result = tripBatchService.saveTrips(tripDtos);
+        }
+        ResponseDto<TripBatchResultDto> responseDto = new ResponseDto<>();
+        responseDto.setStatusCode(HttpStatus.OK);
+        responseDto.setMessage("Batch processed: " + result.getCreated() + " created, " + result.getFailed() + " failed");
+        responseDto.setData(result);
+        return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
+    }
+
     @Operation(summary = "Get all trips", description = "Retrieves a list of all trips in the system")
     @ApiResponse(responseCode = "201", description = "All trips fetched successfully",
             content = @Content(schema = @Schema(implementation = ResponseDto.class)))
-    @GetMapping("/trips/all")
-    public ResponseEntity<ResponseDto<List<TripDto>>> getAllTrip(){
+    @Admission(AdmissionClass.HEAVY)
+    @GetMapping(value = "/trips/all", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ResponseDto<List<TripDto>>> getAllTrip(WebRequest request){
         List<TripDto> tripDtoList = tripService.getAllTrips();
+        if (request.checkNotModified(TripETags.of(tripDtoList))) {
+            return null;
+        }
         ResponseDto responseDto = new ResponseDto();
         responseDto.setStatusCode(HttpStatus.valueOf(Integer.parseInt("201")));
         responseDto.setMessage("All trips fetched successfully");
@@ -69,18 +132,40 @@ public class TripController {
         return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
     }
 
+    @Operation(summary = "Stream all trips", description = "Streams every trip as newline-delimited JSON without loading the whole table into memory")
+    @ApiResponse(responseCode = "200", description = "All trips streamed successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = TripDto.class)))
+    @Admission(AdmissionClass.HEAVY)
+    @GetMapping(value = "/trips/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTrips(){
+        StreamingResponseBody body = outputStream -> {
+            try (NdjsonWriter<TripDto> writer = new NdjsonWriter<>(objectMapper, outputStream, streamFlushInterval)) {
+                tripService.streamAllTrips(writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(summary = "Get paginated trips", description = "Retrieves a paginated list of trips with optional sorting")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Trips found successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid sort field, page size or offset",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class)))
     })
-    @GetMapping("/trips")
+    @GetMapping(value = "/trips", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<ResponseDto<Page<TripDto>>> getTrips(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String sort){
+            @RequestParam(required = false) String sort,
+            WebRequest request){
 
         Page<TripDto> tripDtoPage = tripService.getPaginatedTrips(page, size, sort);
+        if (request.checkNotModified(TripETags.of(tripDtoPage))) {
+            return null;
+        }
 
         ResponseDto responseDto = new ResponseDto();
         responseDto.setStatusCode(HttpStatus.valueOf(Integer.parseInt("201")));
@@ -89,16 +174,49 @@ public class TripController {
         return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
     }
 
+    @Operation(summary = "Get trips by cursor", description = "Retrieves trips with keyset pagination. Pass an empty cursor for the first page, " +
+            "then the nextCursor or prevCursor of the previous response. Sortable fields are id, startDate, price and destination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trips found successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort field or page size",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    })
+    @GetMapping(value = "/trips", params = "cursor", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ResponseDto<CursorPageDto<TripDto>>> getTripsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            WebRequest request){
+
+        CursorPageDto<TripDto> tripDtoPage = tripService.getTripsByCursor(cursor, size, sort, withTotal);
+        if (request.checkNotModified(TripETags.of(tripDtoPage))) {
+            return null;
+        }
+
+        ResponseDto<CursorPageDto<TripDto>> responseDto = new ResponseDto<>();
+        responseDto.setStatusCode(HttpStatus.OK);
+        responseDto.setMessage("Trips found successfully");
+        responseDto.setData(tripDtoPage);
+        return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
+    }
+
     @Operation(summary = "Get trip by ID", description = "Retrieves a specific trip by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Trip fetched successfully",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Trip unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Invalid ID or trip not found",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class)))
     })
+    @Admission(AdmissionClass.LIGHT)
     @GetMapping("/trips/{id}")
-    public ResponseEntity<ResponseDto<TripDto>> getTripById(@PathVariable String id){
+    public ResponseEntity<ResponseDto<TripDto>> getTripById(@PathVariable String id, WebRequest request){
         TripDto tripDto = tripService.getTripById(id);
+        if (request.checkNotModified(TripETags.of(tripDto))) {
+            return null;
+        }
         ResponseDto responseDto = new ResponseDto();
         responseDto.setStatusCode(HttpStatus.valueOf(Integer.parseInt("201")));
         responseDto.setMessage("Trip Id "+id+" fetched successfully");
@@ -106,6 +224,39 @@ public class TripController {
         return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
     }
 
+    @Operation(summary = "Get trip cache statistics", description = "Retrieves size and hit/miss/eviction counters of the trip by ID cache")
+    @ApiResponse(responseCode = "200", description = "Trip cache statistics found successfully",
+            content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    @Admission(AdmissionClass.LIGHT)
+    @GetMapping("/trips/cache/stats")
+    public ResponseEntity<ResponseDto<TripCacheStatsDto>> getTripCacheStats(){
+        TripCacheStatsDto stats = tripService.getTripCacheStats();
+        ResponseDto<TripCacheStatsDto> responseDto = new ResponseDto<>();
+        responseDto.setStatusCode(HttpStatus.OK);
+        responseDto.setMessage("Trip cache statistics found successfully");
+        responseDto.setData(stats);
+        return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
+    }
+
+    @Operation(summary = "Read the trip change journal", description = "Returns the trip changes following a sequence number, oldest first, for tailing or replaying")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trip changes fetched successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "410", description = "Changes were compacted away, reload all trips first",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    })
+    @GetMapping("/trips/changes")
+    public ResponseEntity<ResponseDto<List<TripChangeDto>>> getTripChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int limit){
+        List<TripChangeDto> changes = tripService.getTripChanges(after, limit);
+        ResponseDto<List<TripChangeDto>> responseDto = new ResponseDto<>();
+        responseDto.setStatusCode(HttpStatus.OK);
+        responseDto.setMessage(changes.size() + " trip changes fetched successfully");
+        responseDto.setData(changes);
+        return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
+    }
+
     @Operation(summary = "Update a trip", description = "Updates an existing trip with new details")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Trip updated successfully",
@@ -113,21 +264,26 @@ public class TripController {
             @ApiResponse(responseCode = "404", description = "Trip not found",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "409", description = "Trip was changed concurrently",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "412", description = "Trip no longer matches the ETag in If-Match",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class)))
     })
     @PutMapping("/trips/{id}")
     public ResponseEntity<ResponseDto<TripDto>> updateTripById(
             @PathVariable int id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TripDto tripDto){
 
         Trip trip = tripMapper.mapTripDtoToTrip(tripDto);
-        TripDto updatedTrip = tripService.updateTripById(id, trip);
+        TripDto updatedTrip = tripService.updateTripById(id, trip, TripETags.expectedVersion(ifMatch, id));
         ResponseDto responseDto = new ResponseDto();
         responseDto.setStatusCode(HttpStatus.OK);
         responseDto.setMessage("Trip updated successfully");
         responseDto.setData(updatedTrip);
 
-        return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
+        return ResponseEntity.status(responseDto.getStatusCode()).eTag(TripETags.of(updatedTrip)).body(responseDto);
     }
 
     @Operation(summary = "Delete a trip", description = "Deletes a trip by its ID")
@@ -135,11 +291,15 @@ public class TripController {
             @ApiResponse(responseCode = "200", description = "Trip deleted successfully",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class))),
             @ApiResponse(responseCode = "404", description = "Trip not found",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "412", description = "Trip no longer matches the ETag in If-Match",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class)))
     })
     @DeleteMapping("/trips/{id}")
-    public ResponseEntity<ResponseDto<TripDto>> deleteTripByTd(@PathVariable int id){
-        TripDto deleteTrip = tripService.deleteTripById(id);
+    public ResponseEntity<ResponseDto<TripDto>> deleteTripByTd(
+            @PathVariable int id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        TripDto deleteTrip = tripService.deleteTripById(id, TripETags.expectedVersion(ifMatch, id));
         ResponseDto responseDto = new ResponseDto();
         responseDto.setStatusCode(HttpStatus.OK);
         responseDto.setMessage("Trip deleted successfully");
@@ -154,9 +314,13 @@ public class TripController {
             @ApiResponse(responseCode = "404", description = "No trips found with given destination",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class)))
     })
-    @GetMapping("/trips/search")
-    public ResponseEntity<ResponseDto<List<TripDto>>> getTripsByDestination(@RequestParam String destination){
+    @Admission(AdmissionClass.HEAVY)
+    @GetMapping(value = "/trips/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ResponseDto<List<TripDto>>> getTripsByDestination(@RequestParam String destination, WebRequest request){
         List<TripDto> tripsByDestination = tripService.getTripsByDestination(destination);
+        if (request.checkNotModified(TripETags.of(tripsByDestination))) {
+            return null;
+        }
         ResponseDto<List<TripDto>> responseDto = new ResponseDto<>();
         responseDto.setStatusCode(HttpStatus.OK);
         responseDto.setMessage("Trips with destination "+destination+" found successfully");
@@ -171,9 +335,13 @@ public class TripController {
             @ApiResponse(responseCode = "404", description = "No trips found with given status",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class)))
     })
-    @GetMapping("/trips/filter")
-    public ResponseEntity<ResponseDto<List<TripDto>>> getTripsByStatus(@RequestParam TripStatus status){
+    @Admission(AdmissionClass.HEAVY)
+    @GetMapping(value = "/trips/filter", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ResponseDto<List<TripDto>>> getTripsByStatus(@RequestParam TripStatus status, WebRequest request){
         List<TripDto> filterTripByStatus = tripService.getTripByStatus(status);
+        if (request.checkNotModified(TripETags.of(filterTripByStatus))) {
+            return null;
+        }
         ResponseDto<List<TripDto>> responseDto = new ResponseDto<>();
         responseDto.setStatusCode(HttpStatus.OK);
         responseDto.setMessage("Trips with status "+status+" found successfully");
@@ -186,9 +354,13 @@ public class TripController {
             @ApiResponse(responseCode = "200", description = "Trips found successfully",
                     content = @Content(schema = @Schema(implementation = ResponseDto.class)))
     })
-    @GetMapping("/trips/daterange")
-    public ResponseEntity<ResponseDto<List<TripDto>>> getTripsByDateRange(@RequestParam String start, @RequestParam String end){
+    @Admission(AdmissionClass.HEAVY)
+    @GetMapping(value = "/trips/daterange", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ResponseDto<List<TripDto>>> getTripsByDateRange(@RequestParam String start, @RequestParam String end, WebRequest request){
         List<TripDto> tripsBetweenDates = tripService.getTripsBetweenDates(start, end);
+        if (request.checkNotModified(TripETags.of(tripsBetweenDates))) {
+            return null;
+        }
         ResponseDto<List<TripDto>> responseDto = new ResponseDto<>();
         responseDto.setStatusCode(HttpStatus.OK);
         responseDto.setMessage("Trips between dates found successfully");
@@ -196,10 +368,35 @@ public class TripController {
         return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
     }
 
+    @Operation(summary = "Query trips", description = "Filters trips by any combination of destination (substring), status, date range " +
+            "(startDate >= from, endDate < to) and price range (inclusive), one keyset page at a time, with facet counts per status, " +
+            "start month and price bucket over all matches. No match is an empty page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trips queried successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort, page size, bucket count or range",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    })
+    @Admission(AdmissionClass.STANDARD)
+    @GetMapping(value = "/trips/query", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ResponseDto<TripQueryResultDto>> queryTrips(TripQueryFilter filter,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "20") int size,
+                                                                     @RequestParam(required = false) String sort,
+                                                                     @RequestParam(defaultValue = "10") int priceBuckets){
+        TripQueryResultDto result = tripQueryService.queryTrips(filter, cursor, size, sort, priceBuckets);
+        ResponseDto<TripQueryResultDto> responseDto = new ResponseDto<>();
+        responseDto.setStatusCode(HttpStatus.OK);
+        responseDto.setMessage("Trips queried successfully");
+        responseDto.setData(result);
+        return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
+    }
+
     @Operation(summary = "Get trip statistics", description = "Retrieves a summary of all trips including count, min/max/average prices")
     @ApiResponse(responseCode = "200", description = "Trip summary found successfully",
             content = @Content(schema = @Schema(implementation = ResponseDto.class))
     )
+    @Admission(AdmissionClass.LIGHT)
     @GetMapping("/trips/summary")
     public ResponseEntity<ResponseDto<TripSummaryDto>> getTripSummary(){
         TripSummaryDto summary = tripService.getTripSummary();
@@ -210,4 +407,91 @@ public class TripController {
         return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
     }
 
+    @Operation(summary = "Get trip statistics breakdown", description = "Retrieves trip price statistics overall, per status and per destination")
+    @ApiResponse(responseCode = "200", description = "Trip statistics found successfully",
+            content = @Content(schema = @Schema(implementation = ResponseDto.class))
+    )
+    @Admission(AdmissionClass.LIGHT)
+    @GetMapping("/trips/summary/breakdown")
+    public ResponseEntity<ResponseDto<TripStatisticsDto>> getTripStatistics(){
+        TripStatisticsDto statistics = tripService.getTripStatistics();
+        ResponseDto<TripStatisticsDto> responseDto = new ResponseDto<>();
+        responseDto.setStatusCode(HttpStatus.OK);
+        responseDto.setMessage("Trip statistics found successfully");
+        responseDto.setData(statistics);
+        return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
+    }
+
+    @Operation(summary = "Get trip price quantiles", description = "Retrieves median, p90 and p99 trip prices overall, per status and per destination, each within the reported relative error")
+    @ApiResponse(responseCode = "200", description = "Trip price quantiles found successfully",
+            content = @Content(schema = @Schema(implementation = ResponseDto.class))
+    )
+    @Admission(AdmissionClass.LIGHT)
+    @GetMapping("/trips/summary/quantiles")
+    public ResponseEntity<ResponseDto<TripPriceQuantilesDto>> getTripPriceQuantiles(){
+        TripPriceQuantilesDto quantiles = tripService.getTripPriceQuantiles();
+        ResponseDto<TripPriceQuantilesDto> responseDto = new ResponseDto<>();
+        responseDto.setStatusCode(HttpStatus.OK);
+        responseDto.setMessage("Trip price quantiles found successfully");
+        responseDto.setData(quantiles);
+        return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
+    }
+
+    @Operation(summary = "Group trips", description = "Trip count, price range, average price and revenue per destination, status, month, quarter or year of start, optionally limited to trips starting in [from, to) and to one status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trip groups found successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "from is not before to",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    })
+    @Admission(AdmissionClass.STANDARD)
+    @GetMapping(value = "/trips/analytics/groups", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ResponseDto<List<TripGroupDto>>> groupTrips(@RequestParam TripGroupBy by,
+                                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                     @RequestParam(required = false) TripStatus status){
+        List<TripGroupDto> groups = tripAnalyticsService.groupTrips(by, new TripAnalyticsFilter(from, to, status));
+        ResponseDto<List<TripGroupDto>> responseDto = new ResponseDto<>();
+        responseDto.setStatusCode(HttpStatus.OK);
+        responseDto.setMessage("Trips grouped by " + by + " successfully");
+        responseDto.setData(groups);
+        return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
+    }
+
+    @Operation(summary = "Get trip price histogram", description = "Splits the price range of the matching trips into equal-width buckets and counts the trips in each")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Price histogram found successfully",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Bucket count out of range or from is not before to",
+                    content = @Content(schema = @Schema(implementation = ResponseDto.class)))
+    })
+    @Admission(AdmissionClass.STANDARD)
+    @GetMapping(value = "/trips/analytics/histogram", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryContentConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ResponseDto<List<TripPriceBucketDto>>> getPriceHistogram(@RequestParam(defaultValue = "20") int buckets,
+                                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                                  @RequestParam(required = false) TripStatus status){
+        List<TripPriceBucketDto> histogram = tripAnalyticsService.getPriceHistogram(buckets, new TripAnalyticsFilter(from, to, status));
+        ResponseDto<List<TripPriceBucketDto>> responseDto = new ResponseDto<>();
+        responseDto.setStatusCode(HttpStatus.OK);
+        responseDto.setMessage("Price histogram found successfully");
+        responseDto.setData(histogram);
+        return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
+    }
+
+    @Operation(summary = "Reconcile trip statistics", description = "Compares the running trip statistics with the database and rebuilds them on drift")
+    @ApiResponse(responseCode = "200", description = "Trip summary reconciled successfully",
+            content = @Content(schema = @Schema(implementation = ResponseDto.class))
+    )
+    @Admission(AdmissionClass.HEAVY)
+    @PostMapping("/trips/summary/reconcile")
+    public ResponseEntity<ResponseDto<TripSummaryDto>> reconcileTripSummary(){
+        TripSummaryDto summary = tripService.reconcileTripSummary();
+        ResponseDto<TripSummaryDto> responseDto = new ResponseDto<>();
+        responseDto.setStatusCode(HttpStatus.OK);
+        responseDto.setMessage("Trip summary reconciled successfully");
+        responseDto.setData(summary);
+        return new ResponseEntity<>(responseDto, responseDto.getStatusCode());
+    }
+
 }
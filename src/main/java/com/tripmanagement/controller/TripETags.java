@@ -0,0 +1,80 @@
+package com.tripmanagement.controller;
+
+import com.tripmanagement.dto.CursorPageDto;
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.exception.TripVersionMismatchException;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * ETags derived from trip versions, so they cost a few arithmetic operations per trip
+ * instead of a serialization of the body. A single trip gets a strong tag
+ * {@code "<id>-<version>"}; lists and pages get a weak tag hashing every (id, version)
+ * in order together with the paging metadata.
+ */
+final class TripETags {
+
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private TripETags() {
+    }
+
+    static String of(TripDto tripDto) {
+        return "\"" + tripDto.getId() + "-" + tripDto.getVersion() + "\"";
+    }
+
+    static String of(List<TripDto> tripDtos) {
+        return weak(hash(17, tripDtos));
+    }
+
+    static String of(Page<TripDto> page) {
+        return weak(hash(Objects.hash(page.getNumber(), page.getSize(), page.getTotalElements()), page.getContent()));
+    }
+
+    static String of(CursorPageDto<TripDto> page) {
+        return weak(hash(Objects.hash(page.getNextCursor(), page.getPrevCursor(), page.getTotalElements()), page.getContent()));
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header pins trip {@code id} to, or null when the
+     * header is absent or {@code *}. A tag for another trip, or one that isn't ours, can never
+     * match, so it fails the precondition straight away.
+     */
+    static Long expectedVersion(String ifMatch, int id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        String tag = ifMatch.trim();
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the precondition failure below
+            }
+        }
+        throw new TripVersionMismatchException("If-Match " + tag + " does not match trip " + id, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    private static long hash(long seed, List<TripDto> tripDtos) {
+        long hash = mix(seed + tripDtos.size());
+        for (TripDto tripDto : tripDtos) {
+            hash = (hash ^ mix(tripDto.getId())) * MULTIPLIER;
+            hash = (hash ^ mix(tripDto.getVersion())) * MULTIPLIER;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private static String weak(long hash) {
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+}
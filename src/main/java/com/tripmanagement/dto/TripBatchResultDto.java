@@ -0,0 +1,17 @@
+package com.tripmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripBatchResultDto {
+    private int total;
+    private int created;
+    private int failed;
+    private List<TripBatchRowResultDto> rows;
+}
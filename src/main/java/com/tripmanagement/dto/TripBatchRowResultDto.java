@@ -0,0 +1,16 @@
+package com.tripmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripBatchRowResultDto {
+    private int row;
+    private HttpStatus status;
+    private Integer id;
+    private String message;
+}
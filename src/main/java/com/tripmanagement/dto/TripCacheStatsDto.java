@@ -0,0 +1,17 @@
+package com.tripmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripCacheStatsDto {
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long negativeHitCount;
+    private long evictionCount;
+    private double hitRate;
+}
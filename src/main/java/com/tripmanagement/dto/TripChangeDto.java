@@ -0,0 +1,15 @@
+package com.tripmanagement.dto;
+
+import com.tripmanagement.enums.TripChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripChangeDto {
+    private long sequence;
+    private TripChangeType type;
+    private TripDto trip;
+}
@@ -1,5 +1,6 @@
 package com.tripmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.tripmanagement.enums.TripStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,4 +19,6 @@ public class TripDto {
     private LocalDate endDate;
     private double price;
     private TripStatus status;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
 }
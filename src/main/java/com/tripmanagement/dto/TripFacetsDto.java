@@ -0,0 +1,19 @@
+package com.tripmanagement.dto;
+
+import com.tripmanagement.enums.TripStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripFacetsDto {
+    private long totalTrips;
+    private Map<TripStatus, Long> byStatus;
+    private Map<String, Long> byMonth;
+    private List<TripPriceBucketDto> byPrice;
+}
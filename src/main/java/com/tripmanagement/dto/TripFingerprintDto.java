@@ -0,0 +1,18 @@
+package com.tripmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cheap aggregate over the trips table that changes with every insert, update and delete:
+ * the row count, the sum of the {@code @Version} columns and the highest id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripFingerprintDto {
+    private long totalTrips;
+    private long versionSum;
+    private int maxId;
+}
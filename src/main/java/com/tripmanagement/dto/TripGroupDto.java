@@ -0,0 +1,17 @@
+package com.tripmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripGroupDto {
+    private String key;
+    private long trips;
+    private double minPrice;
+    private double maxPrice;
+    private double averagePrice;
+    private double revenue;
+}
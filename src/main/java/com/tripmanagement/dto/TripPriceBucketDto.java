@@ -0,0 +1,14 @@
+package com.tripmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripPriceBucketDto {
+    private double lowerBound;
+    private double upperBound;
+    private long trips;
+}
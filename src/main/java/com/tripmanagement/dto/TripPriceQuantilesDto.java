@@ -0,0 +1,18 @@
+package com.tripmanagement.dto;
+
+import com.tripmanagement.enums.TripStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripPriceQuantilesDto {
+    private double relativeError;
+    private TripQuantilesDto overall;
+    private Map<TripStatus, TripQuantilesDto> byStatus;
+    private Map<String, TripQuantilesDto> byDestination;
+}
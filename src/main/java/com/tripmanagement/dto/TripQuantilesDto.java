@@ -0,0 +1,15 @@
+package com.tripmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripQuantilesDto {
+    private long totalTrips;
+    private double medianPrice;
+    private double p90Price;
+    private double p99Price;
+}
@@ -0,0 +1,28 @@
+package com.tripmanagement.dto;
+
+import com.tripmanagement.enums.TripStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Criteria of GET /api/trips/query, bound from its request parameters. Every field is
+ * optional: destination matches as a case-insensitive substring, from and to select trips
+ * with {@code startDate >= from} and {@code endDate < to}, and the price bounds are inclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripQueryFilter {
+    private String destination;
+    private TripStatus status;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+    private Double minPrice;
+    private Double maxPrice;
+}
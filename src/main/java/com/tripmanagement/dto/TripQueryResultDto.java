@@ -0,0 +1,13 @@
+package com.tripmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripQueryResultDto {
+    private CursorPageDto<TripDto> page;
+    private TripFacetsDto facets;
+}
@@ -0,0 +1,17 @@
+package com.tripmanagement.dto;
+
+import com.tripmanagement.enums.TripStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TripStatisticsDto {
+    private TripSummaryDto overall;
+    private Map<TripStatus, TripSummaryDto> byStatus;
+    private Map<String, TripSummaryDto> byDestination;
+}
@@ -1,6 +1,7 @@
 package com.tripmanagement.entity;
 
 import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.sharding.ShardedSequence;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -8,18 +9,31 @@ import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Trip.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "trips")
+@Table(name = "trips", indexes = {
+        @Index(name = "idx_trips_start_date_id", columnList = "startDate, id"),
+        @Index(name = "idx_trips_price_id", columnList = "price, id"),
+        @Index(name = "idx_trips_destination_id", columnList = "destination, id")
+})
 public class Trip {
 
+    /**
+     * Second-level cache region, used only when {@code trip.second-level-cache.enabled=true}.
+     */
+    public static final String CACHE_REGION = "trips";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardedSequence(sequenceName = "trips_seq", allocationSize = 50)
     private int id;
 
     @NotBlank(message = "Destination cannot be blank")
@@ -41,4 +55,8 @@ public class Trip {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TripStatus status;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
@@ -0,0 +1,7 @@
+package com.tripmanagement.enums;
+
+public enum TripChangeType {
+    SAVED,
+    UPDATED,
+    DELETED
+}
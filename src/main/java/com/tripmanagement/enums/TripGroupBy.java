@@ -0,0 +1,12 @@
+package com.tripmanagement.enums;
+
+/**
+ * Grouping key for trip analytics. The period keys group by start date.
+ */
+public enum TripGroupBy {
+    DESTINATION,
+    STATUS,
+    MONTH,
+    QUARTER,
+    YEAR
+}
@@ -0,0 +1,50 @@
+package com.tripmanagement.enums;
+
+import com.tripmanagement.exception.InvalidTripRequestException;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Whitelist of trip fields that listings may be sorted by. Every key is backed by an
+ * index on (field, id) so both offset and keyset paging can walk it without a filesort.
+ */
+public enum TripSortKey {
+    ID("id"),
+    START_DATE("startDate"),
+    PRICE("price"),
+    DESTINATION("destination");
+
+    private final String property;
+
+    TripSortKey(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static TripSortKey fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equalsIgnoreCase(property))
+                .findFirst()
+                .orElseThrow(() -> new InvalidTripRequestException(
+                        "Unsupported sort field " + property + ", expected one of id, startDate, price, destination",
+                        HttpStatus.BAD_REQUEST
+                ));
+    }
+
+    /**
+     * Parses a value of this key back from its string form in a cursor.
+     */
+    public Object parseValue(String value) {
+        return switch (this) {
+            case ID -> Integer.valueOf(value);
+            case START_DATE -> LocalDate.parse(value);
+            case PRICE -> Double.valueOf(value);
+            case DESTINATION -> value;
+        };
+    }
+}
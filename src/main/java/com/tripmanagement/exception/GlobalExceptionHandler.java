@@ -1,6 +1,8 @@
 package com.tripmanagement.exception;
 
 import com.tripmanagement.dto.ErrorResponseDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatus status, WebRequest request) {
@@ -48,5 +51,31 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(e.getStatusCode()).body(errorResponseDto);
     }
 
+    @ExceptionHandler(TripOverloadedException.class)
+    public ResponseEntity<ErrorResponseDto<String>> handleTripOverloadedException(TripOverloadedException e, WebRequest request) {
+
+        ErrorResponseDto<String> errorResponseDto = new ErrorResponseDto<>();
+        errorResponseDto.setMessage(e.getMessage());
+        errorResponseDto.setApiPath(request.getDescription(false));
+        errorResponseDto.setStatus(e.getStatusCode());
+        errorResponseDto.setTimestamp(LocalDateTime.now());
+        // Retry-After is in whole seconds, rounded up so clients never come back too early
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(e.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorResponseDto);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto<String>> handleOptimisticLockingFailureException(OptimisticLockingFailureException e, WebRequest request) {
+
+        ErrorResponseDto<String> errorResponseDto = new ErrorResponseDto<>();
+        errorResponseDto.setMessage("Trip was modified concurrently, reload it and retry");
+        errorResponseDto.setApiPath(request.getDescription(false));
+        errorResponseDto.setStatus(HttpStatus.CONFLICT);
+        errorResponseDto.setTimestamp(LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponseDto);
+    }
+
 
 }
@@ -0,0 +1,10 @@
+package com.tripmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidTripRequestException extends TripException{
+
+    public InvalidTripRequestException(String message, HttpStatus statusCode) {
+        super(message, statusCode);
+    }
+}
@@ -0,0 +1,56 @@
+package com.tripmanagement.exception;
+
+import com.tripmanagement.dto.ErrorResponseDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link GlobalExceptionHandler} for the reactive stack, answering with the same
+ * {@link ErrorResponseDto} bodies and statuses.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponseDto<Map<String, String>>> handleWebExchangeBindException(WebExchangeBindException e, ServerWebExchange exchange) {
+        Map<String, String> validationErrors = new HashMap<>();
+        e.getBindingResult().getAllErrors().forEach(error -> {
+            String fieldName = ((FieldError) error).getField();
+            validationErrors.put(fieldName, error.getDefaultMessage());
+        });
+        return ResponseEntity.badRequest().body(errorResponse(exchange, HttpStatus.BAD_REQUEST, validationErrors));
+    }
+
+    @ExceptionHandler(TripException.class)
+    public ResponseEntity<ErrorResponseDto<String>> handleTripException(TripException e, ServerWebExchange exchange) {
+        return ResponseEntity.status(e.getStatusCode()).body(errorResponse(exchange, e.getStatusCode(), e.getMessage()));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto<String>> handleOptimisticLockingFailureException(OptimisticLockingFailureException e, ServerWebExchange exchange) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(errorResponse(exchange, HttpStatus.CONFLICT, "Trip was modified concurrently, reload it and retry"));
+    }
+
+    private static <E> ErrorResponseDto<E> errorResponse(ServerWebExchange exchange, HttpStatus status, E message) {
+        ErrorResponseDto<E> errorResponseDto = new ErrorResponseDto<>();
+        errorResponseDto.setMessage(message);
+        // Same form as WebRequest.getDescription(false) on the servlet stack
+        errorResponseDto.setApiPath("uri=" + exchange.getRequest().getPath().value());
+        errorResponseDto.setStatus(status);
+        errorResponseDto.setTimestamp(LocalDateTime.now());
+        return errorResponseDto;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tripmanagement.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * A request turned away by admission control: 429 when the client is over its rate, 503
+ * when the server is saturated. Either way the client is told when to retry.
+ */
+@Getter
+public class TripOverloadedException extends TripException {
+    private final Duration retryAfter;
+
+    public TripOverloadedException(String message, HttpStatus statusCode, Duration retryAfter) {
+        super(message, statusCode);
+        this.retryAfter = retryAfter;
+    }
+}
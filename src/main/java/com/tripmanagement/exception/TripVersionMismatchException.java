@@ -0,0 +1,10 @@
+package com.tripmanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TripVersionMismatchException extends TripException{
+
+    public TripVersionMismatchException(String message, HttpStatus statusCode) {
+        super(message, statusCode);
+    }
+}
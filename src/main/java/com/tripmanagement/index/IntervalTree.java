@@ -0,0 +1,186 @@
+package com.tripmanagement.index;
+
+/**
+ * AVL tree of closed [start, end] intervals ordered by (start, id), where every node
+ * also tracks the largest end in its subtree so overlap queries can prune whole branches.
+ * Dates are stored as epoch days. Not thread-safe; {@link TripOverlapIndex} guards access.
+ */
+class IntervalTree {
+
+    static final int NONE = Integer.MIN_VALUE;
+
+    private static final class Node {
+        final long start;
+        final long end;
+        final int id;
+        long maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(long start, long end, int id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void insert(long start, long end, int id) {
+        root = insert(root, start, end, id);
+    }
+
+    boolean remove(long start, int id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /**
+     * Returns the id of any interval overlapping [start, end] other than {@code excludeId},
+     * or {@link #NONE} when there is none.
+     */
+    int findOverlap(long start, long end, int excludeId) {
+        return findOverlap(root, start, end, excludeId);
+    }
+
+    private int findOverlap(Node node, long start, long end, int excludeId) {
+        if (node == null || node.maxEnd < start) {
+            return NONE;
+        }
+        int found = findOverlap(node.left, start, end, excludeId);
+        if (found != NONE) {
+            return found;
+        }
+        if (node.start > end) {
+            return NONE;
+        }
+        if (node.end >= start && node.id != excludeId) {
+            return node.id;
+        }
+        return findOverlap(node.right, start, end, excludeId);
+    }
+
+    private Node insert(Node node, long start, long end, int id) {
+        if (node == null) {
+            size++;
+            return new Node(start, end, id);
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = insert(node.left, start, end, id);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, start, end, id);
+        } else {
+            Node replacement = new Node(start, end, id);
+            replacement.left = node.left;
+            replacement.right = node.right;
+            return update(replacement);
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.start, successor.end, successor.id);
+            replacement.right = removeMin(node.right);
+            replacement.left = node.left;
+            return balance(replacement);
+        }
+        return balance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int compare(long start, int id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Integer.compare(id, node.id);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static Node update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+        return node;
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        return update(pivot);
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        return update(pivot);
+    }
+}
@@ -0,0 +1,310 @@
+package com.tripmanagement.index;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.journal.TripJournal;
+import com.tripmanagement.repository.TripRepository;
+import com.tripmanagement.service.TripChangeListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory interval index of trip dates per normalized destination. Answers
+ * "does [start, end] overlap an existing trip to this destination" in O(log n)
+ * instead of a LIKE scan over the trips table. Loaded from the {@link TripJournal} at startup
+ * and kept in sync through {@link TripChangeListener} on every save, update and delete.
+ * <p>
+ * Writers check and claim an interval in one step with {@link #reserve}: the reservation
+ * counts as an overlap for everyone else until it is released, which the writer does once
+ * its trip has reached the index or its write failed. The index only sees this instance's
+ * writes, which is why the application runs as a single instance per database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripOverlapIndex implements TripChangeListener, SmartInitializingSingleton {
+
+    private record Entry(String destinationKey, long start, long end) {
+    }
+
+    private final TripRepository tripRepository;
+    private final TripJournal tripJournal;
+
+    private final Map<String, IntervalTree> trees = new HashMap<>();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    // Kept apart from the trips so rebuilds leave them alone and their ids can't clash with trip ids
+    private final Map<String, IntervalTree> reserved = new HashMap<>();
+    private int lastReservationId;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${trip.index.rebuild-batch-size:1000}")
+    private int rebuildBatchSize = 1000;
+
+    public static String normalize(String destination) {
+        return destination.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load(tripJournal::forEachTrip);
+    }
+
+    /**
+     * Reloads from the trips table, bypassing the journal.
+     */
+    public void rebuild() {
+        load(action -> tripRepository.forEachTrip(rebuildBatchSize, action));
+    }
+
+    private void load(Consumer<Consumer<Trip>> source) {
+        lock.writeLock().lock();
+        try {
+            trees.clear();
+            entries.clear();
+            source.accept(this::addUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Trip overlap index rebuilt with {} trips across {} destinations", entries.size(), trees.size());
+    }
+
+    /**
+     * Returns the id of a trip to the same destination whose dates overlap [start, end]
+     * (both ends inclusive), ignoring the trip with id {@code excludeId}.
+     */
+    public OptionalInt findOverlap(String destination, LocalDate start, LocalDate end, int excludeId) {
+        lock.readLock().lock();
+        try {
+            IntervalTree tree = trees.get(normalize(destination));
+            if (tree == null) {
+                return OptionalInt.empty();
+            }
+            int id = tree.findOverlap(start.toEpochDay(), end.toEpochDay(), excludeId);
+            return id == IntervalTree.NONE ? OptionalInt.empty() : OptionalInt.of(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks [start, end] against the trips to the destination, ignoring {@code excludeId}, and
+     * against the intervals other writers hold, and holds it too if it overlaps none of them.
+     *
+     * @return the reservation, to be released once the trip is in the index or was not
+     * written, or empty when the interval overlaps
+     */
+    public Optional<Reservation> reserve(String destination, LocalDate start, LocalDate end, int excludeId) {
+        String destinationKey = normalize(destination);
+        long startDay = start.toEpochDay();
+        long endDay = end.toEpochDay();
+        lock.writeLock().lock();
+        try {
+            if (overlaps(trees.get(destinationKey), startDay, endDay, excludeId)
+                    || overlaps(reserved.get(destinationKey), startDay, endDay, 0)) {
+                return Optional.empty();
+            }
+            return Optional.of(holdUnlocked(destinationKey, startDay, endDay));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a staging area for a bulk load, so rows can be checked against the committed
+     * trips, the rows accepted earlier in the same batch and the intervals other writers hold.
+     */
+    public Staging stage() {
+        return new Staging();
+    }
+
+    @Override
+    public void onTripSaved(Trip trip) {
+        put(trip);
+    }
+
+    @Override
+    public void onTripUpdated(Trip previous, Trip updated) {
+        put(updated);
+    }
+
+    @Override
+    public void onTripDeleted(Trip trip) {
+        remove(trip.getId());
+    }
+
+    /**
+     * Adds the trip, or moves it if the index already holds an entry for its id.
+     */
+    public void put(Trip trip) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(trip.getId());
+            addUnlocked(trip);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int tripId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(tripId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean overlaps(IntervalTree tree, long start, long end, int excludeId) {
+        return tree != null && tree.findOverlap(start, end, excludeId) != IntervalTree.NONE;
+    }
+
+    private Reservation holdUnlocked(String destinationKey, long start, long end) {
+        lastReservationId = lastReservationId == Integer.MAX_VALUE ? 1 : lastReservationId + 1;
+        reserved.computeIfAbsent(destinationKey, key -> new IntervalTree()).insert(start, end, lastReservationId);
+        return new Reservation(destinationKey, start, lastReservationId);
+    }
+
+    private void addUnlocked(Trip trip) {
+        Entry entry = new Entry(normalize(trip.getDestination()),
+                trip.getStartDate().toEpochDay(), trip.getEndDate().toEpochDay());
+        trees.computeIfAbsent(entry.destinationKey(), key -> new IntervalTree())
+                .insert(entry.start(), entry.end(), trip.getId());
+        entries.put(trip.getId(), entry);
+    }
+
+    private void removeUnlocked(int tripId) {
+        Entry entry = entries.remove(tripId);
+        if (entry == null) {
+            return;
+        }
+        IntervalTree tree = trees.get(entry.destinationKey());
+        tree.remove(entry.start(), tripId);
+        if (tree.isEmpty()) {
+            trees.remove(entry.destinationKey());
+        }
+    }
+
+    /**
+     * An interval held by one writer. Releasing it more than once is harmless.
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final String destinationKey;
+        private final long start;
+        private final int id;
+        private boolean released;
+
+        private Reservation(String destinationKey, long start, int id) {
+            this.destinationKey = destinationKey;
+            this.start = start;
+            this.id = id;
+        }
+
+        public void release() {
+            lock.writeLock().lock();
+            try {
+                if (released) {
+                    return;
+                }
+                released = true;
+                IntervalTree tree = reserved.get(destinationKey);
+                tree.remove(start, id);
+                if (tree.isEmpty()) {
+                    reserved.remove(destinationKey);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+
+    /**
+     * Reservations for the rows of one bulk load, keyed by a caller-chosen row key. Like
+     * {@link #reserve}, a row's interval is checked and held in one step, and stays held until
+     * the caller releases it once the row is in the index or was not written. Closing the
+     * staging area releases whatever is left. Confined to the thread running the load.
+     */
+    public final class Staging implements AutoCloseable {
+
+        /**
+         * Reported by {@link #reserve} when the interval is held by a write outside this load.
+         */
+        public static final int IN_FLIGHT = 0;
+
+        private final Map<Integer, Reservation> reservations = new HashMap<>();
+        private final Map<Integer, Integer> keysByReservation = new HashMap<>();
+
+        /**
+         * Holds [start, end] for the row {@code key} unless it overlaps.
+         *
+         * @return empty when the interval is now held, otherwise what it overlaps: a trip id,
+         * {@code -(key + 1)} for an earlier row of this load, or {@link #IN_FLIGHT}
+         */
+        public OptionalInt reserve(String destination, LocalDate start, LocalDate end, int key) {
+            String destinationKey = normalize(destination);
+            long startDay = start.toEpochDay();
+            long endDay = end.toEpochDay();
+            lock.writeLock().lock();
+            try {
+                IntervalTree tree = trees.get(destinationKey);
+                int id = tree == null ? IntervalTree.NONE : tree.findOverlap(startDay, endDay, 0);
+                if (id != IntervalTree.NONE) {
+                    return OptionalInt.of(id);
+                }
+                IntervalTree held = reserved.get(destinationKey);
+                int reservationId = held == null ? IntervalTree.NONE : held.findOverlap(startDay, endDay, 0);
+                if (reservationId != IntervalTree.NONE) {
+                    Integer row = keysByReservation.get(reservationId);
+                    return OptionalInt.of(row == null ? IN_FLIGHT : -(row + 1));
+                }
+                Reservation reservation = holdUnlocked(destinationKey, startDay, endDay);
+                reservations.put(key, reservation);
+                keysByReservation.put(reservation.id, key);
+                return OptionalInt.empty();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        public void release(int key) {
+            Reservation reservation = reservations.remove(key);
+            if (reservation != null) {
+                keysByReservation.remove(reservation.id);
+                reservation.release();
+            }
+        }
+
+        @Override
+        public void close() {
+            reservations.values().forEach(Reservation::release);
+            reservations.clear();
+            keysByReservation.clear();
+        }
+    }
+}
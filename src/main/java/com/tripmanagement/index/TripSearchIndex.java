@@ -0,0 +1,216 @@
+package com.tripmanagement.index;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.journal.TripJournal;
+import com.tripmanagement.repository.TripRepository;
+import com.tripmanagement.service.TripChangeListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Trigram inverted index over trip destinations for case-insensitive substring search.
+ * Postings point at distinct normalized destinations rather than trips, so a query
+ * intersects a few small sets and only then expands the matching destinations to trip ids.
+ * Queries shorter than a trigram fall back to a scan of the distinct destinations.
+ * Loaded from the {@link TripJournal} at startup and kept in sync through {@link TripChangeListener}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripSearchIndex implements TripChangeListener, SmartInitializingSingleton {
+
+    private static final int GRAM = 3;
+
+    private static final class Destination {
+        final String key;
+        final Set<Integer> tripIds = new TreeSet<>();
+
+        Destination(String key) {
+            this.key = key;
+        }
+    }
+
+    private final TripRepository tripRepository;
+    private final TripJournal tripJournal;
+
+    private final Map<String, Destination> destinations = new HashMap<>();
+    private final Map<String, Set<Destination>> postings = new HashMap<>();
+    private final Map<Integer, Destination> tripDestinations = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${trip.index.rebuild-batch-size:1000}")
+    private int rebuildBatchSize = 1000;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load(tripJournal::forEachTrip);
+    }
+
+    /**
+     * Reloads from the trips table, bypassing the journal.
+     */
+    public void rebuild() {
+        load(action -> tripRepository.forEachTrip(rebuildBatchSize, action));
+    }
+
+    private void load(Consumer<Consumer<Trip>> source) {
+        lock.writeLock().lock();
+        try {
+            destinations.clear();
+            postings.clear();
+            tripDestinations.clear();
+            source.accept(this::addUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Trip search index rebuilt with {} trips across {} destinations", tripDestinations.size(), destinations.size());
+    }
+
+    /**
+     * Returns the ids of trips whose destination contains {@code query}, ignoring case,
+     * best matches first: exact, then prefix, then start of a word, then anywhere.
+     * Ties go to the shorter destination, then to the lower trip id.
+     */
+    public List<Integer> search(String query) {
+        String needle = TripOverlapIndex.normalize(query);
+        lock.readLock().lock();
+        try {
+            List<Destination> matches = new ArrayList<>();
+            for (Destination destination : candidates(needle)) {
+                if (destination.key.contains(needle)) {
+                    matches.add(destination);
+                }
+            }
+            matches.sort(Comparator
+                    .comparingInt((Destination destination) -> rank(destination.key, needle))
+                    .thenComparingInt(destination -> destination.key.length())
+                    .thenComparing(destination -> destination.key));
+
+            List<Integer> tripIds = new ArrayList<>();
+            for (Destination destination : matches) {
+                tripIds.addAll(destination.tripIds);
+            }
+            return tripIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onTripSaved(Trip trip) {
+        put(trip);
+    }
+
+    @Override
+    public void onTripUpdated(Trip previous, Trip updated) {
+        put(updated);
+    }
+
+    @Override
+    public void onTripDeleted(Trip trip) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(trip.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Trip trip) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(trip.getId());
+            addUnlocked(trip);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Iterable<Destination> candidates(String needle) {
+        if (needle.length() < GRAM) {
+            return destinations.values();
+        }
+        List<Set<Destination>> lists = new ArrayList<>();
+        for (String gram : grams(needle)) {
+            Set<Destination> posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Destination> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static int rank(String key, String needle) {
+        if (key.equals(needle)) {
+            return 0;
+        }
+        if (key.startsWith(needle)) {
+            return 1;
+        }
+        int index = key.indexOf(needle);
+        return index > 0 && !Character.isLetterOrDigit(key.charAt(index - 1)) ? 2 : 3;
+    }
+
+    private static Set<String> grams(String key) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private void addUnlocked(Trip trip) {
+        String key = TripOverlapIndex.normalize(trip.getDestination());
+        Destination destination = destinations.get(key);
+        if (destination == null) {
+            destination = new Destination(key);
+            destinations.put(key, destination);
+            for (String gram : grams(key)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(destination);
+            }
+        }
+        destination.tripIds.add(trip.getId());
+        tripDestinations.put(trip.getId(), destination);
+    }
+
+    private void removeUnlocked(int tripId) {
+        Destination destination = tripDestinations.remove(tripId);
+        if (destination == null) {
+            return;
+        }
+        destination.tripIds.remove(tripId);
+        if (!destination.tripIds.isEmpty()) {
+            return;
+        }
+        destinations.remove(destination.key);
+        for (String gram : grams(destination.key)) {
+            Set<Destination> posting = postings.get(gram);
+            posting.remove(destination);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+}
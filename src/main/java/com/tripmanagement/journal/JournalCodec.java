@@ -0,0 +1,79 @@
+package com.tripmanagement.journal;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripChangeType;
+import com.tripmanagement.enums.TripStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Fixed binary layout shared by segments and snapshots. A trip is
+ * {@code id:int version:long start:int end:int price:double status:byte length:short destination:utf8},
+ * dates as epoch days; an event prefixes it with {@code sequence:long type:byte}.
+ */
+final class JournalCodec {
+
+    private static final int TRIP_FIXED_BYTES = 4 + 8 + 4 + 4 + 8 + 1 + 2;
+    static final int EVENT_HEADER_BYTES = 8 + 1;
+    static final int MAX_EVENT_BYTES = EVENT_HEADER_BYTES + TRIP_FIXED_BYTES + 0xFFFF;
+
+    private static final TripChangeType[] TYPES = TripChangeType.values();
+    private static final TripStatus[] STATUSES = TripStatus.values();
+
+    private JournalCodec() {
+    }
+
+    static ByteBuffer encodeEvent(long sequence, TripChangeType type, Trip trip) {
+        byte[] destination = trip.getDestination().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(EVENT_HEADER_BYTES + TRIP_FIXED_BYTES + destination.length);
+        buffer.putLong(sequence);
+        buffer.put((byte) type.ordinal());
+        putTrip(buffer, trip, destination);
+        return buffer.flip();
+    }
+
+    static long sequence(ByteBuffer event) {
+        return event.getLong(event.position());
+    }
+
+    static TripChangeEvent decodeEvent(ByteBuffer event) {
+        long sequence = event.getLong();
+        TripChangeType type = TYPES[event.get()];
+        return new TripChangeEvent(sequence, type, getTrip(event));
+    }
+
+    static ByteBuffer encodeTrip(Trip trip) {
+        byte[] destination = trip.getDestination().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(TRIP_FIXED_BYTES + destination.length);
+        putTrip(buffer, trip, destination);
+        return buffer.flip();
+    }
+
+    static Trip getTrip(ByteBuffer buffer) {
+        int id = buffer.getInt();
+        long version = buffer.getLong();
+        LocalDate startDate = LocalDate.ofEpochDay(buffer.getInt());
+        LocalDate endDate = LocalDate.ofEpochDay(buffer.getInt());
+        double price = buffer.getDouble();
+        TripStatus status = STATUSES[buffer.get()];
+        byte[] destination = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(destination);
+        return new Trip(id, new String(destination, StandardCharsets.UTF_8), startDate, endDate, price, status, version);
+    }
+
+    private static void putTrip(ByteBuffer buffer, Trip trip, byte[] destination) {
+        if (destination.length > 0xFFFF) {
+            throw new IllegalArgumentException("Destination of trip " + trip.getId() + " is too long to journal");
+        }
+        buffer.putInt(trip.getId());
+        buffer.putLong(trip.getVersion());
+        buffer.putInt((int) trip.getStartDate().toEpochDay());
+        buffer.putInt((int) trip.getEndDate().toEpochDay());
+        buffer.putDouble(trip.getPrice());
+        buffer.put((byte) trip.getStatus().ordinal());
+        buffer.putShort((short) destination.length);
+        buffer.put(destination);
+    }
+}
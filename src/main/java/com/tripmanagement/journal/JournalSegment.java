@@ -0,0 +1,142 @@
+package com.tripmanagement.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * A memory-mapped segment file holding events back to back as
+ * {@code length:int crc32c:int event:bytes}, followed by zeros. The length is written
+ * last, so a reader never sees a half-written record, and a record torn by a crash fails
+ * its checksum and marks the end of the segment on recovery.
+ */
+final class JournalSegment {
+
+    static final String SUFFIX = ".seg";
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    final Path path;
+    final long firstSequence;
+    private final MappedByteBuffer buffer;
+    private volatile int position;
+    private volatile long lastSequence;
+
+    private JournalSegment(Path path, long firstSequence, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.buffer = buffer;
+        this.lastSequence = firstSequence - 1;
+    }
+
+    static Path path(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, int size) throws IOException {
+        Path path = path(directory, firstSequence);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new JournalSegment(path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    /**
+     * Maps an existing segment and finds its end: the first empty, truncated or corrupt
+     * record. Anything after that point is zeroed so it can't be mistaken for data later.
+     */
+    static JournalSegment open(Path path) throws IOException {
+        String name = path.getFileName().toString();
+        long firstSequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        JournalSegment segment;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = new JournalSegment(path, firstSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+        segment.recover();
+        return segment;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    boolean isEmpty() {
+        return position == 0;
+    }
+
+    /**
+     * Appends one encoded event. Only one thread may append at a time.
+     *
+     * @return false if the segment has no room left for it
+     */
+    boolean append(ByteBuffer event) {
+        int length = event.remaining();
+        int start = position;
+        if (start + RECORD_HEADER_BYTES + length > buffer.capacity()) {
+            return false;
+        }
+        long sequence = JournalCodec.sequence(event);
+        CRC32C crc = new CRC32C();
+        crc.update(event.duplicate());
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.put(start + RECORD_HEADER_BYTES, event, event.position(), length);
+        buffer.putInt(start, length);
+        lastSequence = sequence;
+        position = start + RECORD_HEADER_BYTES + length;
+        return true;
+    }
+
+    /**
+     * Visits the events with {@code afterSequence < sequence <= upToSequence}, in order.
+     */
+    void forEach(long afterSequence, long upToSequence, Consumer<TripChangeEvent> action) {
+        ByteBuffer view = buffer.duplicate();
+        int end = position;
+        int offset = 0;
+        while (offset < end) {
+            int length = view.getInt(offset);
+            ByteBuffer event = view.slice(offset + RECORD_HEADER_BYTES, length);
+            long sequence = JournalCodec.sequence(event);
+            if (sequence > upToSequence) {
+                return;
+            }
+            if (sequence > afterSequence) {
+                action.accept(JournalCodec.decodeEvent(event));
+            }
+            offset += RECORD_HEADER_BYTES + length;
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    private void recover() {
+        int offset = 0;
+        int capacity = buffer.capacity();
+        while (offset + RECORD_HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_BYTES + length > capacity) {
+                break;
+            }
+            ByteBuffer event = buffer.slice(offset + RECORD_HEADER_BYTES, length);
+            CRC32C crc = new CRC32C();
+            crc.update(event.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                break;
+            }
+            lastSequence = JournalCodec.sequence(event);
+            offset += RECORD_HEADER_BYTES + length;
+        }
+        position = offset;
+        // Clears the body of a record torn before its length was written
+        int dirtyEnd = Math.min(capacity, offset + RECORD_HEADER_BYTES + JournalCodec.MAX_EVENT_BYTES);
+        for (int i = offset; i < dirtyEnd; i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+}
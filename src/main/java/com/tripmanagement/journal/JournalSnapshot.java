@@ -0,0 +1,100 @@
+package com.tripmanagement.journal;
+
+import com.tripmanagement.entity.Trip;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Every trip as of one sequence number, in id order:
+ * {@code magic:int sequence:long count:int trip* crc32c:long}. Written to a temporary file
+ * and moved into place, so a snapshot either exists complete or not at all.
+ */
+final class JournalSnapshot {
+
+    static final String PREFIX = "snapshot-";
+    static final String SUFFIX = ".snap";
+    private static final int MAGIC = 0x54524950;
+
+    final long sequence;
+    final TreeMap<Integer, Trip> trips;
+
+    private JournalSnapshot(long sequence, TreeMap<Integer, Trip> trips) {
+        this.sequence = sequence;
+        this.trips = trips;
+    }
+
+    static JournalSnapshot empty() {
+        return new JournalSnapshot(0, new TreeMap<>());
+    }
+
+    static Path path(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    static Path write(Path directory, long sequence, Map<Integer, Trip> trips) throws IOException {
+        Path target = path(directory, sequence);
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (OutputStream file = Files.newOutputStream(temporary);
+             CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc);
+             DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(MAGIC);
+            out.writeLong(sequence);
+            out.writeInt(trips.size());
+            for (Trip trip : trips.values()) {
+                ByteBuffer encoded = JournalCodec.encodeTrip(trip);
+                out.write(encoded.array(), 0, encoded.limit());
+            }
+            out.flush();
+            file.write(ByteBuffer.allocate(8).putLong(crc.getValue()).array());
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        return Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static JournalSnapshot read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int payloadEnd = buffer.capacity() - 8;
+        if (payloadEnd < 16 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Snapshot " + path + " is not a trip journal snapshot");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, payloadEnd));
+        if (crc.getValue() != buffer.getLong(payloadEnd)) {
+            throw new IOException("Snapshot " + path + " failed its checksum");
+        }
+        buffer.position(4);
+        long sequence = buffer.getLong();
+        int count = buffer.getInt();
+        TreeMap<Integer, Trip> trips = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            Trip trip = JournalCodec.getTrip(buffer);
+            trips.put(trip.getId(), trip);
+        }
+        return new JournalSnapshot(sequence, trips);
+    }
+}
@@ -0,0 +1,11 @@
+package com.tripmanagement.journal;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripChangeType;
+
+/**
+ * One journal entry. {@code trip} is the state after the change, or the removed trip for
+ * {@link TripChangeType#DELETED}.
+ */
+public record TripChangeEvent(long sequence, TripChangeType type, Trip trip) {
+}
@@ -0,0 +1,345 @@
+package com.tripmanagement.journal;
+
+import com.tripmanagement.dto.TripFingerprintDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripChangeType;
+import com.tripmanagement.repository.TripRepository;
+import com.tripmanagement.service.TripChangeListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of every trip mutation, numbered by a gap-free sequence. Events go
+ * into memory-mapped segment files that roll over at {@code trip.journal.segment-size};
+ * compaction folds sealed segments into a snapshot of all trips and deletes them.
+ * <p>
+ * The in-memory views load through {@link #forEachTrip(Consumer)} at startup: the latest
+ * snapshot plus the events after it, instead of a scan of the trips table. Events are
+ * written after commit, so a crash in between, a failed append or a write by another
+ * instance can lose one; on the first load the journal compares a fingerprint of its trips
+ * (count, sum of versions, highest id) with the table and re-snapshots from the database if
+ * they differ. With {@code trip.journal.enabled=false} it is a pass-through to the repository.
+ */
+@Slf4j
+@Component
+public class TripJournal implements TripChangeListener, DisposableBean {
+
+    private record SnapshotRef(Path path, long sequence) {
+    }
+
+    private final TripRepository tripRepository;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Object compactionLock = new Object();
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+    private volatile SnapshotRef snapshot = new SnapshotRef(null, 0);
+    private volatile long lastSequence;
+    private volatile boolean verified;
+    private volatile boolean damaged;
+
+    @Value("${trip.index.rebuild-batch-size:1000}")
+    private int rebuildBatchSize = 1000;
+
+    public TripJournal(TripRepository tripRepository,
+                       @Value("${trip.journal.enabled:true}") boolean enabled,
+                       @Value("${trip.journal.dir:data/journal}") String directory,
+                       @Value("${trip.journal.segment-size:64MB}") DataSize segmentSize,
+                       @Value("${trip.journal.fsync:false}") boolean fsync) throws IOException {
+        this.tripRepository = tripRepository;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, segmentSize.toBytes());
+        this.fsync = fsync;
+        if (enabled) {
+            open();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sequence number of the newest event, 0 before the first one.
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Oldest sequence number still held in segments; anything before it has been compacted
+     * into a snapshot and can only be recovered as state, not as events.
+     */
+    public long firstSequence() {
+        return segments.isEmpty() ? lastSequence + 1 : segments.get(0).firstSequence;
+    }
+
+    /**
+     * Visits the events after {@code afterSequence} up to the newest one, in order.
+     */
+    public void replay(long afterSequence, Consumer<TripChangeEvent> action) {
+        replay(afterSequence, lastSequence, action);
+    }
+
+    /**
+     * Returns at most {@code limit} events following {@code afterSequence}.
+     */
+    public List<TripChangeEvent> read(long afterSequence, int limit) {
+        List<TripChangeEvent> events = new ArrayList<>(Math.min(limit, 1024));
+        replay(afterSequence, Math.min(lastSequence, afterSequence + limit), events::add);
+        return events;
+    }
+
+    /**
+     * Visits every current trip in id order, rebuilt from the latest snapshot and the events
+     * after it. Falls back to the trips table when the journal is disabled, and refreshes
+     * the journal from it when the journal turns out to be out of step.
+     */
+    public void forEachTrip(Consumer<Trip> action) {
+        if (!enabled) {
+            tripRepository.forEachTrip(rebuildBatchSize, action);
+            return;
+        }
+        TreeMap<Integer, Trip> trips = restore(lastSequence);
+        if (damaged || !verified) {
+            TripFingerprintDto expected = tripRepository.fingerprintTrips();
+            TripFingerprintDto journaled = fingerprint(trips);
+            if (damaged || !journaled.equals(expected)) {
+                log.warn("Trip journal holds {} but the database has {}, taking a fresh snapshot", journaled, expected);
+                trips = snapshotDatabase();
+            }
+            verified = true;
+        }
+        trips.values().forEach(action);
+    }
+
+    /**
+     * Folds sealed segments into a new snapshot and deletes them along with the previous
+     * snapshot. The active segment is left alone, so appends carry on meanwhile.
+     */
+    @Scheduled(initialDelayString = "${trip.journal.compaction-interval:PT1H}",
+            fixedDelayString = "${trip.journal.compaction-interval:PT1H}")
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (compactionLock) {
+            List<JournalSegment> sealed = new ArrayList<>(segments.subList(0, Math.max(0, segments.size() - 1)));
+            if (sealed.isEmpty()) {
+                return;
+            }
+            long upTo = sealed.get(sealed.size() - 1).lastSequence();
+            try {
+                if (upTo > snapshot.sequence()) {
+                    TreeMap<Integer, Trip> trips = restore(upTo);
+                    install(JournalSnapshot.write(directory, upTo, trips), upTo);
+                    log.info("Trip journal compacted {} segments into a snapshot of {} trips at sequence {}",
+                            sealed.size(), trips.size(), upTo);
+                }
+                drop(sealed);
+            } catch (IOException ex) {
+                log.error("Trip journal compaction failed, segments kept", ex);
+            }
+        }
+    }
+
+    @Override
+    public void onTripSaved(Trip trip) {
+        append(TripChangeType.SAVED, trip);
+    }
+
+    @Override
+    public void onTripUpdated(Trip previous, Trip updated) {
+        append(TripChangeType.UPDATED, updated);
+    }
+
+    @Override
+    public void onTripDeleted(Trip trip) {
+        append(TripChangeType.DELETED, trip);
+    }
+
+    @Override
+    public void destroy() {
+        segments.forEach(JournalSegment::force);
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> snapshots = new ArrayList<>();
+        List<Path> segmentFiles = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                } else if (name.startsWith(JournalSnapshot.PREFIX) && name.endsWith(JournalSnapshot.SUFFIX)) {
+                    snapshots.add(file);
+                } else if (name.endsWith(JournalSegment.SUFFIX)) {
+                    segmentFiles.add(file);
+                }
+            }
+        }
+        if (!snapshots.isEmpty()) {
+            Path latest = snapshots.get(snapshots.size() - 1);
+            snapshot = new SnapshotRef(latest, JournalSnapshot.sequenceOf(latest));
+        }
+        lastSequence = snapshot.sequence();
+        for (Path file : segmentFiles) {
+            JournalSegment segment = JournalSegment.open(file);
+            segments.add(segment);
+            lastSequence = Math.max(lastSequence, segment.lastSequence());
+        }
+        if (segments.isEmpty() || segments.get(segments.size() - 1).lastSequence() < lastSequence) {
+            segments.add(JournalSegment.create(directory, lastSequence + 1, segmentSize));
+        }
+        log.info("Trip journal opened in {} at sequence {} ({} segments, snapshot at {})",
+                directory.toAbsolutePath(), lastSequence, segments.size(), snapshot.sequence());
+    }
+
+    private void append(TripChangeType type, Trip trip) {
+        if (!enabled) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            ByteBuffer event = JournalCodec.encodeEvent(sequence, type, trip);
+            JournalSegment active = segments.get(segments.size() - 1);
+            if (!active.append(event)) {
+                active.force();
+                active = JournalSegment.create(directory, sequence, segmentSize);
+                segments.add(active);
+                if (!active.append(event)) {
+                    throw new IOException("Event of " + event.remaining() + " bytes does not fit in a segment");
+                }
+            }
+            if (fsync) {
+                active.force();
+            }
+            lastSequence = sequence;
+        } catch (IOException | RuntimeException ex) {
+            // The mutation is already committed, so failing the request would be wrong; the
+            // next load re-snapshots from the database instead of trusting the journal
+            damaged = true;
+            log.error("Could not journal {} of trip {}", type, trip.getId(), ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void replay(long afterSequence, long upToSequence, Consumer<TripChangeEvent> action) {
+        for (JournalSegment segment : segments) {
+            if (segment.lastSequence() > afterSequence && segment.firstSequence <= upToSequence) {
+                segment.forEach(afterSequence, upToSequence, action);
+            }
+        }
+    }
+
+    /**
+     * Folds the snapshot and the events after it up to {@code upToSequence}. Starts over if
+     * compaction swapped the snapshot meanwhile, since it may also have dropped segments.
+     * <p>
+     * Events are appended from afterCommit callbacks on different threads, so two changes to
+     * one trip can land out of order; an event older than the version already folded in is
+     * ignored, as is anything after the trip's deletion.
+     */
+    private TreeMap<Integer, Trip> restore(long upToSequence) {
+        while (true) {
+            SnapshotRef ref = snapshot;
+            try {
+                TreeMap<Integer, Trip> trips = ref.path() == null
+                        ? JournalSnapshot.empty().trips
+                        : JournalSnapshot.read(ref.path()).trips;
+                Set<Integer> deleted = new HashSet<>();
+                replay(ref.sequence(), upToSequence, event -> {
+                    Trip trip = event.trip();
+                    if (event.type() == TripChangeType.DELETED) {
+                        trips.remove(trip.getId());
+                        deleted.add(trip.getId());
+                    } else if (!deleted.contains(trip.getId())) {
+                        trips.merge(trip.getId(), trip, (current, next) -> next.getVersion() >= current.getVersion() ? next : current);
+                    }
+                });
+                if (ref == snapshot) {
+                    return trips;
+                }
+            } catch (NoSuchFileException ex) {
+                if (ref == snapshot) {
+                    throw new UncheckedIOException(ex);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Replaces the journal's state with the trips table, as a snapshot at the current
+     * sequence. Appends wait meanwhile so no event can fall between the scan and the snapshot.
+     */
+    private TreeMap<Integer, Trip> snapshotDatabase() {
+        synchronized (compactionLock) {
+            appendLock.lock();
+            try {
+                TreeMap<Integer, Trip> trips = new TreeMap<>();
+                tripRepository.forEachTrip(rebuildBatchSize, trip -> trips.put(trip.getId(), trip));
+                long sequence = lastSequence;
+                install(JournalSnapshot.write(directory, sequence, trips), sequence);
+                drop(new ArrayList<>(segments.subList(0, segments.size() - 1)));
+                damaged = false;
+                return trips;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                appendLock.unlock();
+            }
+        }
+    }
+
+    private static TripFingerprintDto fingerprint(TreeMap<Integer, Trip> trips) {
+        long versionSum = 0;
+        for (Trip trip : trips.values()) {
+            versionSum += trip.getVersion();
+        }
+        return new TripFingerprintDto(trips.size(), versionSum, trips.isEmpty() ? 0 : trips.lastKey());
+    }
+
+    private void install(Path path, long sequence) throws IOException {
+        SnapshotRef previous = snapshot;
+        snapshot = new SnapshotRef(path, sequence);
+        if (previous.path() != null && !previous.path().equals(path)) {
+            Files.deleteIfExists(previous.path());
+        }
+    }
+
+    private void drop(List<JournalSegment> sealed) throws IOException {
+        segments.removeAll(sealed);
+        for (JournalSegment segment : sealed) {
+            Files.deleteIfExists(segment.path);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.tripmanagement.lifecycle;
+
+import com.tripmanagement.config.TripInstanceLease;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.mapper.TripMapper;
+import com.tripmanagement.repository.TripRepository;
+import com.tripmanagement.service.TripChangeListener;
+import com.tripmanagement.sharding.TripShardContext;
+import com.tripmanagement.sharding.TripShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Moves trips along PLANNED -> ONGOING -> COMPLETED as their dates pass. Each chunk is one
+ * transaction: lock the next due trips in id order, then flip them with a single UPDATE.
+ * There is no checkpoint to lose because the status itself records progress; a run that
+ * dies half way leaves its committed chunks done, and the next run picks up whatever still
+ * matches. Listeners are told about every moved trip after its chunk commits.
+ * <p>
+ * With sharding, a run goes shard by shard, so each chunk locks and updates on one database.
+ * <p>
+ * The in-progress flag and the listeners are local to this instance: the caches, statistics
+ * and indexes of any other instance would never hear about the moved trips. That is one of
+ * the reasons the application runs as a single instance per database, which
+ * {@link TripInstanceLease} enforces; scheduled runs are skipped once the lease is lost.
+ */
+@Slf4j
+@Component
+public class TripLifecycleEngine {
+
+    private final TripRepository tripRepository;
+    private final TripShardRouter tripShardRouter;
+    private final TripInstanceLease tripInstanceLease;
+    private final TripMapper tripMapper;
+    private final List<TripChangeListener> tripChangeListeners;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Timer runTimer;
+    private final Timer chunkTimer;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong progress = new AtomicLong();
+
+    @Value("${trip.lifecycle.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${trip.lifecycle.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${trip.lifecycle.zone:UTC}")
+    private ZoneId zone = ZoneId.of("UTC");
+
+    public TripLifecycleEngine(TripRepository tripRepository, TripShardRouter tripShardRouter,
+                               TripInstanceLease tripInstanceLease, TripMapper tripMapper,
+                               List<TripChangeListener> tripChangeListeners,
+                               TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.tripRepository = tripRepository;
+        this.tripShardRouter = tripShardRouter;
+        this.tripInstanceLease = tripInstanceLease;
+        this.tripMapper = tripMapper;
+        this.tripChangeListeners = tripChangeListeners;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.runTimer = Timer.builder("trip.lifecycle.run")
+                .description("Duration of a full lifecycle run")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("trip.lifecycle.chunk")
+                .description("Duration of one chunk: lock, update and commit")
+                .register(meterRegistry);
+        Gauge.builder("trip.lifecycle.progress", progress, AtomicLong::get)
+                .description("Trips moved so far by the current or last run")
+                .register(meterRegistry);
+        Gauge.builder("trip.lifecycle.running", running, flag -> flag.get() ? 1 : 0)
+                .description("Whether a lifecycle run is in progress")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${trip.lifecycle.initial-delay:PT30S}",
+            fixedDelayString = "${trip.lifecycle.interval:PT5M}")
+    public void runScheduled() {
+        if (!enabled) {
+            return;
+        }
+        if (!tripInstanceLease.isHeld()) {
+            log.warn("Trip lifecycle run skipped, this instance no longer holds the instance lease");
+            return;
+        }
+        run(LocalDate.now(zone));
+    }
+
+    /**
+     * Applies every transition due on {@code today}. A run that starts while another is still
+     * going returns 0 immediately.
+     *
+     * @return the number of trips moved
+     */
+    public long run(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Trip lifecycle run skipped, previous run still in progress");
+            return 0;
+        }
+        progress.set(0);
+        long started = System.nanoTime();
+        try {
+            tripShardRouter.shards().forEach(shard -> TripShardContext.run(shard, () -> {
+                // Ended trips first, so a trip that was never started goes straight to COMPLETED
+                transition(TripStatus.ONGOING, TripStatus.COMPLETED,
+                        afterId -> tripRepository.findEndedBefore(TripStatus.ONGOING, today, afterId, Limit.of(chunkSize)));
+                transition(TripStatus.PLANNED, TripStatus.COMPLETED,
+                        afterId -> tripRepository.findEndedBefore(TripStatus.PLANNED, today, afterId, Limit.of(chunkSize)));
+                transition(TripStatus.PLANNED, TripStatus.ONGOING,
+                        afterId -> tripRepository.findInProgressOn(TripStatus.PLANNED, today, afterId, Limit.of(chunkSize)));
+            }));
+        } finally {
+            running.set(false);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        runTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        long moved = progress.get();
+        if (moved > 0) {
+            long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            log.info("Trip lifecycle moved {} trips for {} in {} ms ({} trips/s)",
+                    moved, today, elapsedMillis, moved * 1000 / elapsedMillis);
+        }
+        return moved;
+    }
+
+    private void transition(TripStatus from, TripStatus to, IntFunction<List<Trip>> dueAfter) {
+        Counter counter = Counter.builder("trip.lifecycle.transitions")
+                .description("Trips moved by the lifecycle engine")
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(meterRegistry);
+        int afterId = 0;
+        List<Trip> moved;
+        do {
+            int lastId = afterId;
+            moved = chunkTimer.record(() -> transactionTemplate.execute(status -> {
+                List<Trip> due = dueAfter.apply(lastId).stream().map(tripMapper::copyTrip).toList();
+                if (!due.isEmpty()) {
+                    int updated = tripRepository.updateStatus(due.stream().map(Trip::getId).toList(), from, to);
+                    if (updated != due.size()) {
+                        log.warn("Expected to move {} trips from {} to {}, moved {}", due.size(), from, to, updated);
+                    }
+                }
+                return due;
+            }));
+            for (Trip previous : moved) {
+                Trip updated = tripMapper.copyTrip(previous);
+                updated.setStatus(to);
+                updated.setVersion(previous.getVersion() + 1);
+                tripChangeListeners.forEach(listener -> listener.onTripUpdated(previous, updated));
+            }
+            if (!moved.isEmpty()) {
+                afterId = moved.get(moved.size() - 1).getId();
+                counter.increment(moved.size());
+                progress.addAndGet(moved.size());
+            }
+        } while (moved.size() == chunkSize);
+    }
+}
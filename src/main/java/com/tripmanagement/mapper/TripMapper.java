@@ -10,4 +10,5 @@ import org.springframework.stereotype.Component;
 public interface TripMapper {
     Trip mapTripDtoToTrip(TripDto tripDto);
     TripDto mapTripToTripDto(Trip trip);
+    Trip copyTrip(Trip trip);
 }
@@ -0,0 +1,70 @@
+package com.tripmanagement.pagination;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripSortKey;
+import com.tripmanagement.exception.InvalidTripRequestException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opaque keyset cursor: the sort it was issued for, the scroll direction and the
+ * (sort value, id) of the boundary row. Encoded as URL-safe base64 so clients treat it
+ * as a token rather than something to build by hand.
+ */
+public record TripCursor(TripSort sort, boolean backward, Object value, int id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TripCursor after(TripSort sort, Trip trip) {
+        return new TripCursor(sort, false, valueOf(sort.key(), trip), trip.getId());
+    }
+
+    public static TripCursor before(TripSort sort, Trip trip) {
+        return new TripCursor(sort, true, valueOf(sort.key(), trip), trip.getId());
+    }
+
+    public ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(sort.key().getProperty(), value);
+        keys.put(TripSortKey.ID.getProperty(), id);
+        return backward ? ScrollPosition.backward(keys) : ScrollPosition.forward(keys);
+    }
+
+    public String encode() {
+        String raw = sort.key().name() + SEPARATOR + sort.direction().name() + SEPARATOR
+                + (backward ? "B" : "F") + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TripCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            TripSortKey key = TripSortKey.valueOf(parts[0]);
+            TripSort sort = new TripSort(key, Sort.Direction.valueOf(parts[1]));
+            boolean backward = switch (parts[2]) {
+                case "F" -> false;
+                case "B" -> true;
+                default -> throw new IllegalArgumentException("Unknown scroll direction " + parts[2]);
+            };
+            return new TripCursor(sort, backward, key.parseValue(parts[4]), Integer.parseInt(parts[3]));
+        } catch (RuntimeException e) {
+            throw new InvalidTripRequestException("Invalid cursor " + cursor, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static Object valueOf(TripSortKey key, Trip trip) {
+        return switch (key) {
+            case ID -> trip.getId();
+            case START_DATE -> trip.getStartDate();
+            case PRICE -> trip.getPrice();
+            case DESTINATION -> trip.getDestination();
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.tripmanagement.pagination;
+
+import com.tripmanagement.dto.CursorPageDto;
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.exception.InvalidTripRequestException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The sort and position of a keyset page request, resolved from the {@code cursor} and
+ * {@code sort} parameters. A cursor carries its own sort; an explicit sort that disagrees
+ * with it is rejected rather than silently ignored.
+ */
+public record TripKeyset(TripSort sort, TripCursor position) {
+
+    public static TripKeyset parse(String cursor, String sort, int size, int maxSize) {
+        if (size < 1 || size > maxSize) {
+            throw new InvalidTripRequestException("Page size must be between 1 and " + maxSize, HttpStatus.BAD_REQUEST);
+        }
+        TripSort tripSort = TripSort.parse(sort);
+        if (cursor == null || cursor.isBlank()) {
+            return new TripKeyset(tripSort, null);
+        }
+        TripCursor position = TripCursor.decode(cursor);
+        if (sort != null && !sort.isBlank() && !position.sort().equals(tripSort)) {
+            throw new InvalidTripRequestException("Cursor was issued for a different sort", HttpStatus.BAD_REQUEST);
+        }
+        return new TripKeyset(position.sort(), position);
+    }
+
+    public ScrollPosition scrollPosition() {
+        return position == null ? ScrollPosition.keyset() : position.toScrollPosition();
+    }
+
+    /**
+     * Page of {@code window} with cursors to the rows after and before it, where there are any.
+     */
+    public CursorPageDto<TripDto> toPage(Window<Trip> window, Function<Trip, TripDto> mapper, Long totalElements) {
+        List<Trip> trips = window.getContent();
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!trips.isEmpty()) {
+            boolean backward = position != null && position.backward();
+            boolean hasAfter = backward || window.hasNext();
+            boolean hasBefore = backward ? window.hasNext() : position != null;
+            if (hasAfter) {
+                nextCursor = TripCursor.after(sort, trips.get(trips.size() - 1)).encode();
+            }
+            if (hasBefore) {
+                prevCursor = TripCursor.before(sort, trips.get(0)).encode();
+            }
+        }
+        List<TripDto> tripDtos = trips.stream().map(mapper).toList();
+        return new CursorPageDto<>(tripDtos, tripDtos.size(), nextCursor, prevCursor, totalElements);
+    }
+}
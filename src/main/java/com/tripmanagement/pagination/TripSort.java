@@ -0,0 +1,39 @@
+package com.tripmanagement.pagination;
+
+import com.tripmanagement.enums.TripSortKey;
+import com.tripmanagement.exception.InvalidTripRequestException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Validated form of the {@code sort=field[,asc|desc]} request parameter.
+ */
+public record TripSort(TripSortKey key, Sort.Direction direction) {
+
+    public static final TripSort DEFAULT = new TripSort(TripSortKey.ID, Sort.Direction.ASC);
+
+    public static TripSort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return DEFAULT;
+        }
+        String[] sortParams = sort.split(",");
+        TripSortKey key = TripSortKey.fromProperty(sortParams[0].trim());
+        if (sortParams.length == 1) {
+            return new TripSort(key, Sort.Direction.ASC);
+        }
+        String direction = sortParams[1].trim();
+        if (sortParams.length > 2 || !(direction.equalsIgnoreCase("asc") || direction.equalsIgnoreCase("desc"))) {
+            throw new InvalidTripRequestException(
+                    "Unsupported sort " + sort + ", expected field[,asc|desc]", HttpStatus.BAD_REQUEST);
+        }
+        return new TripSort(key, Sort.Direction.fromString(direction));
+    }
+
+    /**
+     * Sort on the key with id as tie-breaker, so rows with equal keys keep a stable order.
+     */
+    public Sort toSort() {
+        Sort sort = Sort.by(direction, key.getProperty());
+        return key == TripSortKey.ID ? sort : sort.and(Sort.by(direction, TripSortKey.ID.getProperty()));
+    }
+}
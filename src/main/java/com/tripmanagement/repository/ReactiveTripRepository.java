@@ -0,0 +1,115 @@
+package com.tripmanagement.repository;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.enums.TripStatus;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Non-blocking reads of trips over R2DBC for the reactive stack. Results are {@link Flux}es
+ * that pull rows from the driver {@code trip.reactive.fetch-size} at a time as the
+ * subscriber requests them, so a slow consumer holds back the query instead of buffering it.
+ * <p>
+ * The connection pool is owned here rather than exposed as a {@code ConnectionFactory} bean:
+ * Spring Boot backs off its JDBC {@code DataSource} when it sees one, and JPA still serves
+ * writes and the in-memory views in this mode.
+ * <p>
+ * Refuses to start with sharding on, as there is a single R2DBC database.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTripRepository implements DisposableBean {
+
+    private static final String SELECT_TRIP_DTO =
+            "select id, destination, start_date, end_date, price, status, version from trips";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveTripRepository(@Value("${trip.reactive.url}") String url,
+                                  @Value("${trip.reactive.username:}") String username,
+                                  @Value("${trip.reactive.password:}") String password,
+                                  @Value("${trip.reactive.pool.max-size:20}") int maxPoolSize,
+                                  @Value("${trip.reactive.pool.max-acquire-time:PT5S}") Duration maxAcquireTime,
+                                  @Value("${trip.reactive.fetch-size:500}") int fetchSize,
+                                  @Value("${trip.sharding.enabled:false}") boolean sharded) {
+        if (sharded) {
+            // Reads would only see the one database behind trip.reactive.url, not the shards
+            throw new IllegalStateException("The reactive stack can't be combined with trip.sharding.enabled:"
+                    + " its R2DBC reads only see trip.reactive.url");
+        }
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxPoolSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<TripDto> findAllTripDtos() {
+        return query(SELECT_TRIP_DTO + " order by id").map(ReactiveTripRepository::toTripDto).all();
+    }
+
+    public Mono<TripDto> findTripDtoById(int id) {
+        return query(SELECT_TRIP_DTO + " where id = :id").bind("id", id).map(ReactiveTripRepository::toTripDto).one();
+    }
+
+    public Flux<TripDto> findTripDtosByIdIn(Collection<Integer> ids) {
+        return query(SELECT_TRIP_DTO + " where id in (:ids)").bind("ids", ids).map(ReactiveTripRepository::toTripDto).all();
+    }
+
+    public Flux<TripDto> findTripDtosByStatus(TripStatus status) {
+        // Inlined rather than bound: r2dbc-h2 binds strings as CLOBs, which H2 will not compare
+        // with an enum column. Safe, the value can only be one of the enum's constant names.
+        return query(SELECT_TRIP_DTO + " where status = '" + status.name() + "' order by id")
+                .map(ReactiveTripRepository::toTripDto)
+                .all();
+    }
+
+    public Flux<TripDto> findTripDtosBetween(LocalDate start, LocalDate end) {
+        return query(SELECT_TRIP_DTO + " where start_date >= :start and end_date < :end order by id")
+                .bind("start", start)
+                .bind("end", end)
+                .map(ReactiveTripRepository::toTripDto)
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private DatabaseClient.GenericExecuteSpec query(String sql) {
+        return databaseClient.sql(sql).filter(statement -> statement.fetchSize(fetchSize));
+    }
+
+    private static TripDto toTripDto(Readable row) {
+        return new TripDto(
+                row.get("id", Integer.class),
+                row.get("destination", String.class),
+                row.get("start_date", LocalDate.class),
+                row.get("end_date", LocalDate.class),
+                row.get("price", Double.class),
+                TripStatus.valueOf(row.get("status", String.class)),
+                row.get("version", Long.class));
+    }
+}
@@ -1,21 +1,143 @@
 package com.tripmanagement.repository;
 
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.dto.TripFingerprintDto;
+import com.tripmanagement.dto.TripSummaryDto;
 import com.tripmanagement.entity.Trip;
 import com.tripmanagement.enums.TripStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
-public interface TripRepository extends JpaRepository<Trip,Integer> {
+public interface TripRepository extends JpaRepository<Trip,Integer>, JpaSpecificationExecutor<Trip>, TripRepositoryCustom {
 
-    List<Trip> findByDestinationContainingIgnoreCase(String destination);
+    /**
+     * Read paths select straight into {@link TripDto}: no managed entity, no snapshot for
+     * dirty checking and no mapper pass. They run in read-only transactions, their own when
+     * the caller has none (declared queries get no transaction from Spring Data otherwise),
+     * where Hibernate's flush mode is MANUAL, so they never trigger an auto-flush either, and
+     * replica routing can send them to a replica.
+     */
+    String SELECT_TRIP_DTO = "select new com.tripmanagement.dto.TripDto(t.id, t.destination, t.startDate, " +
+            "t.endDate, t.price, t.status, t.version) from Trip t";
 
-    List<Trip> findByStatus(TripStatus status);
-
-    List<Trip> findByStartDateGreaterThanEqualAndEndDateLessThan(LocalDate startDateIsGreaterThan, LocalDate endDateIsLessThan);
+    /**
+     * Query cache region of the status and date range finders. Their results are reused
+     * until Hibernate writes to {@code trips}, when {@code trip.second-level-cache.enabled=true}.
+     */
+    String QUERY_CACHE_REGION = "trip-queries";
 
     boolean findByDestinationAndStartDateAndEndDateAndPrice(String destination, LocalDate startDate, LocalDate endDate, double price);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.tripmanagement.dto.TripSummaryDto(count(t), coalesce(min(t.price), 0.0), " +
+            "coalesce(max(t.price), 0.0), coalesce(avg(t.price), 0.0)) from Trip t")
+    TripSummaryDto summarizeTrips();
+
+    @Transactional(readOnly = true)
+    @Query("select new com.tripmanagement.dto.TripFingerprintDto(count(t), coalesce(sum(t.version), 0L), " +
+            "coalesce(max(t.id), 0)) from Trip t")
+    TripFingerprintDto fingerprintTrips();
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_TRIP_DTO)
+    List<TripDto> findAllTripDtos();
+
+    @Transactional(readOnly = true)
+    @Query(value = SELECT_TRIP_DTO, countQuery = "select count(t) from Trip t")
+    Page<TripDto> findTripDtos(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_TRIP_DTO + " where t.id = :id")
+    Optional<TripDto> findTripDtoById(@Param("id") int id);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_TRIP_DTO + " where t.id in :ids")
+    List<TripDto> findTripDtosByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
+    @Transactional(readOnly = true)
+    @Query(SELECT_TRIP_DTO + " where t.status = :status")
+    List<TripDto> findTripDtosByStatus(@Param("status") TripStatus status);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
+    @Transactional(readOnly = true)
+    @Query(SELECT_TRIP_DTO + " where t.startDate >= :start and t.endDate < :end")
+    List<TripDto> findTripDtosBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    Window<Trip> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Keyset window of the trips matching {@code spec}, the filtered counterpart of
+     * {@link #findAllBy(ScrollPosition, Sort, Limit)}.
+     */
+    default Window<Trip> findAllBy(Specification<Trip> spec, ScrollPosition position, Sort sort, Limit limit) {
+        return findBy(spec, query -> query.sortBy(sort).limit(limit.max()).scroll(position));
+    }
+
+    List<Trip> findByIdGreaterThanOrderByIdAsc(int id, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_TRIP_DTO + " where t.id > :afterId order by t.id")
+    List<TripDto> findTripDtosAfter(@Param("afterId") int afterId, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Trip t where t.status = :status and t.endDate < :date and t.id > :afterId order by t.id")
+    List<Trip> findEndedBefore(@Param("status") TripStatus status, @Param("date") LocalDate date,
+                               @Param("afterId") int afterId, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Trip t where t.status = :status and t.startDate <= :date and t.endDate >= :date " +
+            "and t.id > :afterId order by t.id")
+    List<Trip> findInProgressOn(@Param("status") TripStatus status, @Param("date") LocalDate date,
+                                @Param("afterId") int afterId, Limit limit);
+
+    /**
+     * Moves the given trips from one status to another in a single statement. Trips no longer
+     * in {@code from} are left alone, so re-running a chunk after a crash is harmless.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Trip t set t.status = :to, t.version = t.version + 1 where t.id in :ids and t.status = :from")
+    int updateStatus(@Param("ids") Collection<Integer> ids, @Param("from") TripStatus from, @Param("to") TripStatus to);
+
+    /**
+     * Walks the whole table in id order, one keyset batch at a time, so callers that
+     * rebuild in-memory views never hold more than {@code batchSize} entities at once.
+     */
+    default void forEachTrip(int batchSize, Consumer<Trip> action) {
+        int lastId = 0;
+        List<Trip> batch;
+        do {
+            batch = findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(batchSize));
+            for (Trip trip : batch) {
+                action.accept(trip);
+                lastId = trip.getId();
+            }
+        } while (batch.size() == batchSize);
+    }
 }
@@ -0,0 +1,15 @@
+package com.tripmanagement.repository;
+
+import com.tripmanagement.dto.TripDto;
+
+import java.util.stream.Stream;
+
+public interface TripRepositoryCustom {
+
+    /**
+     * Streams every trip in id order over a JDBC cursor fetching {@code fetchSize} rows per
+     * round trip, projected into {@link TripDto} rows so nothing is ever attached to the
+     * persistence context. Must be called inside a transaction and closed.
+     */
+    Stream<TripDto> streamTripDtos(int fetchSize);
+}
@@ -0,0 +1,21 @@
+package com.tripmanagement.repository;
+
+import com.tripmanagement.dto.TripDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+public class TripRepositoryCustomImpl implements TripRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<TripDto> streamTripDtos(int fetchSize) {
+        return entityManager.createQuery(TripRepository.SELECT_TRIP_DTO + " order by t.id", TripDto.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,52 @@
+package com.tripmanagement.repository;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Predicates for {@link TripRepository#findBy}, one per criterion so callers combine only
+ * the ones a request sets. Each is a plain comparison on an indexed column; the substring
+ * match on destination is the exception and is meant as a fallback only.
+ */
+public final class TripSpecifications {
+
+    private TripSpecifications() {
+    }
+
+    public static Specification<Trip> idIn(Collection<Integer> ids) {
+        return (root, query, builder) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Case-insensitive substring match on destination. Can't use an index, so callers prefer
+     * {@link #idIn} with ids from the search index when those are few enough.
+     */
+    public static Specification<Trip> destinationContains(String needle) {
+        String pattern = "%" + needle.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, builder) -> builder.like(builder.lower(root.get("destination")), pattern, '\\');
+    }
+
+    public static Specification<Trip> hasStatus(TripStatus status) {
+        return (root, query, builder) -> builder.equal(root.get("status"), status);
+    }
+
+    public static Specification<Trip> startsOnOrAfter(LocalDate from) {
+        return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get("startDate"), from);
+    }
+
+    public static Specification<Trip> endsBefore(LocalDate to) {
+        return (root, query, builder) -> builder.lessThan(root.get("endDate"), to);
+    }
+
+    public static Specification<Trip> priceAtLeast(double minPrice) {
+        return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Trip> priceAtMost(double maxPrice) {
+        return (root, query, builder) -> builder.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+}
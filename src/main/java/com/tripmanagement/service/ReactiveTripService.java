@@ -0,0 +1,41 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.dto.CursorPageDto;
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.dto.TripSummaryDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link TripService} for the reactive stack: same rules and errors, delivered as
+ * {@link Mono}s and {@link Flux}es.
+ */
+public interface ReactiveTripService {
+    Mono<TripDto> saveTrip(TripDto tripDto);
+
+    Flux<TripDto> getAllTrips();
+
+    Mono<CursorPageDto<TripDto>> getTripsByCursor(String cursor, int size, String sort, boolean withTotal);
+
+    Mono<TripDto> getTripById(String tripId);
+
+    /**
+     * @param expectedVersion version the caller last saw, or null to update whatever is current
+     */
+    Mono<TripDto> updateTripById(int id, Trip trip, Long expectedVersion);
+
+    /**
+     * @param expectedVersion version the caller last saw, or null to delete whatever is current
+     */
+    Mono<TripDto> deleteTripById(int id, Long expectedVersion);
+
+    Flux<TripDto> getTripsByDestination(String destination);
+
+    Flux<TripDto> getTripByStatus(TripStatus status);
+
+    Flux<TripDto> getTripsBetweenDates(String startDate, String endDate);
+
+    Mono<TripSummaryDto> getTripSummary();
+}
@@ -0,0 +1,125 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.dto.CursorPageDto;
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.dto.TripSummaryDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.exception.TripNotFoundException;
+import com.tripmanagement.index.TripSearchIndex;
+import com.tripmanagement.repository.ReactiveTripRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+/**
+ * Reads go straight to {@link ReactiveTripRepository} or the in-memory views, without
+ * blocking. Writes and keyset pages still go through {@link TripService} on the
+ * bounded-elastic scheduler: they need the overlap check, optimistic locking and the
+ * change listeners that keep the indexes, caches and journal in step, and duplicating
+ * those on R2DBC would give two write paths to keep consistent.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTripServiceImpl implements ReactiveTripService {
+
+    private static final Pattern TRIP_ID_PATTERN = Pattern.compile("^\\d+$");
+    private static final int ID_LOOKUP_BATCH_SIZE = 1000;
+
+    private final ReactiveTripRepository reactiveTripRepository;
+    private final TripService tripService;
+    private final TripSearchIndex tripSearchIndex;
+
+    @Override
+    public Mono<TripDto> saveTrip(TripDto tripDto) {
+        return blocking(() -> tripService.saveTrip(tripDto));
+    }
+
+    @Override
+    public Flux<TripDto> getAllTrips() {
+        return reactiveTripRepository.findAllTripDtos();
+    }
+
+    @Override
+    public Mono<CursorPageDto<TripDto>> getTripsByCursor(String cursor, int size, String sort, boolean withTotal) {
+        return blocking(() -> tripService.getTripsByCursor(cursor, size, sort, withTotal));
+    }
+
+    @Override
+    public Mono<TripDto> getTripById(String tripId) {
+        if (!TRIP_ID_PATTERN.matcher(tripId).matches()) {
+            return Mono.error(new TripNotFoundException("Incorrect Trip Id", HttpStatus.BAD_REQUEST));
+        }
+        return reactiveTripRepository.findTripDtoById(Integer.parseInt(tripId))
+                .switchIfEmpty(Mono.error(() -> new TripNotFoundException("Trip Not Found", HttpStatus.BAD_REQUEST)));
+    }
+
+    @Override
+    public Mono<TripDto> updateTripById(int id, Trip trip, Long expectedVersion) {
+        return blocking(() -> tripService.updateTripById(id, trip, expectedVersion));
+    }
+
+    @Override
+    public Mono<TripDto> deleteTripById(int id, Long expectedVersion) {
+        return blocking(() -> tripService.deleteTripById(id, expectedVersion));
+    }
+
+    /**
+     * Looks ids up in the search index, then loads them a batch at a time, one batch in
+     * flight, keeping the index's order.
+     */
+    @Override
+    public Flux<TripDto> getTripsByDestination(String destination) {
+        return Flux.defer(() -> {
+                    List<Integer> tripIds = tripSearchIndex.search(destination);
+                    return Flux.range(0, (tripIds.size() + ID_LOOKUP_BATCH_SIZE - 1) / ID_LOOKUP_BATCH_SIZE)
+                            .map(batch -> tripIds.subList(batch * ID_LOOKUP_BATCH_SIZE,
+                                    Math.min((batch + 1) * ID_LOOKUP_BATCH_SIZE, tripIds.size())))
+                            .concatMap(this::findAllByIdInOrder);
+                })
+                .switchIfEmpty(Flux.error(() -> new TripNotFoundException(
+                        "No trips found with destination " + destination,
+                        HttpStatus.NOT_FOUND
+                )));
+    }
+
+    @Override
+    public Flux<TripDto> getTripByStatus(TripStatus status) {
+        return reactiveTripRepository.findTripDtosByStatus(status)
+                .switchIfEmpty(Flux.error(() -> new TripNotFoundException(
+                        "No trips found with status " + status,
+                        HttpStatus.NOT_FOUND
+                )));
+    }
+
+    @Override
+    public Flux<TripDto> getTripsBetweenDates(String startDate, String endDate) {
+        return Flux.defer(() -> reactiveTripRepository.findTripDtosBetween(LocalDate.parse(startDate), LocalDate.parse(endDate)));
+    }
+
+    @Override
+    public Mono<TripSummaryDto> getTripSummary() {
+        return Mono.fromSupplier(tripService::getTripSummary);
+    }
+
+    private Flux<TripDto> findAllByIdInOrder(List<Integer> batch) {
+        return reactiveTripRepository.findTripDtosByIdIn(batch)
+                .collectMap(TripDto::getId)
+                .flatMapMany(tripDtosById -> Flux.fromIterable(batch)
+                        .mapNotNull(tripDtosById::get));
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
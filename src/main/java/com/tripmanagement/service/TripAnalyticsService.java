@@ -0,0 +1,22 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.analytics.TripAnalyticsFilter;
+import com.tripmanagement.dto.TripGroupDto;
+import com.tripmanagement.dto.TripPriceBucketDto;
+import com.tripmanagement.enums.TripGroupBy;
+
+import java.util.List;
+
+public interface TripAnalyticsService {
+
+    /**
+     * Trip count, price range, average price and revenue per destination, status or start
+     * period of the trips matching {@code filter}.
+     */
+    List<TripGroupDto> groupTrips(TripGroupBy groupBy, TripAnalyticsFilter filter);
+
+    /**
+     * Equal-width price histogram of the trips matching {@code filter}.
+     */
+    List<TripPriceBucketDto> getPriceHistogram(int buckets, TripAnalyticsFilter filter);
+}
@@ -0,0 +1,43 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.analytics.TripAnalyticsFilter;
+import com.tripmanagement.analytics.TripColumnStore;
+import com.tripmanagement.dto.TripGroupDto;
+import com.tripmanagement.dto.TripPriceBucketDto;
+import com.tripmanagement.enums.TripGroupBy;
+import com.tripmanagement.exception.InvalidTripRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TripAnalyticsServiceImpl implements TripAnalyticsService {
+
+    private static final int MAX_BUCKETS = 1000;
+
+    private final TripColumnStore tripColumnStore;
+
+    @Override
+    public List<TripGroupDto> groupTrips(TripGroupBy groupBy, TripAnalyticsFilter filter) {
+        validate(filter);
+        return tripColumnStore.groupBy(groupBy, filter);
+    }
+
+    @Override
+    public List<TripPriceBucketDto> getPriceHistogram(int buckets, TripAnalyticsFilter filter) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new InvalidTripRequestException("buckets must be between 1 and " + MAX_BUCKETS, HttpStatus.BAD_REQUEST);
+        }
+        validate(filter);
+        return tripColumnStore.priceHistogram(buckets, filter);
+    }
+
+    private static void validate(TripAnalyticsFilter filter) {
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new InvalidTripRequestException("from must be before to", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.dto.TripBatchResultDto;
+import com.tripmanagement.dto.TripDto;
+
+import java.util.Iterator;
+
+public interface TripBatchService {
+
+    /**
+     * Validates and inserts trips read from {@code tripDtos}, one result per row.
+     * Rows are committed in chunks, so a failing row never rolls back earlier ones.
+     */
+    TripBatchResultDto saveTrips(Iterator<TripDto> tripDtos);
+}
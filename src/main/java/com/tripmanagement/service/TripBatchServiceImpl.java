@@ -0,0 +1,173 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.dto.TripBatchResultDto;
+import com.tripmanagement.dto.TripBatchRowResultDto;
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.index.TripOverlapIndex;
+import com.tripmanagement.mapper.TripMapper;
+import com.tripmanagement.repository.TripRepository;
+import com.tripmanagement.sharding.TripShardContext;
+import com.tripmanagement.sharding.TripShardRouter;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TripBatchServiceImpl implements TripBatchService {
+
+    private record PendingRow(int row, Trip trip) {
+    }
+
+    private final TripRepository tripRepository;
+    private final TripShardRouter tripShardRouter;
+    private final TripMapper tripMapper;
+    private final TripOverlapIndex tripOverlapIndex;
+    private final List<TripChangeListener> tripChangeListeners;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @Value("${trip.batch.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Override
+    public TripBatchResultDto saveTrips(Iterator<TripDto> tripDtos) {
+        List<TripBatchRowResultDto> results = new ArrayList<>();
+        try (TripOverlapIndex.Staging staging = tripOverlapIndex.stage()) {
+            readAndInsert(tripDtos, staging, results);
+        }
+
+        results.sort(Comparator.comparingInt(TripBatchRowResultDto::getRow));
+        int created = (int) results.stream()
+                .filter(result -> result.getStatus() == HttpStatus.CREATED)
+                .count();
+        return new TripBatchResultDto(results.size(), created, results.size() - created, results);
+    }
+
+    private void readAndInsert(Iterator<TripDto> tripDtos, TripOverlapIndex.Staging staging,
+                               List<TripBatchRowResultDto> results) {
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        for (int row = 0; ; row++) {
+            TripDto tripDto;
+            try {
+                if (!tripDtos.hasNext()) {
+                    break;
+                }
+                tripDto = tripDtos.next();
+            } catch (RuntimeException e) {
+                results.add(new TripBatchRowResultDto(row, HttpStatus.BAD_REQUEST, null,
+                        "Unreadable row, remaining input skipped: " + e.getMessage()));
+                break;
+            }
+
+            if (tripDto == null) {
+                results.add(new TripBatchRowResultDto(row, HttpStatus.BAD_REQUEST, null, "Row is empty"));
+                continue;
+            }
+            Trip trip = tripMapper.mapTripDtoToTrip(tripDto);
+            trip.setId(0);
+            TripBatchRowResultDto rejection = validate(row, trip, staging);
+            if (rejection != null) {
+                results.add(rejection);
+                continue;
+            }
+
+            chunk.add(new PendingRow(row, trip));
+            if (chunk.size() == chunkSize) {
+                insertChunk(chunk, staging, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, staging, results);
+        }
+    }
+
+    /**
+     * Validates the row and, if it passes, holds its dates in the overlap index until the row
+     * is saved or has failed, so concurrent single saves can't take them in the meantime.
+     */
+    private TripBatchRowResultDto validate(int row, Trip trip, TripOverlapIndex.Staging staging) {
+        List<String> errors = validator.validate(trip).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (trip.getStatus() == null) {
+            errors.add("status: Status cannot be null");
+        }
+        if (trip.getStartDate() != null && trip.getEndDate() != null && trip.getEndDate().isBefore(trip.getStartDate())) {
+            errors.add("endDate: End date cannot be before start date");
+        }
+        if (!errors.isEmpty()) {
+            return new TripBatchRowResultDto(row, HttpStatus.BAD_REQUEST, null, String.join(", ", errors));
+        }
+
+        OptionalInt overlap = staging.reserve(trip.getDestination(), trip.getStartDate(), trip.getEndDate(), row);
+        if (overlap.isPresent()) {
+            int id = overlap.getAsInt();
+            String conflict = id > 0 ? "trip " + id
+                    : id == TripOverlapIndex.Staging.IN_FLIGHT ? "a trip being saved concurrently" : "row " + (-id - 1);
+            return new TripBatchRowResultDto(row, HttpStatus.CONFLICT, null,
+                    "Trip to " + trip.getDestination() + " with overlapping dates already exists (" + conflict + ")");
+        }
+        return null;
+    }
+
+    /**
+     * Inserts the chunk in one transaction per shard so Hibernate can send it as JDBC batches.
+     * If a shard's part fails, its rows are retried one transaction each to find the ones at fault.
+     */
+    private void insertChunk(List<PendingRow> chunk, TripOverlapIndex.Staging staging, List<TripBatchRowResultDto> results) {
+        Map<Integer, List<PendingRow>> chunkByShard = chunk.stream().collect(Collectors.groupingBy(
+                pending -> tripShardRouter.shardOf(pending.trip()), LinkedHashMap::new, Collectors.toList()));
+        chunkByShard.forEach((shard, shardChunk) -> {
+            List<Trip> trips = shardChunk.stream().map(PendingRow::trip).toList();
+            try {
+                List<Trip> savedTrips = TripShardContext.call(shard,
+                        () -> transactionTemplate.execute(status -> tripRepository.saveAll(trips)));
+                for (int i = 0; i < shardChunk.size(); i++) {
+                    created(shardChunk.get(i).row(), savedTrips.get(i), staging, results);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Batch insert of {} trips failed, retrying row by row: {}", shardChunk.size(), e.getMessage());
+                for (PendingRow pending : shardChunk) {
+                    insertRow(pending, staging, results);
+                }
+            }
+        });
+    }
+
+    private void insertRow(PendingRow pending, TripOverlapIndex.Staging staging, List<TripBatchRowResultDto> results) {
+        Trip trip = pending.trip();
+        trip.setId(0);
+        try {
+            Trip savedTrip = transactionTemplate.execute(status -> tripRepository.save(trip));
+            created(pending.row(), savedTrip, staging, results);
+        } catch (RuntimeException e) {
+            staging.release(pending.row());
+            results.add(new TripBatchRowResultDto(pending.row(), HttpStatus.INTERNAL_SERVER_ERROR, null,
+                    "Trip could not be saved: " + e.getMessage()));
+        }
+    }
+
+    private void created(int row, Trip savedTrip, TripOverlapIndex.Staging staging, List<TripBatchRowResultDto> results) {
+        tripChangeListeners.forEach(listener -> listener.onTripSaved(savedTrip));
+        staging.release(row);
+        results.add(new TripBatchRowResultDto(row, HttpStatus.CREATED, savedTrip.getId(), "Trip created successfully"));
+    }
+}
@@ -0,0 +1,19 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.entity.Trip;
+
+/**
+ * Callback for in-memory views that must follow every trip mutation made through
+ * {@link TripService}. Called synchronously after the repository write succeeded.
+ */
+public interface TripChangeListener {
+
+    default void onTripSaved(Trip trip) {
+    }
+
+    default void onTripUpdated(Trip previous, Trip updated) {
+    }
+
+    default void onTripDeleted(Trip trip) {
+    }
+}
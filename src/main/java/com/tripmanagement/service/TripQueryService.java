@@ -0,0 +1,13 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.dto.TripQueryFilter;
+import com.tripmanagement.dto.TripQueryResultDto;
+
+public interface TripQueryService {
+
+    /**
+     * One keyset page of the trips matching {@code filter}, with facet counts over every
+     * match, not just the page. No match is an empty page, never an error.
+     */
+    TripQueryResultDto queryTrips(TripQueryFilter filter, String cursor, int size, String sort, int priceBuckets);
+}
@@ -0,0 +1,115 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.analytics.TripColumnStore;
+import com.tripmanagement.dto.CursorPageDto;
+import com.tripmanagement.dto.TripFacetsDto;
+import com.tripmanagement.dto.TripQueryFilter;
+import com.tripmanagement.dto.TripQueryResultDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.exception.InvalidTripRequestException;
+import com.tripmanagement.index.TripOverlapIndex;
+import com.tripmanagement.index.TripSearchIndex;
+import com.tripmanagement.mapper.TripMapper;
+import com.tripmanagement.pagination.TripKeyset;
+import com.tripmanagement.repository.TripRepository;
+import com.tripmanagement.repository.TripSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page and facets of GET /api/trips/query. The page is one keyset query built from only the
+ * criteria that are set; the facets come from {@link TripColumnStore} in the same request,
+ * so counting every match costs no second round trip. The store follows commits through
+ * {@link TripChangeListener}, so facets can trail the page by a write in flight.
+ */
+@Service
+@RequiredArgsConstructor
+public class TripQueryServiceImpl implements TripQueryService {
+
+    private static final int MAX_PRICE_BUCKETS = 1000;
+
+    private final TripRepository tripRepository;
+    private final TripMapper tripMapper;
+    private final TripSearchIndex tripSearchIndex;
+    private final TripColumnStore tripColumnStore;
+
+    /**
+     * Up to this many trips matching the destination are looked up by primary key; beyond
+     * it the query falls back to a substring match on the column.
+     */
+    @Value("${trip.query.max-destination-ids:1000}")
+    private int maxDestinationIds = 1000;
+
+    @Value("${trip.page.max-size:1000}")
+    private int maxPageSize = 1000;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TripQueryResultDto queryTrips(TripQueryFilter filter, String cursor, int size, String sort, int priceBuckets) {
+        validate(filter, priceBuckets);
+        TripKeyset keyset = TripKeyset.parse(cursor, sort, size, maxPageSize);
+        TripFacetsDto facets = tripColumnStore.facets(filter, priceBuckets);
+
+        List<Specification<Trip>> criteria = criteria(filter);
+        if (criteria == null) {
+            return new TripQueryResultDto(new CursorPageDto<>(List.of(), 0, null, null, facets.getTotalTrips()), facets);
+        }
+        Window<Trip> window = tripRepository.findAllBy(Specification.allOf(criteria), keyset.scrollPosition(),
+                keyset.sort().toSort(), Limit.of(size));
+        return new TripQueryResultDto(keyset.toPage(window, tripMapper::mapTripToTripDto, facets.getTotalTrips()), facets);
+    }
+
+    /**
+     * Predicates for the criteria that are set, or null when the destination matches no trip
+     * at all and the query can be skipped.
+     */
+    private List<Specification<Trip>> criteria(TripQueryFilter filter) {
+        List<Specification<Trip>> criteria = new ArrayList<>();
+        if (filter.getDestination() != null && !filter.getDestination().isBlank()) {
+            List<Integer> tripIds = tripSearchIndex.search(filter.getDestination());
+            if (tripIds.isEmpty()) {
+                return null;
+            }
+            criteria.add(tripIds.size() <= maxDestinationIds
+                    ? TripSpecifications.idIn(tripIds)
+                    : TripSpecifications.destinationContains(TripOverlapIndex.normalize(filter.getDestination())));
+        }
+        if (filter.getStatus() != null) {
+            criteria.add(TripSpecifications.hasStatus(filter.getStatus()));
+        }
+        if (filter.getFrom() != null) {
+            criteria.add(TripSpecifications.startsOnOrAfter(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            criteria.add(TripSpecifications.endsBefore(filter.getTo()));
+        }
+        if (filter.getMinPrice() != null) {
+            criteria.add(TripSpecifications.priceAtLeast(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            criteria.add(TripSpecifications.priceAtMost(filter.getMaxPrice()));
+        }
+        return criteria;
+    }
+
+    private static void validate(TripQueryFilter filter, int priceBuckets) {
+        if (priceBuckets < 1 || priceBuckets > MAX_PRICE_BUCKETS) {
+            throw new InvalidTripRequestException("priceBuckets must be between 1 and " + MAX_PRICE_BUCKETS, HttpStatus.BAD_REQUEST);
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new InvalidTripRequestException("from must be before to", HttpStatus.BAD_REQUEST);
+        }
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null && filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new InvalidTripRequestException("minPrice must not exceed maxPrice", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.sharding.ShardedSequence;
+import com.tripmanagement.sharding.TripShardContext;
+import com.tripmanagement.sharding.TripShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Refuses to start when {@code trips_seq} would hand out ids that already exist. That is what
+ * a database created back when ids were AUTO_INCREMENT looks like after {@code ddl-auto=update}
+ * added the sequence starting at 1: every insert, batched or not, would fail with a duplicate
+ * key until the sequence passes the highest id. The prod profile's Flyway migrations (V2, and V4
+ * for databases baselined past V2) move it past the existing ids; this catches the schema-update
+ * path, which runs no migrations. Runs on every shard, once the schema is in place and before
+ * the server takes requests.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripSequenceCheck implements SmartInitializingSingleton {
+
+    private static final String SEQUENCE_NAME = "trips_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TripShardRouter tripShardRouter;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int allocationSize = allocationSize();
+        int scale = tripShardRouter.isSharded() ? TripShardRouter.MAX_SHARDS : 1;
+        tripShardRouter.shards().forEach(shard -> TripShardContext.run(shard, () -> {
+            Long nextValue = nextSequenceValue();
+            if (nextValue == null) {
+                return;
+            }
+            long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from trips", Long.class);
+            // The pooled optimizer hands out the allocationSize values up to the one it reads,
+            // except for the sequence's untouched initial value 1, which it starts from
+            long lowestValue = nextValue == 1 ? 1 : nextValue - allocationSize + 1;
+            if (maxId > 0 && lowestValue * scale + shard <= maxId) {
+                long required = Math.floorDiv(maxId - shard, scale) + allocationSize;
+                throw new IllegalStateException("Sequence " + SEQUENCE_NAME + " on shard " + shard + " is at " + nextValue
+                        + " and would reuse existing trip ids up to " + maxId + ". Start once with the prod profile and"
+                        + " --spring.flyway.baseline-version=2, whose migrations move it, or move the sequence to " + required + " (on MySQL: UPDATE " + SEQUENCE_NAME + " SET next_val = "
+                        + required + ")");
+            }
+        }));
+    }
+
+    /**
+     * The value the sequence returns next, or null on a database this check can't read it from.
+     */
+    private Long nextSequenceValue() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        List<Long> values = switch (product) {
+            case "MySQL" -> jdbcTemplate.queryForList("select next_val from " + SEQUENCE_NAME, Long.class);
+            case "H2" -> jdbcTemplate.queryForList(
+                    "select base_value from information_schema.sequences where lower(sequence_name) = ?", Long.class, SEQUENCE_NAME);
+            default -> {
+                log.debug("Not checking {} on {}", SEQUENCE_NAME, product);
+                yield List.of();
+            }
+        };
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    private static int allocationSize() {
+        try {
+            return Trip.class.getDeclaredField("id").getAnnotation(ShardedSequence.class).allocationSize();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,25 +1,43 @@
 package com.tripmanagement.service;
 
+import com.tripmanagement.dto.CursorPageDto;
+import com.tripmanagement.dto.TripCacheStatsDto;
+import com.tripmanagement.dto.TripChangeDto;
 import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.dto.TripPriceQuantilesDto;
+import com.tripmanagement.dto.TripStatisticsDto;
 import com.tripmanagement.dto.TripSummaryDto;
 import com.tripmanagement.entity.Trip;
 import com.tripmanagement.enums.TripStatus;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TripService {
     TripDto saveTrip(TripDto tripDto);
 
     List<TripDto> getAllTrips();
 
+    void streamAllTrips(Consumer<TripDto> consumer);
+
     Page<TripDto> getPaginatedTrips(int page,int size,String sort);
 
+    CursorPageDto<TripDto> getTripsByCursor(String cursor, int size, String sort, boolean withTotal);
+
     TripDto getTripById(String tripId);
 
-    TripDto updateTripById(int id, Trip trip);
+    TripCacheStatsDto getTripCacheStats();
 
-    TripDto deleteTripById(int id);
+    /**
+     * @param expectedVersion version the caller last saw, or null to update whatever is current
+     */
+    TripDto updateTripById(int id, Trip trip, Long expectedVersion);
+
+    /**
+     * @param expectedVersion version the caller last saw, or null to delete whatever is current
+     */
+    TripDto deleteTripById(int id, Long expectedVersion);
 
     List<TripDto> getTripsByDestination(String destination);
 
@@ -28,4 +46,15 @@ public interface TripService {
     List<TripDto> getTripsBetweenDates(String startDate, String endDate);
 
     TripSummaryDto getTripSummary();
+
+    TripStatisticsDto getTripStatistics();
+
+    TripPriceQuantilesDto getTripPriceQuantiles();
+
+    TripSummaryDto reconcileTripSummary();
+
+    /**
+     * Returns up to {@code limit} journaled changes following sequence number {@code afterSequence}.
+     */
+    List<TripChangeDto> getTripChanges(long afterSequence, int limit);
 }
@@ -1,108 +1,161 @@
 package com.tripmanagement.service;
 
+import com.tripmanagement.cache.TripCache;
+import com.tripmanagement.cache.TripQueryCoalescer;
+import com.tripmanagement.dto.CursorPageDto;
+import com.tripmanagement.dto.TripCacheStatsDto;
+import com.tripmanagement.dto.TripChangeDto;
 import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.dto.TripPriceQuantilesDto;
+import com.tripmanagement.dto.TripStatisticsDto;
 import com.tripmanagement.dto.TripSummaryDto;
 import com.tripmanagement.entity.Trip;
 import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.exception.InvalidTripRequestException;
 import com.tripmanagement.exception.TripAlreadyExistsException;
 import com.tripmanagement.exception.TripNotFoundException;
+import com.tripmanagement.exception.TripVersionMismatchException;
+import com.tripmanagement.index.TripOverlapIndex;
+import com.tripmanagement.index.TripSearchIndex;
+import com.tripmanagement.journal.TripChangeEvent;
+import com.tripmanagement.journal.TripJournal;
 import com.tripmanagement.mapper.TripMapper;
+import com.tripmanagement.pagination.TripKeyset;
+import com.tripmanagement.pagination.TripSort;
 import com.tripmanagement.repository.TripRepository;
 import com.tripmanagement.service.TripService;
+import com.tripmanagement.sharding.TripShardRouter;
+import com.tripmanagement.statistics.TripStatisticsEngine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
-import java.util.DoubleSummaryStatistics;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TripServiceImpl implements TripService {
 
+    private static final Pattern TRIP_ID_PATTERN = Pattern.compile("^\\d+$");
+    private static final int ID_LOOKUP_BATCH_SIZE = 1000;
+    private static final int MAX_CHANGES_PER_READ = 1000;
+
     private final TripRepository tripRepository;
     private final TripMapper tripMapper;
+    private final TripOverlapIndex tripOverlapIndex;
+    private final TripStatisticsEngine tripStatisticsEngine;
+    private final TripCache tripCache;
+    private final TripSearchIndex tripSearchIndex;
+    private final TripQueryCoalescer tripQueryCoalescer;
+    private final TripJournal tripJournal;
+    private final TripShardRouter tripShardRouter;
+    private final List<TripChangeListener> tripChangeListeners;
+
+    @Value("${trip.stream.fetch-size:500}")
+    private int streamFetchSize = 500;
+
+    @Value("${trip.page.max-size:1000}")
+    private int maxPageSize = 1000;
+
+    @Value("${trip.page.max-offset:10000}")
+    private long maxPageOffset = 10_000;
 
     @Override
     public TripDto saveTrip(TripDto tripDto) {
         Trip trip = tripMapper.mapTripDtoToTrip(tripDto);
-        List<Trip> existingTrips = tripRepository.findByDestinationContainingIgnoreCase(trip.getDestination());
-
-        for (Trip existingTrip : existingTrips) {
-            if (existingTrip.getDestination().equalsIgnoreCase(trip.getDestination()) &&
-                    ((trip.getStartDate().isBefore(existingTrip.getEndDate()) || trip.getStartDate().isEqual(existingTrip.getEndDate())) &&
-                            (trip.getEndDate().isAfter(existingTrip.getStartDate()) || trip.getEndDate().isEqual(existingTrip.getStartDate())))) {
-
-                throw new TripAlreadyExistsException(
-                        "Trip to " + trip.getDestination() + " with overlapping dates already exists",
-                        HttpStatus.CONFLICT
-                );
-            }
+        // Held until the listeners have put the trip in the index, or released if the insert fails
+        try (TripOverlapIndex.Reservation ignored = reserveNoOverlap(trip.getDestination(), trip.getStartDate(), trip.getEndDate(), 0)) {
+            Trip savedTrip = tripRepository.save(trip);
+            tripChangeListeners.forEach(listener -> listener.onTripSaved(savedTrip));
+            return tripMapper.mapTripToTripDto(savedTrip);
         }
-
-        Trip savedTrip = tripRepository.save(trip);
-        return tripMapper.mapTripToTripDto(savedTrip);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TripDto> getAllTrips() {
-        List<Trip> trips = tripRepository.findAll();
-
-        List<TripDto> tripDtos = trips
-                .stream()
-                .map(trip -> tripMapper.mapTripToTripDto(trip))
-                .toList();
+        return tripRepository.findAllTripDtos();
+    }
 
-        return tripDtos;
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllTrips(Consumer<TripDto> consumer) {
+        try (Stream<TripDto> tripDtos = tripRepository.streamTripDtos(streamFetchSize)) {
+            tripDtos.forEach(consumer);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<TripDto> getPaginatedTrips(int page, int size, String sort) {
-        Sort sorting = Sort.unsorted();
-        if(sort != null && !sort.isEmpty()) {
-            String[] sortParams = sort.split(",");
-            String sortField = sortParams[0];
-            Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")? Sort.Direction.DESC : Sort.Direction.ASC;
-            sorting = Sort.by(direction, sortField);
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new InvalidTripRequestException("page must be at least 0 and size between 1 and " + maxPageSize,
+                    HttpStatus.BAD_REQUEST);
+        }
+        // Checked before anything is read: a sharded repository asks every shard for offset + size rows
+        if (tripShardRouter.isSharded() && (long) page * size > maxPageOffset) {
+            throw new InvalidTripRequestException("page * size must be at most " + maxPageOffset
+                    + " with sharding, use the cursor endpoint for deeper pages", HttpStatus.BAD_REQUEST);
         }
+        Pageable pageable = PageRequest.of(page, size, TripSort.parse(sort).toSort());
+        return tripRepository.findTripDtos(pageable);
+    }
 
-        Pageable pageable = PageRequest.of(page,size,sorting);
-        Page<Trip> tripsPage = tripRepository.findAll(pageable);
-        return tripsPage.map(tripMapper::mapTripToTripDto);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<TripDto> getTripsByCursor(String cursor, int size, String sort, boolean withTotal) {
+        TripKeyset keyset = TripKeyset.parse(cursor, sort, size, maxPageSize);
+        Window<Trip> window = tripRepository.findAllBy(keyset.scrollPosition(), keyset.sort().toSort(), Limit.of(size));
+        return keyset.toPage(window, tripMapper::mapTripToTripDto, withTotal ? tripRepository.count() : null);
     }
 
     @Override
     public TripDto getTripById(String tripId) {
-        if (Pattern.matches("^\\d+$", tripId)) {
+        if (TRIP_ID_PATTERN.matcher(tripId).matches()) {
             int tripIdInt = Integer.parseInt(tripId);
-            Trip trip = tripRepository
-                    .findById(tripIdInt)
+            return tripCache
+                    .get(tripIdInt, tripRepository::findTripDtoById)
                     .orElseThrow(() -> new TripNotFoundException(
                             "Trip Not Found",
                             HttpStatus.valueOf(Integer.parseInt("400"))
                     ));
-
-            return tripMapper.mapTripToTripDto(trip);
         }else {
             throw new TripNotFoundException("Incorrect Trip Id", HttpStatus.valueOf(Integer.parseInt("400")));
         }
     }
 
     @Override
-    public TripDto updateTripById(int id, Trip trip) {
+    public TripCacheStatsDto getTripCacheStats() {
+        return tripCache.getStats();
+    }
+
+    @Override
+    @Transactional
+    public TripDto updateTripById(int id, Trip trip, Long expectedVersion) {
         Trip existingTrip = tripRepository
                 .findById(id)
                 .orElseThrow(() -> new TripNotFoundException(
                         "Trip with ID " + id + " not found",
                         HttpStatus.NOT_FOUND
                 ));
+        checkVersion(existingTrip, expectedVersion);
+        Trip previousTrip = tripMapper.copyTrip(existingTrip);
 
         if(trip.getDestination() != null && !trip.getDestination().isEmpty()) {
             existingTrip.setDestination(trip.getDestination());
@@ -119,81 +172,184 @@ public class TripServiceImpl implements TripService {
         if(trip.getStatus() != null) {
             existingTrip.setStatus(trip.getStatus());
         }
+        TripOverlapIndex.Reservation reservation =
+                reserveNoOverlap(existingTrip.getDestination(), existingTrip.getStartDate(), existingTrip.getEndDate(), id);
+        afterCompletion(reservation::release);
 
-        Trip updatedTrip = tripRepository.save(existingTrip);
+        // Flushed so the returned trip already carries the incremented version its ETag is built from
+        Trip updatedTrip = tripRepository.saveAndFlush(existingTrip);
+        afterCommit(() -> tripChangeListeners.forEach(listener -> listener.onTripUpdated(previousTrip, updatedTrip)));
         return tripMapper.mapTripToTripDto(updatedTrip);
     }
 
     @Override
-    public TripDto deleteTripById(int id) {
+    @Transactional
+    public TripDto deleteTripById(int id, Long expectedVersion) {
         Trip trip = tripRepository
                 .findById(id)
                 .orElseThrow(() -> new TripNotFoundException(
                         "Trip with ID "+ id + " not found",
                         HttpStatus.NOT_FOUND
         ));
+        checkVersion(trip, expectedVersion);
         TripDto tripDto = tripMapper.mapTripToTripDto(trip);
         tripRepository.delete(trip);
+        afterCommit(() -> tripChangeListeners.forEach(listener -> listener.onTripDeleted(trip)));
         return tripDto;
     }
 
+    // The coalesced reads below are deliberately not @Transactional: callers waiting on a
+    // query in flight must not hold a connection, so only the caller running it opens a
+    // transaction, the read-only one the repository's DTO queries declare.
+
     @Override
     public List<TripDto> getTripsByDestination(String destination) {
-        List<Trip> trips = tripRepository.findByDestinationContainingIgnoreCase(destination);
-        if(trips.isEmpty()){
-            throw new TripNotFoundException(
-                    "No trips found with destination " + destination,
-                    HttpStatus.NOT_FOUND
-            );
-        }
+        return tripQueryCoalescer.call("destination", destination, () -> {
+            List<TripDto> tripDtos = findAllByIdInOrder(tripSearchIndex.search(destination));
+            if(tripDtos.isEmpty()){
+                throw new TripNotFoundException(
+                        "No trips found with destination " + destination,
+                        HttpStatus.NOT_FOUND
+                );
+            }
 
-        return trips.stream()
-                .map(tripMapper::mapTripToTripDto)
-                .toList();
+            return tripDtos;
+        });
     }
 
     @Override
     public List<TripDto> getTripByStatus(TripStatus status) {
-        List<Trip> trip = tripRepository.findByStatus(status);
-        if(trip.isEmpty()){
-            throw new TripNotFoundException(
-                    "No trips found with status " + status,
-                    HttpStatus.NOT_FOUND
-            );
-        }
+        return tripQueryCoalescer.call("status", status, () -> {
+            List<TripDto> tripDtos = tripRepository.findTripDtosByStatus(status);
+            if(tripDtos.isEmpty()){
+                throw new TripNotFoundException(
+                        "No trips found with status " + status,
+                        HttpStatus.NOT_FOUND
+                );
+            }
 
-        return trip.stream()
-                .map(tripMapper::mapTripToTripDto)
-                .toList();
+            return tripDtos;
+        });
     }
 
     public List<TripDto> getTripsBetweenDates(String startDate, String endDate) {
         LocalDate start = LocalDate.parse(startDate);
         LocalDate end = LocalDate.parse(endDate);
-        List<Trip> trips = tripRepository.findByStartDateGreaterThanEqualAndEndDateLessThan(start, end);
-        return trips.stream()
-                .map(tripMapper::mapTripToTripDto)
-                .collect(Collectors.toList());
+        return tripQueryCoalescer.call("daterange", List.of(start, end),
+                () -> tripRepository.findTripDtosBetween(start, end));
     }
 
     public TripSummaryDto getTripSummary() {
-        List<Trip> allTrips = tripRepository.findAll();
-        TripSummaryDto tripSummary = new TripSummaryDto();
-        tripSummary.setTotalTrips(allTrips.size());
-
-        if(!allTrips.isEmpty()){
-            DoubleSummaryStatistics stats = allTrips.stream()
-                    .mapToDouble(Trip::getPrice)
-                    .summaryStatistics();
-
-            tripSummary.setMinPrice(stats.getMin());
-            tripSummary.setMaxPrice(stats.getMax());
-            tripSummary.setAveragePrice(stats.getAverage());
-        } else{
-            tripSummary.setMinPrice(0.0);
-            tripSummary.setMaxPrice(0.0);
-            tripSummary.setAveragePrice(0.0);
-        }
-        return tripSummary;
+        return tripStatisticsEngine.getSummary();
+    }
+
+    @Override
+    public TripStatisticsDto getTripStatistics() {
+        return tripStatisticsEngine.getStatistics();
+    }
+
+    @Override
+    public TripPriceQuantilesDto getTripPriceQuantiles() {
+        return tripStatisticsEngine.getQuantiles();
+    }
+
+    @Override
+    public TripSummaryDto reconcileTripSummary() {
+        tripStatisticsEngine.reconcile();
+        return tripStatisticsEngine.getSummary();
+    }
+
+    @Override
+    public List<TripChangeDto> getTripChanges(long afterSequence, int limit) {
+        if (!tripJournal.isEnabled()) {
+            throw new TripNotFoundException("Trip change journal is disabled", HttpStatus.NOT_FOUND);
+        }
+        if (afterSequence < 0 || limit < 1 || limit > MAX_CHANGES_PER_READ) {
+            throw new InvalidTripRequestException(
+                    "after must be at least 0 and limit between 1 and " + MAX_CHANGES_PER_READ, HttpStatus.BAD_REQUEST);
+        }
+        List<TripChangeEvent> events = tripJournal.read(afterSequence, limit);
+        // Sequences have no gaps, so anything but after + 1 first means compaction got there first
+        boolean compacted = events.isEmpty()
+                ? afterSequence + 1 < tripJournal.firstSequence() && afterSequence < tripJournal.lastSequence()
+                : events.get(0).sequence() != afterSequence + 1;
+        if (compacted) {
+            throw new InvalidTripRequestException(
+                    "Changes after sequence " + afterSequence + " were compacted, reload all trips and continue from "
+                            + tripJournal.lastSequence(), HttpStatus.GONE);
+        }
+        return events.stream()
+                .map(event -> new TripChangeDto(event.sequence(), event.type(), tripMapper.mapTripToTripDto(event.trip())))
+                .toList();
+    }
+
+    /**
+     * Loads trips by primary key in bounded IN batches, keeping the order of {@code tripIds}.
+     */
+    private List<TripDto> findAllByIdInOrder(List<Integer> tripIds) {
+        List<TripDto> tripDtos = new ArrayList<>(tripIds.size());
+        for (int from = 0; from < tripIds.size(); from += ID_LOOKUP_BATCH_SIZE) {
+            List<Integer> batch = tripIds.subList(from, Math.min(from + ID_LOOKUP_BATCH_SIZE, tripIds.size()));
+            Map<Integer, TripDto> tripDtosById = new HashMap<>();
+            tripRepository.findTripDtosByIdIn(batch).forEach(tripDto -> tripDtosById.put(tripDto.getId(), tripDto));
+            for (Integer tripId : batch) {
+                TripDto tripDto = tripDtosById.get(tripId);
+                if (tripDto != null) {
+                    tripDtos.add(tripDto);
+                }
+            }
+        }
+        return tripDtos;
+    }
+
+    /**
+     * Runs {@code action} once the current transaction commits, so listeners never see a
+     * change that is rolled back, or right away when there is no transaction.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs {@code action} once the current transaction has committed, after the
+     * {@link #afterCommit} actions, or rolled back; right away when there is no transaction.
+     */
+    private static void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    private static void checkVersion(Trip trip, Long expectedVersion) {
+        if (expectedVersion != null && trip.getVersion() != expectedVersion) {
+            throw new TripVersionMismatchException(
+                    "Trip with ID " + trip.getId() + " is at version " + trip.getVersion() + ", not " + expectedVersion,
+                    HttpStatus.PRECONDITION_FAILED
+            );
+        }
+    }
+
+    private TripOverlapIndex.Reservation reserveNoOverlap(String destination, LocalDate startDate, LocalDate endDate, int excludeId) {
+        return tripOverlapIndex.reserve(destination, startDate, endDate, excludeId)
+                .orElseThrow(() -> new TripAlreadyExistsException(
+                        "Trip to " + destination + " with overlapping dates already exists",
+                        HttpStatus.CONFLICT
+                ));
     }
 }
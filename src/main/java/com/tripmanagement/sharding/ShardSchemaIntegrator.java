@@ -0,0 +1,48 @@
+package com.tripmanagement.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.DelayedDropAction;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Applies Hibernate's schema management ({@code spring.jpa.hibernate.ddl-auto}) to shards 1
+ * and up the way Hibernate applies it to shard 0, the one it connects to on its own. With
+ * {@code create-drop} the shards' tables are dropped when the session factory closes.
+ */
+public class ShardSchemaIntegrator implements Integrator {
+
+    private final int shardCount;
+    private final List<Runnable> dropActions = new ArrayList<>();
+
+    public ShardSchemaIntegrator(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        ServiceRegistry serviceRegistry = sessionFactory.getServiceRegistry();
+        for (int shard = 1; shard < shardCount; shard++) {
+            int target = shard;
+            TripShardContext.run(target, () -> SchemaManagementToolCoordinator.process(metadata, serviceRegistry,
+                    new HashMap<>(serviceRegistry.requireService(ConfigurationService.class).getSettings()),
+                    (DelayedDropAction dropAction) -> dropActions.add(
+                            () -> TripShardContext.run(target, () -> dropAction.perform(serviceRegistry)))));
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        dropActions.forEach(Runnable::run);
+        dropActions.clear();
+    }
+}
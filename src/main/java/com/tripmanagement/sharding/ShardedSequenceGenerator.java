@@ -0,0 +1,74 @@
+package com.tripmanagement.sharding;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * {@link SequenceStyleGenerator} that, with {@value #SHARD_COUNT_SETTING} set, draws from the
+ * sequence of the shard in {@link TripShardContext} and returns
+ * {@code value * TripShardRouter.MAX_SHARDS + shard}. Every shard has its own sequence and
+ * its own pooled optimizer, so ids are unique across shards without any coordination
+ * between them. Unsharded, ids are exactly those of a plain sequence generator.
+ */
+public class ShardedSequenceGenerator extends SequenceStyleGenerator implements AnnotationBasedGenerator<ShardedSequence> {
+
+    /**
+     * Hibernate setting with the number of shards, set by the sharding configuration.
+     */
+    public static final String SHARD_COUNT_SETTING = "trip.sharding.shard-count";
+
+    private String sequenceName;
+    private int allocationSize;
+    private Optimizer[] shardOptimizers;
+
+    @Override
+    public void initialize(ShardedSequence config, Member member, GeneratorCreationContext context) {
+        this.sequenceName = config.sequenceName();
+        this.allocationSize = config.allocationSize();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.put(SEQUENCE_PARAM, sequenceName);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        super.configure(type, parameters, serviceRegistry);
+
+        int shardCount = ConfigurationHelper.getInt(SHARD_COUNT_SETTING,
+                serviceRegistry.requireService(ConfigurationService.class).getSettings(), 0);
+        if (shardCount > 1) {
+            shardOptimizers = new Optimizer[shardCount];
+            for (int shard = 0; shard < shardCount; shard++) {
+                shardOptimizers[shard] = OptimizerFactory.buildOptimizer(
+                        determineOptimizationStrategy(parameters, allocationSize), Long.class,
+                        getOptimizer().getIncrementSize(), ConfigurationHelper.getInt(INITIAL_PARAM, parameters, -1));
+            }
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (shardOptimizers == null) {
+            return super.generate(session, object);
+        }
+        int shard = TripShardContext.currentOrDefault();
+        long value = ((Number) shardOptimizers[shard].generate(getDatabaseStructure().buildCallback(session))).longValue();
+        long id = value * TripShardRouter.MAX_SHARDS + shard;
+        if (id > Integer.MAX_VALUE) {
+            throw new IdentifierGenerationException("Sequence " + sequenceName + " on shard " + shard + " ran out of ids");
+        }
+        return (int) id;
+    }
+}
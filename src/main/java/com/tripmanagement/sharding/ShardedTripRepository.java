@@ -0,0 +1,434 @@
+package com.tripmanagement.sharding;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.dto.TripFingerprintDto;
+import com.tripmanagement.dto.TripSummaryDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.repository.TripRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link TripRepository} over every shard, wrapping the Spring Data repository, which sees
+ * whichever shard {@link TripShardContext} points at.
+ * <ul>
+ *     <li>Writes and lookups by id run on the calling thread against the one shard the trip
+ *     lives on, and keep the surrounding transaction on it.</li>
+ *     <li>Lookups by several ids and status updates run once per shard holding any of them.
+ *     {@code updateStatus} commits each shard on its own; it only moves trips still in the
+ *     old status, so repeating it after a partial failure is harmless.</li>
+ *     <li>Everything else scatters to all shards in parallel, each leg in a transaction of
+ *     its own on the scatter executor, and gathers: lists merge by id, counts and summaries
+ *     add up, pages and keyset windows merge on their sort. An offset page needs the first
+ *     {@code offset + size} rows of every shard, so deep pages cost more than cursor ones.</li>
+ * </ul>
+ * Inside {@link TripShardContext#call} every method runs on that shard alone, which is how
+ * callers that lock and update in one transaction, like the lifecycle engine, go shard by shard.
+ * Methods not listed here are not supported across shards.
+ */
+public class ShardedTripRepository implements MethodInterceptor {
+
+    private final TripRepository target;
+    private final TripShardRouter router;
+    private final Executor executor;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    private ShardedTripRepository(TripRepository target, TripShardRouter router,
+                                  PlatformTransactionManager transactionManager, Executor executor) {
+        this.target = target;
+        this.router = router;
+        this.executor = executor;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public static TripRepository create(TripRepository target, TripShardRouter router,
+                                        PlatformTransactionManager transactionManager, Executor executor) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setInterfaces(TripRepository.class);
+        proxyFactory.addAdvice(new ShardedTripRepository(target, router, transactionManager, executor));
+        return (TripRepository) proxyFactory.getProxy(ShardedTripRepository.class.getClassLoader());
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Object[] args = invocation.getArguments();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        switch (method.getName()) {
+            case "save", "saveAndFlush", "delete":
+                return onShard(router.shardOf((Trip) args[0]), method, args);
+            case "findById", "existsById", "deleteById", "findTripDtoById":
+                int shard = router.shardOfId((Integer) args[0]);
+                return shard < 0 ? notFound(method) : onShard(shard, method, args);
+            case "saveAll":
+                return saveAll(method, args);
+            case "flush":
+                return invoke(method, args);
+            default:
+                if (TripShardContext.current() != null) {
+                    return invoke(method, args);
+                }
+        }
+        return switch (method.getName()) {
+            case "findTripDtosByIdIn" -> byIds(method, args, readTransaction).stream().flatMap(ids -> ((List<?>) ids).stream()).toList();
+            case "updateStatus" -> byIds(method, args, writeTransaction).stream().mapToInt(Integer.class::cast).sum();
+            case "findAllTripDtos", "findTripDtosByStatus", "findTripDtosBetween" ->
+                    mergeById(scatter(readTransaction, leg -> invoke(method, args)), Integer.MAX_VALUE);
+            case "findAll" -> {
+                requireNoArguments(method);
+                yield mergeById(scatter(readTransaction, leg -> invoke(method, args)), Integer.MAX_VALUE);
+            }
+            case "findByIdGreaterThanOrderByIdAsc", "findTripDtosAfter" ->
+                    mergeById(scatter(readTransaction, leg -> invoke(method, args)), ((Limit) args[1]).max());
+            // Locking reads: their legs need read-write transactions
+            case "findEndedBefore", "findInProgressOn" ->
+                    mergeById(scatter(writeTransaction, leg -> invoke(method, args)), ((Limit) args[3]).max());
+            case "count" -> {
+                requireNoArguments(method);
+                yield scatter(readTransaction, leg -> invoke(method, args)).stream().mapToLong(Long.class::cast).sum();
+            }
+            case "summarizeTrips" -> summarize(scatter(readTransaction, leg -> (TripSummaryDto) invoke(method, args)));
+            case "fingerprintTrips" -> scatter(readTransaction, leg -> (TripFingerprintDto) invoke(method, args)).stream()
+                    .reduce(new TripFingerprintDto(0, 0, 0), (a, b) -> new TripFingerprintDto(a.getTotalTrips() + b.getTotalTrips(),
+                            a.getVersionSum() + b.getVersionSum(), Math.max(a.getMaxId(), b.getMaxId())));
+            case "findTripDtos" -> page(method, (Pageable) args[0]);
+            case "findAllBy" -> window(method, args);
+            case "forEachTrip" -> {
+                // Shard after shard, so the action is never called concurrently
+                router.shards().forEach(leg -> onEachShard(List.of(leg), readTransaction, ignored -> invoke(method, args)));
+                yield null;
+            }
+            case "streamTripDtos" -> streamTripDtos((int) args[0]);
+            default -> throw new UnsupportedOperationException(
+                    "TripRepository." + method.getName() + " is not supported across shards");
+        };
+    }
+
+    /**
+     * Runs on the calling thread against {@code shard}, keeping any surrounding transaction
+     * on it.
+     */
+    private Object onShard(int shard, Method method, Object[] args) {
+        TripShardContext.bindToTransaction(shard);
+        return TripShardContext.call(shard, () -> invoke(method, args));
+    }
+
+    /**
+     * Saves trips for one shard as one call; trips for several shards are saved shard by
+     * shard, which can't be atomic, so that is refused inside a transaction.
+     */
+    @SuppressWarnings("unchecked")
+    private Object saveAll(Method method, Object[] args) {
+        List<Trip> trips = new ArrayList<>();
+        ((Iterable<Trip>) args[0]).forEach(trips::add);
+        Map<Integer, List<Integer>> positionsByShard = new LinkedHashMap<>();
+        for (int i = 0; i < trips.size(); i++) {
+            positionsByShard.computeIfAbsent(router.shardOf(trips.get(i)), key -> new ArrayList<>()).add(i);
+        }
+        if (positionsByShard.size() <= 1) {
+            int shard = positionsByShard.isEmpty() ? TripShardContext.currentOrDefault() : positionsByShard.keySet().iterator().next();
+            return onShard(shard, method, args);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive() || TripShardContext.current() != null) {
+            throw new IllegalStateException("saveAll spans shards " + positionsByShard.keySet()
+                    + ", save each shard's trips in a transaction of its own");
+        }
+        List<Object> saved = new ArrayList<>(trips);
+        positionsByShard.forEach((shard, positions) -> {
+            List<Object> savedOnShard = (List<Object>) onShard(shard, method,
+                    new Object[]{positions.stream().map(trips::get).toList()});
+            for (int i = 0; i < positions.size(); i++) {
+                saved.set(positions.get(i), savedOnShard.get(i));
+            }
+        });
+        return saved;
+    }
+
+    /**
+     * Calls {@code method} on each shard holding any of the ids in its first argument, with
+     * only that shard's ids.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> byIds(Method method, Object[] args, TransactionTemplate transaction) {
+        Map<Integer, List<Integer>> idsByShard = new LinkedHashMap<>();
+        for (Integer id : (Collection<Integer>) args[0]) {
+            int shard = router.shardOfId(id);
+            if (shard >= 0) {
+                idsByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(id);
+            }
+        }
+        return onEachShard(idsByShard.keySet(), transaction, shard -> {
+            Object[] shardArgs = args.clone();
+            shardArgs[0] = idsByShard.get(shard);
+            return (T) invoke(method, shardArgs);
+        });
+    }
+
+    private <T> List<T> scatter(TransactionTemplate transaction, IntFunction<T> leg) {
+        return onEachShard(router.shards().boxed().toList(), transaction, leg);
+    }
+
+    /**
+     * Runs {@code leg} for every shard in parallel on the scatter executor, each in a
+     * transaction of its own, and returns the results in shard order.
+     */
+    private <T> List<T> onEachShard(Collection<Integer> shards, TransactionTemplate transaction, IntFunction<T> leg) {
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> TripShardContext.call(shard,
+                        () -> transaction.execute(status -> leg.apply(shard))), executor))
+                .toList();
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    private Object page(Method method, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            throw new UnsupportedOperationException("Unpaged TripRepository.findTripDtos is not supported across shards");
+        }
+        // Any row of the requested page is among the first offset + size rows of its shard
+        Pageable shardPageable = PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), pageable.getSort());
+        List<Page<?>> pages = scatter(readTransaction, leg -> (Page<?>) invoke(method, new Object[]{shardPageable}));
+        List<Object> content = pages.stream()
+                .flatMap(page -> page.getContent().stream())
+                .sorted(comparator(pageable.getSort()))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(Object.class::cast)
+                .toList();
+        return new PageImpl<>(content, pageable, pages.stream().mapToLong(Page::getTotalElements).sum());
+    }
+
+    /**
+     * Merges every shard's window of up to {@code limit} rows past the position and keeps
+     * the {@code limit} closest to it: the first ones scrolling forward, the last backward.
+     */
+    @SuppressWarnings("unchecked")
+    private Window<Trip> window(Method method, Object[] args) {
+        int n = args.length;
+        if (!(args[n - 3] instanceof KeysetScrollPosition position)) {
+            throw new UnsupportedOperationException("Only keyset scrolling is supported across shards");
+        }
+        Sort sort = (Sort) args[n - 2];
+        Limit limit = (Limit) args[n - 1];
+        List<Window<Trip>> windows = scatter(readTransaction, leg -> (Window<Trip>) invoke(method, args));
+        List<Trip> merged = windows.stream()
+                .flatMap(window -> window.getContent().stream())
+                .sorted(comparator(sort))
+                .toList();
+        int max = limit.isLimited() ? limit.max() : merged.size();
+        List<Trip> content = position.scrollsBackward()
+                ? merged.subList(Math.max(0, merged.size() - max), merged.size())
+                : merged.subList(0, Math.min(max, merged.size()));
+        boolean hasNext = merged.size() > max || windows.stream().anyMatch(Window::hasNext);
+        return Window.from(content, index -> ScrollPosition.forward(keys(content.get(index), sort)), hasNext);
+    }
+
+    /**
+     * Trips of every shard in id order, read a page of {@code fetchSize} per shard at a time,
+     * so memory stays bounded by {@code fetchSize} rows per shard.
+     */
+    private Stream<TripDto> streamTripDtos(int fetchSize) {
+        List<ShardCursor> cursors = router.shards().mapToObj(shard -> new ShardCursor(shard, fetchSize)).toList();
+        Iterator<TripDto> iterator = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return cursors.stream().anyMatch(cursor -> cursor.peek() != null);
+            }
+
+            @Override
+            public TripDto next() {
+                return cursors.stream()
+                        .filter(cursor -> cursor.peek() != null)
+                        .min(Comparator.comparingInt(cursor -> cursor.peek().getId()))
+                        .orElseThrow(NoSuchElementException::new)
+                        .poll();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private final class ShardCursor {
+        private final int shard;
+        private final int fetchSize;
+        private final Deque<TripDto> buffer = new ArrayDeque<>();
+        private int lastId;
+        private boolean exhausted;
+
+        private ShardCursor(int shard, int fetchSize) {
+            this.shard = shard;
+            this.fetchSize = fetchSize;
+        }
+
+        TripDto peek() {
+            if (buffer.isEmpty() && !exhausted) {
+                List<TripDto> page = onEachShard(List.of(shard), readTransaction,
+                        leg -> target.findTripDtosAfter(lastId, Limit.of(fetchSize))).get(0);
+                buffer.addAll(page);
+                exhausted = page.size() < fetchSize;
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).getId();
+                }
+            }
+            return buffer.peek();
+        }
+
+        TripDto poll() {
+            return buffer.poll();
+        }
+    }
+
+    private Object invoke(Method method, Object[] args) {
+        try {
+            return AopUtils.invokeJoinpointUsingReflection(target, method, args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    private static Object notFound(Method method) {
+        return switch (method.getName()) {
+            case "existsById" -> false;
+            case "deleteById" -> null;
+            default -> Optional.empty();
+        };
+    }
+
+    private static void requireNoArguments(Method method) {
+        if (method.getParameterCount() > 0) {
+            throw new UnsupportedOperationException("TripRepository." + method.getName() + "("
+                    + method.getParameterTypes()[0].getSimpleName() + ", ...) is not supported across shards");
+        }
+    }
+
+    private static List<Object> mergeById(List<?> results, int limit) {
+        return results.stream()
+                .flatMap(result -> ((List<?>) result).stream())
+                .sorted(Comparator.comparingInt(ShardedTripRepository::idOf))
+                .limit(limit)
+                .map(Object.class::cast)
+                .toList();
+    }
+
+    private static TripSummaryDto summarize(List<TripSummaryDto> summaries) {
+        long totalTrips = summaries.stream().mapToLong(TripSummaryDto::getTotalTrips).sum();
+        if (totalTrips == 0) {
+            return new TripSummaryDto(0, 0.0, 0.0, 0.0);
+        }
+        List<TripSummaryDto> nonEmpty = summaries.stream().filter(summary -> summary.getTotalTrips() > 0).toList();
+        return new TripSummaryDto(totalTrips,
+                nonEmpty.stream().mapToDouble(TripSummaryDto::getMinPrice).min().orElseThrow(),
+                nonEmpty.stream().mapToDouble(TripSummaryDto::getMaxPrice).max().orElseThrow(),
+                nonEmpty.stream().mapToDouble(summary -> summary.getAveragePrice() * summary.getTotalTrips()).sum() / totalTrips);
+    }
+
+    /**
+     * Orders rows like the shards' ORDER BY for {@code sort}, then by id. Strings compare by
+     * code point, like the binary collation the V5 migration gives the destination column.
+     */
+    private static Comparator<Object> comparator(Sort sort) {
+        Comparator<Object> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Object> byProperty = (a, b) -> compareValues(property(a, order.getProperty()), property(b, order.getProperty()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator.thenComparingInt(ShardedTripRepository::idOf);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b) {
+        if (a instanceof String first && b instanceof String second) {
+            return compareCodePoints(first, second);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    /**
+     * Unlike {@link String#compareTo}, which compares UTF-16 units, puts characters outside the
+     * Basic Multilingual Plane after all others, as a binary collation over utf8mb4 does.
+     */
+    static int compareCodePoints(String first, String second) {
+        int i = 0;
+        int j = 0;
+        while (i < first.length() && j < second.length()) {
+            int a = first.codePointAt(i);
+            int b = second.codePointAt(j);
+            if (a != b) {
+                return Integer.compare(a, b);
+            }
+            i += Character.charCount(a);
+            j += Character.charCount(b);
+        }
+        return Integer.compare(first.length() - i, second.length() - j);
+    }
+
+    private static Map<String, Object> keys(Object row, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            keys.put(order.getProperty(), property(row, order.getProperty()));
+        }
+        keys.putIfAbsent("id", idOf(row));
+        return keys;
+    }
+
+    private static Object property(Object row, String property) {
+        return PropertyAccessorFactory.forBeanPropertyAccess(row).getPropertyValue(property);
+    }
+
+    private static int idOf(Object row) {
+        return row instanceof Trip trip ? trip.getId() : ((TripDto) row).getId();
+    }
+}
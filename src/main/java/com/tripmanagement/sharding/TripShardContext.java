@@ -0,0 +1,86 @@
+package com.tripmanagement.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread works against. {@link ShardedSequenceGenerator} numbers new
+ * trips for it, the routing DataSource hands out its connections, and while it is set every
+ * {@code TripRepository} call runs on that shard alone. Unset means shard 0.
+ * <p>
+ * A transaction that touches a shard stays on it until it completes: a connection, once
+ * taken, can't move, so work on another shard inside the same transaction is refused rather
+ * than silently sent to the wrong database.
+ */
+public final class TripShardContext {
+
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+    private TripShardContext() {
+    }
+
+    /**
+     * The shard set on this thread, or null.
+     */
+    public static Integer current() {
+        return SHARD.get();
+    }
+
+    public static int currentOrDefault() {
+        Integer shard = SHARD.get();
+        return shard == null ? 0 : shard;
+    }
+
+    /**
+     * Runs {@code action} on {@code shard}.
+     *
+     * @throws IllegalStateException if this thread is already working on another shard
+     */
+    public static <T> T call(int shard, Supplier<T> action) {
+        Integer previous = SHARD.get();
+        checkSameShard(previous, shard);
+        SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                SHARD.remove();
+            }
+        }
+    }
+
+    public static void run(int shard, Runnable action) {
+        call(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Keeps this thread on {@code shard} until the current transaction completes. Does
+     * nothing outside a transaction.
+     */
+    static void bindToTransaction(int shard) {
+        Integer previous = SHARD.get();
+        checkSameShard(previous, shard);
+        if (previous != null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        SHARD.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                SHARD.remove();
+            }
+        });
+    }
+
+    private static void checkSameShard(Integer current, int shard) {
+        if (current != null && current != shard) {
+            throw new IllegalStateException("Already working on shard " + current + ", can't switch to shard " + shard
+                    + " in the same transaction");
+        }
+    }
+}
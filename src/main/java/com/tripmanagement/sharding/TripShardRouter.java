@@ -0,0 +1,95 @@
+package com.tripmanagement.sharding;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.index.TripOverlapIndex;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+/**
+ * Decides which shard a trip lives on. A new trip goes to the shard its normalized
+ * destination hashes to, so every trip to a destination shares a shard; from then on the
+ * trip is found through its id, whose low bits {@link ShardedSequenceGenerator} sets to
+ * the shard number. Ids therefore stay valid however shards are added later, and a trip
+ * whose destination is changed stays where it was created.
+ * <p>
+ * Destinations are placed with jump consistent hashing (Lamping and Veach), which moves
+ * only about 1/n of the destinations when an n-th shard is added.
+ */
+public class TripShardRouter {
+
+    /**
+     * Upper bound on the shard count, fixed because it is encoded in every id: ids are
+     * {@code sequence * MAX_SHARDS + shard}, which leaves each shard about 67 million ids.
+     */
+    public static final int MAX_SHARDS = 32;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int shardCount;
+
+    public TripShardRouter(int shardCount) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalStateException("Between 1 and " + MAX_SHARDS + " trip shards are supported, got " + shardCount);
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public IntStream shards() {
+        return IntStream.range(0, shardCount);
+    }
+
+    /**
+     * The shard of a trip: the one encoded in its id once it has one, else its destination's.
+     */
+    public int shardOf(Trip trip) {
+        return trip.getId() != 0 ? shardOfId(trip.getId()) : shardOf(trip.getDestination());
+    }
+
+    public int shardOf(String destination) {
+        if (!isSharded()) {
+            return 0;
+        }
+        return jumpConsistentHash(fnv1a(TripOverlapIndex.normalize(destination)), shardCount);
+    }
+
+    /**
+     * The shard encoded in {@code id}, or -1 for an id no shard can have issued.
+     */
+    public int shardOfId(int id) {
+        if (!isSharded()) {
+            return 0;
+        }
+        int shard = Math.floorMod(id, MAX_SHARDS);
+        return shard < shardCount ? shard : -1;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    static int jumpConsistentHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
@@ -0,0 +1,80 @@
+package com.tripmanagement.statistics;
+
+import com.tripmanagement.dto.TripQuantilesDto;
+import com.tripmanagement.dto.TripSummaryDto;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running count/sum of trip prices plus a price multiset, so min and max stay exact
+ * when trips are removed, and a {@link PriceSketch} for quantiles. Not thread-safe;
+ * {@link TripStatisticsEngine} guards access.
+ */
+class PriceAggregate {
+
+    private final TreeMap<Double, Integer> prices = new TreeMap<>();
+    private final PriceSketch sketch = new PriceSketch();
+    private long count;
+    private double sum;
+
+    void add(double price) {
+        prices.merge(price, 1, Integer::sum);
+        sketch.add(price);
+        count++;
+        sum += price;
+    }
+
+    void remove(double price) {
+        Integer occurrences = prices.get(price);
+        if (occurrences == null) {
+            return;
+        }
+        if (occurrences == 1) {
+            prices.remove(price);
+        } else {
+            prices.put(price, occurrences - 1);
+        }
+        sketch.remove(price);
+        count--;
+        sum -= price;
+    }
+
+    void clear() {
+        prices.clear();
+        sketch.clear();
+        count = 0;
+        sum = 0;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    TripSummaryDto toSummary() {
+        if (count == 0) {
+            return new TripSummaryDto(0, 0.0, 0.0, 0.0);
+        }
+        Map.Entry<Double, Integer> min = prices.firstEntry();
+        Map.Entry<Double, Integer> max = prices.lastEntry();
+        return new TripSummaryDto(count, min.getKey(), max.getKey(), sum / count);
+    }
+
+    /**
+     * Median, p90 and p99 from the sketch, clamped to the exact min and max so the bucket
+     * midpoint never reports a price outside the range actually seen.
+     */
+    TripQuantilesDto toQuantiles() {
+        if (count == 0) {
+            return new TripQuantilesDto(0, 0.0, 0.0, 0.0);
+        }
+        double min = prices.firstKey();
+        double max = prices.lastKey();
+        return new TripQuantilesDto(count, clamp(sketch.quantile(0.5), min, max),
+                clamp(sketch.quantile(0.9), min, max), clamp(sketch.quantile(0.99), min, max));
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
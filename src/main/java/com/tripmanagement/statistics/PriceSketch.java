@@ -0,0 +1,126 @@
+package com.tripmanagement.statistics;
+
+import java.util.Arrays;
+
+/**
+ * Quantile sketch with a relative error guarantee, after DDSketch: prices fall into
+ * logarithmic buckets {@code (gamma^(i-1), gamma^i]} with {@code gamma = (1 + a) / (1 - a)},
+ * and a quantile is answered with the midpoint of the bucket holding that rank. Whatever
+ * the distribution, the answer is within {@link #RELATIVE_ACCURACY} of the exact quantile.
+ * <p>
+ * Buckets only hold counts, so unlike KLL or t-digest a price can be removed again exactly,
+ * and two sketches merge by adding counts. Memory grows with the log of the price range
+ * (about 460 buckets from 1 to 10,000), not with the number of trips. Prices too small to
+ * index are counted as zero. Not thread-safe; callers guard access.
+ */
+public class PriceSketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final double MIN_INDEXABLE = 1e-6;
+
+    private int[] counts = new int[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+
+    public void add(double price) {
+        if (price < MIN_INDEXABLE) {
+            zeroCount++;
+        } else {
+            int index = index(price);
+            ensureCovers(index);
+            counts[index - offset]++;
+        }
+        count++;
+    }
+
+    public void remove(double price) {
+        if (price < MIN_INDEXABLE) {
+            if (zeroCount == 0) {
+                return;
+            }
+            zeroCount--;
+        } else {
+            int slot = index(price) - offset;
+            if (slot < 0 || slot >= counts.length || counts[slot] == 0) {
+                return;
+            }
+            counts[slot]--;
+        }
+        count--;
+    }
+
+    public void merge(PriceSketch other) {
+        if (other.counts.length > 0) {
+            ensureCovers(other.offset);
+            ensureCovers(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    public void clear() {
+        counts = new int[0];
+        offset = 0;
+        zeroCount = 0;
+        count = 0;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Price at rank {@code floor(q * (count - 1))} in ascending order, within
+     * {@link #RELATIVE_ACCURACY} of the exact value. NaN when empty.
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (seen > rank) {
+            return 0.0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return 2 * Math.pow(GAMMA, i + offset) / (GAMMA + 1);
+            }
+        }
+        throw new IllegalStateException("Sketch counts do not add up to " + count);
+    }
+
+    /**
+     * Approximate heap footprint: the bucket array plus the object itself.
+     */
+    public long sizeInBytes() {
+        return 16 + 4L * counts.length + 40;
+    }
+
+    private static int index(double price) {
+        return (int) Math.ceil(Math.log(price) / LOG_GAMMA);
+    }
+
+    private void ensureCovers(int index) {
+        if (counts.length == 0) {
+            counts = new int[8];
+            offset = index - 4;
+        } else if (index < offset) {
+            int grow = Math.max(offset - index, counts.length / 2);
+            int[] grown = new int[counts.length + grow];
+            System.arraycopy(counts, 0, grown, grow, counts.length);
+            counts = grown;
+            offset -= grow;
+        } else if (index >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index - offset + 1, counts.length + counts.length / 2));
+        }
+    }
+}
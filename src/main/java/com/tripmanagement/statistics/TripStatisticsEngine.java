@@ -0,0 +1,298 @@
+package com.tripmanagement.statistics;
+
+import com.tripmanagement.dto.TripPriceQuantilesDto;
+import com.tripmanagement.dto.TripQuantilesDto;
+import com.tripmanagement.dto.TripStatisticsDto;
+import com.tripmanagement.dto.TripSummaryDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.index.TripOverlapIndex;
+import com.tripmanagement.journal.TripJournal;
+import com.tripmanagement.repository.TripRepository;
+import com.tripmanagement.service.TripChangeListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Keeps trip price aggregates (overall, per status and per destination) up to date from
+ * service mutations so the summary endpoint never has to scan the trips table. Each
+ * aggregate carries a {@link PriceSketch}, so price quantiles come without a sort either.
+ * A scheduled reconciliation compares the running totals with a DB-side aggregate and
+ * rebuilds on drift.
+ * <p>
+ * Every trip's contribution is kept by id and version, so a change is counted once however
+ * often it arrives: a notification that comes after a rebuild already read the change, or
+ * after a newer change to the same trip, is ignored.
+ * <p>
+ * Rebuilds read the table into fresh aggregates without holding the lock that mutations
+ * take, and swap them in at the end together with the changes notified meanwhile, so request
+ * threads never wait for a table scan.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripStatisticsEngine implements TripChangeListener, SmartInitializingSingleton {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private final TripRepository tripRepository;
+    private final TripJournal tripJournal;
+
+    /**
+     * Guards {@link #aggregates} and {@link #pendingChanges}; held only for in-memory work.
+     */
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Lets one rebuild run at a time.
+     */
+    private final Lock rebuildLock = new ReentrantLock();
+
+    private Aggregates aggregates = new Aggregates();
+
+    /**
+     * Changes notified while a rebuild is reading the table, replayed onto its result; null
+     * when no rebuild is running.
+     */
+    private List<Consumer<Aggregates>> pendingChanges;
+
+    private volatile TripSummaryDto summary = new TripSummaryDto(0, 0.0, 0.0, 0.0);
+
+    @Value("${trip.statistics.rebuild-batch-size:1000}")
+    private int rebuildBatchSize = 1000;
+
+    /**
+     * What a trip currently adds to the aggregates.
+     */
+    private record Contribution(double price, TripStatus status, String destination, long version) {
+
+        static Contribution of(Trip trip) {
+            return new Contribution(trip.getPrice(), trip.getStatus(), TripOverlapIndex.normalize(trip.getDestination()),
+                    trip.getVersion());
+        }
+    }
+
+    /**
+     * Price aggregates overall, per status and per destination, and what each trip adds to them.
+     */
+    private static final class Aggregates {
+
+        private final PriceAggregate overall = new PriceAggregate();
+        private final Map<TripStatus, PriceAggregate> byStatus = new EnumMap<>(TripStatus.class);
+        private final Map<String, PriceAggregate> byDestination = new HashMap<>();
+        private final Map<Integer, Contribution> contributions = new HashMap<>();
+
+        /**
+         * Counts the trip as it is now, replacing an older version of it; a version already
+         * counted, or an older one, changes nothing.
+         */
+        void put(Trip trip) {
+            Contribution current = contributions.get(trip.getId());
+            if (current != null) {
+                if (current.version() >= trip.getVersion()) {
+                    return;
+                }
+                subtract(current);
+            }
+            Contribution contribution = Contribution.of(trip);
+            contributions.put(trip.getId(), contribution);
+            overall.add(contribution.price());
+            byStatus.computeIfAbsent(contribution.status(), status -> new PriceAggregate()).add(contribution.price());
+            byDestination.computeIfAbsent(contribution.destination(), destination -> new PriceAggregate()).add(contribution.price());
+        }
+
+        /**
+         * Stops counting the trip, unless what is counted is newer than the deleted version.
+         */
+        void remove(Trip trip) {
+            Contribution current = contributions.get(trip.getId());
+            if (current == null || current.version() > trip.getVersion()) {
+                return;
+            }
+            contributions.remove(trip.getId());
+            subtract(current);
+        }
+
+        private void subtract(Contribution contribution) {
+            overall.remove(contribution.price());
+            removeFrom(byStatus, contribution.status(), contribution.price());
+            removeFrom(byDestination, contribution.destination(), contribution.price());
+        }
+
+        private static <K> void removeFrom(Map<K, PriceAggregate> aggregates, K key, double price) {
+            PriceAggregate aggregate = aggregates.get(key);
+            if (aggregate == null) {
+                return;
+            }
+            aggregate.remove(price);
+            if (aggregate.isEmpty()) {
+                aggregates.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load(tripJournal::forEachTrip);
+    }
+
+    /**
+     * Current overall summary; a volatile read of the snapshot taken after the last mutation.
+     */
+    public TripSummaryDto getSummary() {
+        return summary;
+    }
+
+    public TripStatisticsDto getStatistics() {
+        lock.lock();
+        try {
+            Map<TripStatus, TripSummaryDto> statusSummaries = new EnumMap<>(TripStatus.class);
+            aggregates.byStatus.forEach((status, aggregate) -> statusSummaries.put(status, aggregate.toSummary()));
+            Map<String, TripSummaryDto> destinationSummaries = new LinkedHashMap<>();
+            new TreeMap<>(aggregates.byDestination).forEach((destination, aggregate) -> destinationSummaries.put(destination, aggregate.toSummary()));
+            return new TripStatisticsDto(summary, statusSummaries, destinationSummaries);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Median, p90 and p99 price overall, per status and per destination, each within
+     * {@link PriceSketch#RELATIVE_ACCURACY} of the exact value.
+     */
+    public TripPriceQuantilesDto getQuantiles() {
+        lock.lock();
+        try {
+            Map<TripStatus, TripQuantilesDto> statusQuantiles = new EnumMap<>(TripStatus.class);
+            aggregates.byStatus.forEach((status, aggregate) -> statusQuantiles.put(status, aggregate.toQuantiles()));
+            Map<String, TripQuantilesDto> destinationQuantiles = new LinkedHashMap<>();
+            new TreeMap<>(aggregates.byDestination).forEach((destination, aggregate) -> destinationQuantiles.put(destination, aggregate.toQuantiles()));
+            return new TripPriceQuantilesDto(PriceSketch.RELATIVE_ACCURACY, aggregates.overall.toQuantiles(), statusQuantiles, destinationQuantiles);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onTripSaved(Trip trip) {
+        apply(target -> target.put(trip));
+    }
+
+    @Override
+    public void onTripUpdated(Trip previous, Trip updated) {
+        apply(target -> target.put(updated));
+    }
+
+    @Override
+    public void onTripDeleted(Trip trip) {
+        apply(target -> target.remove(trip));
+    }
+
+    /**
+     * Reloads from the trips table, bypassing the journal.
+     */
+    public void rebuild() {
+        load(action -> tripRepository.forEachTrip(rebuildBatchSize, action));
+    }
+
+    /**
+     * Compares the running aggregates with the database and rebuilds them when they differ.
+     * A change landing between the query and the comparison can look like drift; the
+     * rebuild that follows is then merely redundant.
+     *
+     * @return true if drift was detected and repaired
+     */
+    @Scheduled(initialDelayString = "${trip.statistics.reconcile-interval:PT15M}",
+            fixedDelayString = "${trip.statistics.reconcile-interval:PT15M}")
+    public boolean reconcile() {
+        TripSummaryDto expected = tripRepository.summarizeTrips();
+        TripSummaryDto actual = summary;
+        if (matches(expected, actual)) {
+            return false;
+        }
+        log.warn("Trip statistics drifted from database (expected {}, found {}), rebuilding", expected, actual);
+        rebuild();
+        return true;
+    }
+
+    private void apply(Consumer<Aggregates> change) {
+        lock.lock();
+        try {
+            change.accept(aggregates);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            refreshSummary();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads {@code source} into fresh aggregates outside the lock, then replays the changes
+     * notified meanwhile onto them and swaps them in. Replaying a change the read already saw
+     * is harmless, since aggregates apply each trip version once.
+     */
+    private void load(Consumer<Consumer<Trip>> source) {
+        rebuildLock.lock();
+        try {
+            lock.lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            Aggregates fresh = new Aggregates();
+            boolean loaded = false;
+            try {
+                source.accept(fresh::put);
+                loaded = true;
+            } finally {
+                lock.lock();
+                try {
+                    if (loaded) {
+                        pendingChanges.forEach(change -> change.accept(fresh));
+                        aggregates = fresh;
+                        refreshSummary();
+                    }
+                    pendingChanges = null;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+        log.info("Trip statistics rebuilt from {} trips", summary.getTotalTrips());
+    }
+
+    private void refreshSummary() {
+        summary = aggregates.overall.toSummary();
+    }
+
+    private static boolean matches(TripSummaryDto expected, TripSummaryDto actual) {
+        return expected.getTotalTrips() == actual.getTotalTrips()
+                && closeTo(expected.getMinPrice(), actual.getMinPrice())
+                && closeTo(expected.getMaxPrice(), actual.getMaxPrice())
+                && closeTo(expected.getAveragePrice(), actual.getAveragePrice());
+    }
+
+    private static boolean closeTo(double expected, double actual) {
+        return Math.abs(expected - actual) <= TOLERANCE * Math.max(1.0, Math.abs(expected));
+    }
+}
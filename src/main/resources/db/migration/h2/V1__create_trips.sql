@@ -0,0 +1,10 @@
+-- Same schema as mysql/V1__create_trips.sql, for running the prod profile against H2
+create table trips (
+    id integer generated by default as identity,
+    destination varchar(255) not null,
+    end_date date not null,
+    price float(53) not null,
+    start_date date not null,
+    status enum ('COMPLETED','ONGOING','PLANNED') not null,
+    primary key (id)
+);
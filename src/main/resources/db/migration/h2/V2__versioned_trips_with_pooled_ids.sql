@@ -0,0 +1,11 @@
+-- Same changes as mysql/V2__versioned_trips_with_pooled_ids.sql, for running the prod profile against H2
+alter table trips add column version bigint default 0 not null;
+
+alter table trips alter column id drop identity;
+
+create sequence trips_seq start with 1 increment by 50;
+alter sequence trips_seq restart with (select coalesce(max(id), 0) + 50 from trips);
+
+create index idx_trips_start_date_id on trips (start_date, id);
+create index idx_trips_price_id on trips (price, id);
+create index idx_trips_destination_id on trips (destination, id);
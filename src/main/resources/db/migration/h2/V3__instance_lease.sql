@@ -0,0 +1,7 @@
+-- Same table as mysql/V3__instance_lease.sql, for running the prod profile against H2
+create table trip_instance_lease (
+    name varchar(64) not null,
+    owner varchar(255) not null,
+    expires_at bigint not null,
+    primary key (name)
+);
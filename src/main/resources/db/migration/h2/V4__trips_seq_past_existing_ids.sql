@@ -0,0 +1,3 @@
+-- Same change as mysql/V4__trips_seq_past_existing_ids.sql, for running the prod profile against H2
+alter sequence trips_seq restart with (select greatest(coalesce(max(id), 0) + 50,
+    (select base_value from information_schema.sequences where lower(sequence_name) = 'trips_seq')) from trips);
@@ -0,0 +1,2 @@
+-- Same version as mysql/V5__binary_destination_order.sql. H2 already compares strings by their
+-- characters unless the database sets a collation, so there is nothing to change.
@@ -0,0 +1,11 @@
+-- The trips table as the application first created it with ddl-auto=update: AUTO_INCREMENT
+-- ids and no version column. Databases from that time are baselined here and start at V2.
+create table trips (
+    id integer not null auto_increment,
+    destination varchar(255) not null,
+    end_date date not null,
+    price float(53) not null,
+    start_date date not null,
+    status enum ('COMPLETED','ONGOING','PLANNED') not null,
+    primary key (id)
+) engine=InnoDB;
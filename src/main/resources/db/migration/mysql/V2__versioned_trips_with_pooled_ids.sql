@@ -0,0 +1,18 @@
+-- Optimistic locking: existing trips start at version 0
+alter table trips add column version bigint not null default 0;
+
+-- Ids come from trips_seq from now on, so inserts can be batched; redefining the column drops AUTO_INCREMENT
+alter table trips modify id integer not null;
+
+-- MySQL has no sequences; Hibernate emulates trips_seq with a one-row table. Its pooled optimizer
+-- hands out the 50 ids up to the value it reads, so start 50 past the highest existing id.
+create table trips_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into trips_seq select coalesce(max(id), 0) + 50 from trips;
+
+-- Keyset pagination and sorting on start date, price and destination
+create index idx_trips_start_date_id on trips (start_date, id);
+create index idx_trips_price_id on trips (price, id);
+create index idx_trips_destination_id on trips (destination, id);
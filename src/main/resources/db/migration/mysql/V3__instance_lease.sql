@@ -0,0 +1,7 @@
+-- One running instance per database: the running instance holds and renews this row (TripInstanceLease)
+create table trip_instance_lease (
+    name varchar(64) not null,
+    owner varchar(255) not null,
+    expires_at bigint not null,
+    primary key (name)
+) engine=InnoDB;
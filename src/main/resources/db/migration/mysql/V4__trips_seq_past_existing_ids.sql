@@ -0,0 +1,4 @@
+-- A database created by ddl-auto=update and baselined at version 2 skipped V2, so its trips_seq may
+-- still be where Hibernate created it, at 1, below ids that predate the sequence. Move it 50 past the
+-- highest id like V2 does; a sequence that is already past the ids is left alone.
+update trips_seq set next_val = greatest(next_val, (select coalesce(max(id), 0) + 50 from trips));
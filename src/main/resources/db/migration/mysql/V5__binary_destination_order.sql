@@ -0,0 +1,4 @@
+-- Sharded reads merge the shards' rows in the application, which orders destinations by code point.
+-- Give the column the binary collation so each shard's ORDER BY and keyset comparisons agree with it;
+-- the default utf8mb4_0900_ai_ci ignores case and accents and would interleave differently.
+alter table trips modify destination varchar(255) not null collate utf8mb4_0900_bin;
@@ -0,0 +1,133 @@
+package com.tripmanagement.admission;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.service.TripService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "trip.admission.client-rate=0.001",
+        "trip.admission.client-burst=2",
+        "trip.admission.heavy.max-concurrent=1",
+        "trip.admission.heavy.max-queued=0",
+        "trip.admission.shed-retry-after=PT2S",
+        "trip.admission.trusted-proxies=10.0.0.1"
+})
+@AutoConfigureMockMvc
+class AdmissionInterceptorTest {
+
+    private static final TripDto TRIP = new TripDto(1, "Admission Oslo", LocalDate.parse("2034-01-01"),
+            LocalDate.parse("2034-01-05"), 800.0, TripStatus.PLANNED, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TripService tripService;
+
+    @Test
+    void clientOverItsRate_ShouldGet429WithRetryAfter() throws Exception {
+        when(tripService.getTripById("1")).thenReturn(TRIP);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/trips/1").with(from("192.0.2.1")))
+                    .andExpect(status().is2xxSuccessful());
+        }
+        mockMvc.perform(get("/api/trips/1").with(from("192.0.2.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value("TOO_MANY_REQUESTS"))
+                .andExpect(jsonPath("$.apiPath").value("uri=/api/trips/1"));
+
+        mockMvc.perform(get("/api/trips/1").with(from("192.0.2.2")))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    void clientIdFromUntrustedAddress_ShouldNotGetAFreshBucket() throws Exception {
+        when(tripService.getTripById("1")).thenReturn(TRIP);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/trips/1").with(from("192.0.2.3")).header("X-Client-Id", "spoof-" + i))
+                    .andExpect(status().is2xxSuccessful());
+        }
+        mockMvc.perform(get("/api/trips/1").with(from("192.0.2.3")).header("X-Client-Id", "spoof-2"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void clientIdFromTrustedProxy_ShouldKeyBucketsByClient() throws Exception {
+        when(tripService.getTripById("1")).thenReturn(TRIP);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/trips/1").with(from("10.0.0.1")).header("X-Client-Id", "greedy"))
+                    .andExpect(status().is2xxSuccessful());
+        }
+        mockMvc.perform(get("/api/trips/1").with(from("10.0.0.1")).header("X-Client-Id", "greedy"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/trips/1").with(from("10.0.0.1")).header("X-Client-Id", "polite"))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    void saturatedHeavyClass_ShouldShedWith503ButKeepServingLightRequests() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(tripService.getAllTrips()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(TRIP);
+        });
+        when(tripService.getTripById("1")).thenReturn(TRIP);
+
+        CompletableFuture<Integer> slow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(get("/api/trips/all").with(from("192.0.2.10")))
+                        .andReturn().getResponse().getStatus();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        try {
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+            mockMvc.perform(get("/api/trips/all").with(from("192.0.2.11")))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                    .andExpect(jsonPath("$.status").value("SERVICE_UNAVAILABLE"));
+            mockMvc.perform(get("/api/trips/1").with(from("192.0.2.12")))
+                    .andExpect(status().is2xxSuccessful());
+        } finally {
+            release.countDown();
+        }
+        assertEquals(2, slow.get(10, TimeUnit.SECONDS) / 100);
+
+        mockMvc.perform(get("/api/trips/all").with(from("192.0.2.13")))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    private static RequestPostProcessor from(String remoteAddr) {
+        return request -> {
+            request.setRemoteAddr(remoteAddr);
+            return request;
+        };
+    }
+}
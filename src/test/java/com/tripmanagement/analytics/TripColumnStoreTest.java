@@ -0,0 +1,106 @@
+package com.tripmanagement.analytics;
+
+import com.tripmanagement.dto.TripGroupDto;
+import com.tripmanagement.dto.TripPriceBucketDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripGroupBy;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.journal.TripJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class TripColumnStoreTest {
+
+    @Mock
+    private TripJournal tripJournal;
+
+    @InjectMocks
+    private TripColumnStore tripColumnStore;
+
+    @BeforeEach
+    void setUp() {
+        tripColumnStore.onTripSaved(trip(1, "Paris", LocalDate.of(2025, 1, 10), 1000.0, TripStatus.PLANNED));
+        tripColumnStore.onTripSaved(trip(2, " paris ", LocalDate.of(2025, 2, 3), 3000.0, TripStatus.COMPLETED));
+        tripColumnStore.onTripSaved(trip(3, "Rome", LocalDate.of(2025, 4, 20), 2000.0, TripStatus.PLANNED));
+        tripColumnStore.onTripSaved(trip(4, "London", LocalDate.of(2026, 1, 1), 500.0, TripStatus.ONGOING));
+    }
+
+    @Test
+    void groupByDestination_ShouldMergeNormalizedNamesAndSortByKey() {
+        assertEquals(List.of(
+                        new TripGroupDto("london", 1, 500.0, 500.0, 500.0, 500.0),
+                        new TripGroupDto("paris", 2, 1000.0, 3000.0, 2000.0, 4000.0),
+                        new TripGroupDto("rome", 1, 2000.0, 2000.0, 2000.0, 2000.0)),
+                tripColumnStore.groupBy(TripGroupBy.DESTINATION, TripAnalyticsFilter.ALL));
+    }
+
+    @Test
+    void groupByQuarter_ShouldRespectDateRangeAndStatus() {
+        TripAnalyticsFilter filter = new TripAnalyticsFilter(LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1), TripStatus.PLANNED);
+
+        assertEquals(List.of(
+                        new TripGroupDto("2025-Q1", 1, 1000.0, 1000.0, 1000.0, 1000.0),
+                        new TripGroupDto("2025-Q2", 1, 2000.0, 2000.0, 2000.0, 2000.0)),
+                tripColumnStore.groupBy(TripGroupBy.QUARTER, filter));
+    }
+
+    @Test
+    void updatesAndDeletes_ShouldMoveTripsBetweenGroups() {
+        tripColumnStore.onTripUpdated(null, trip(3, "Rome", LocalDate.of(2025, 4, 20), 2000.0, TripStatus.COMPLETED));
+        tripColumnStore.onTripDeleted(trip(1, "Paris", LocalDate.of(2025, 1, 10), 1000.0, TripStatus.PLANNED));
+
+        assertEquals(3, tripColumnStore.size());
+        assertEquals(List.of("ONGOING", "COMPLETED"),
+                tripColumnStore.groupBy(TripGroupBy.STATUS, TripAnalyticsFilter.ALL).stream().map(TripGroupDto::getKey).toList());
+        assertEquals(List.of("2025-02", "2025-04", "2026-01"),
+                tripColumnStore.groupBy(TripGroupBy.MONTH, TripAnalyticsFilter.ALL).stream().map(TripGroupDto::getKey).toList());
+    }
+
+    @Test
+    void priceHistogram_ShouldCountTheMaximumInTheLastBucket() {
+        List<TripPriceBucketDto> histogram = tripColumnStore.priceHistogram(5, TripAnalyticsFilter.ALL);
+
+        assertEquals(5, histogram.size());
+        assertEquals(500.0, histogram.get(0).getLowerBound());
+        assertEquals(3000.0, histogram.get(4).getUpperBound());
+        assertEquals(List.of(1L, 1L, 0L, 1L, 1L), histogram.stream().map(TripPriceBucketDto::getTrips).toList());
+    }
+
+    @Test
+    void groupByYear_OverManyRows_ShouldMatchASequentialCount() {
+        int trips = 100_000;
+        for (int id = 10; id < trips + 10; id++) {
+            tripColumnStore.onTripSaved(trip(id, "City " + id % 50, LocalDate.of(2020 + id % 5, 1 + id % 12, 1), id % 1000, TripStatus.PLANNED));
+        }
+
+        List<TripGroupDto> years = tripColumnStore.groupBy(TripGroupBy.YEAR, new TripAnalyticsFilter(null, LocalDate.of(2025, 1, 1), null));
+
+        assertEquals(List.of("2020", "2021", "2022", "2023", "2024"), years.stream().map(TripGroupDto::getKey).toList());
+        assertEquals(trips, years.stream().mapToLong(TripGroupDto::getTrips).sum());
+        assertEquals(trips / 5, years.get(0).getTrips());
+        assertEquals(0.0, years.get(0).getMinPrice());
+        assertEquals(995.0, years.get(0).getMaxPrice());
+    }
+
+    @Test
+    void emptySelection_ShouldReturnNoGroupsOrBuckets() {
+        TripAnalyticsFilter filter = new TripAnalyticsFilter(LocalDate.of(2030, 1, 1), null, null);
+
+        assertTrue(tripColumnStore.groupBy(TripGroupBy.MONTH, filter).isEmpty());
+        assertTrue(tripColumnStore.priceHistogram(10, filter).isEmpty());
+    }
+
+    private static Trip trip(int id, String destination, LocalDate start, double price, TripStatus status) {
+        return new Trip(id, destination, start, start.plusDays(7), price, status, 0);
+    }
+}
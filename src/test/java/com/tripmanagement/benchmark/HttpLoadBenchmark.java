@@ -0,0 +1,108 @@
+package com.tripmanagement.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator used to compare the platform-thread, virtual-thread and
+ * reactive modes of a running instance. Each of {@code concurrency} clients sends requests back to
+ * back for the given duration; throughput and latency percentiles are printed as one line
+ * of JSON so runs can be diffed.
+ *
+ * <pre>
+ * java -cp target/test-classes com.tripmanagement.benchmark.HttpLoadBenchmark \
+ *     http://localhost:8080/api/trips/1 platform 400 PT30S
+ * java -cp target/test-classes com.tripmanagement.benchmark.HttpLoadBenchmark \
+ *     http://localhost:8080/api/trips/all reactive 400 PT30S PT10S application/x-ndjson
+ * </pre>
+ */
+public class HttpLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: HttpLoadBenchmark <url> <label> <concurrency> <duration, e.g. PT30S> [warmup, default PT10S] [accept, default */*]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        String label = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        Duration duration = Duration.parse(args[3]);
+        Duration warmup = args.length > 4 ? Duration.parse(args[4]) : Duration.ofSeconds(10);
+        String accept = args.length > 5 ? args[5] : "*/*";
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30))
+                .header("Accept", accept)
+                .GET()
+                .build();
+
+        run(client, request, concurrency, warmup, new long[1 << 16]);
+        long[] latencies = new long[1 << 22];
+        Result result = run(client, request, concurrency, duration, latencies);
+
+        long[] sorted = Arrays.copyOf(latencies, Math.min(result.samples(), latencies.length));
+        Arrays.sort(sorted);
+        System.out.printf("{\"label\":\"%s\",\"url\":\"%s\",\"concurrency\":%d,\"seconds\":%d,\"requests\":%d,"
+                        + "\"errors\":%d,\"throughput\":%.1f,\"p50Ms\":%.2f,\"p95Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}%n",
+                label, uri, concurrency, duration.toSeconds(), result.samples(), result.errors(),
+                result.samples() / (double) duration.toSeconds(),
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    private record Result(int samples, long errors) {
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, Duration duration,
+                              long[] latencies) throws InterruptedException {
+        AtomicInteger samples = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        int sample = samples.getAndIncrement();
+                        if (sample < latencies.length) {
+                            latencies[sample] = System.nanoTime() - start;
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        return new Result(Math.min(samples.get(), latencies.length), errors.get());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
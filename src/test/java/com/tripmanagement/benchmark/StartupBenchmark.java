@@ -0,0 +1,109 @@
+package com.tripmanagement.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how fast a freshly launched instance can serve: starts the given command
+ * {@code runs} times, polls {@code url} until it answers with a 2xx and records the time from
+ * launch to that first response, together with the process's resident set size (VmRSS, Linux
+ * only) at that moment. Each instance is stopped before the next one starts. Medians and ranges
+ * are printed as one line of JSON so the plain jar can be compared with the fast-startup build.
+ *
+ * <pre>
+ * java -cp target/test-classes com.tripmanagement.benchmark.StartupBenchmark \
+ *     http://localhost:8080/api/trips jar 5 java -jar target/Trip-Management-0.0.1-SNAPSHOT.jar
+ * java -cp target/test-classes com.tripmanagement.benchmark.StartupBenchmark \
+ *     http://localhost:8080/api/trips aot-cds 5 java -XX:SharedArchiveFile=target/fast-startup/application.jsa \
+ *     -Dspring.aot.enabled=true -jar target/fast-startup/Trip-Management-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod
+ * </pre>
+ */
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: StartupBenchmark <url> <label> <runs> <command...>");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        String label = args[1];
+        int runs = Integer.parseInt(args[2]);
+        List<String> command = List.of(Arrays.copyOfRange(args, 3, args.length));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+
+        double[] firstRequestMs = new double[runs];
+        double[] rssMb = new double[runs];
+        for (int run = 0; run < runs; run++) {
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            long start = System.nanoTime();
+            try {
+                firstRequestMs[run] = awaitFirstResponse(client, request, process, start) / 1_000_000.0;
+                rssMb[run] = residentSetKb(process.pid()) / 1024.0;
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+
+        Arrays.sort(firstRequestMs);
+        Arrays.sort(rssMb);
+        System.out.printf("{\"label\":\"%s\",\"url\":\"%s\",\"runs\":%d,\"firstRequestMs\":%.0f,\"minFirstRequestMs\":%.0f,"
+                        + "\"maxFirstRequestMs\":%.0f,\"rssMb\":%.1f,\"minRssMb\":%.1f,\"maxRssMb\":%.1f}%n",
+                label, uri, runs, median(firstRequestMs), firstRequestMs[0], firstRequestMs[runs - 1],
+                median(rssMb), rssMb[0], rssMb[runs - 1]);
+    }
+
+    private static long awaitFirstResponse(HttpClient client, HttpRequest request, Process process, long start)
+            throws InterruptedException {
+        long deadline = start + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Process exited with " + process.exitValue() + " before answering");
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() < 300) {
+                    return System.nanoTime() - start;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("No 2xx response from " + request.uri() + " within " + TIMEOUT);
+    }
+
+    private static long residentSetKb(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(0);
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
@@ -0,0 +1,115 @@
+package com.tripmanagement.cache;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.exception.TripNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripQueryCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void concurrentIdenticalCalls_ShouldShareOneQuery() throws Exception {
+        TripQueryCoalescer coalescer = new TripQueryCoalescer(Duration.ZERO, meterRegistry);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<List<String>>> results = runConcurrently(() -> coalescer.call("status", "PLANNED", () -> {
+            executions.incrementAndGet();
+            await(release);
+            return List.of("Paris");
+        }), release);
+
+        for (Future<List<String>> result : results) {
+            assertEquals(List.of("Paris"), result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(CALLERS - 1, count("status", "joined"));
+    }
+
+    @Test
+    void failedQuery_ShouldThrowTheSameExceptionToEveryWaiter() throws Exception {
+        TripQueryCoalescer coalescer = new TripQueryCoalescer(Duration.ZERO, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<List<String>>> results = runConcurrently(() -> coalescer.<List<String>>call("destination", "Atlantis", () -> {
+            await(release);
+            throw new TripNotFoundException("No trips found with destination Atlantis", HttpStatus.NOT_FOUND);
+        }), release);
+
+        for (Future<List<String>> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(TripNotFoundException.class, ex.getCause());
+        }
+    }
+
+    @Test
+    void microCache_ShouldServeRepeatsUntilATripChanges() {
+        TripQueryCoalescer coalescer = new TripQueryCoalescer(Duration.ofMinutes(1), meterRegistry);
+        AtomicInteger executions = new AtomicInteger();
+
+        coalescer.call("status", "PLANNED", executions::incrementAndGet);
+        coalescer.call("status", "PLANNED", executions::incrementAndGet);
+        assertEquals(1, executions.get());
+        assertEquals(1, count("status", "cached"));
+
+        coalescer.onTripSaved(new Trip());
+        coalescer.call("status", "PLANNED", executions::incrementAndGet);
+        assertEquals(2, executions.get());
+    }
+
+    /**
+     * Starts {@link #CALLERS} calls, waits until one of them is running the query and the rest
+     * are waiting on it, then lets the query finish.
+     */
+    private <T> List<Future<T>> runConcurrently(Callable<T> call, CountDownLatch release) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<T>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(call));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (count("status", "joined") + count("destination", "joined") < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private double count(String query, String outcome) {
+        Counter counter = meterRegistry.find("trip.coalescing.calls").tag("query", query).tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
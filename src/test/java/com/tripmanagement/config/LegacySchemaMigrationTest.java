@@ -0,0 +1,63 @@
+package com.tripmanagement.config;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.service.TripService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A database created by the original entity (AUTO_INCREMENT ids, no version column, no
+ * sequence or indexes) upgraded by the prod profile's migrations.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:legacy;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("prod")
+class LegacySchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TripService tripService;
+
+    @BeforeAll
+    static void createOriginalSchema() {
+        JdbcTemplate legacy = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:legacy;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        legacy.execute("create table trips (id integer generated by default as identity, destination varchar(255) not null, "
+                + "end_date date not null, price float(53) not null, start_date date not null, "
+                + "status enum ('COMPLETED','ONGOING','PLANNED') not null, primary key (id))");
+        for (int i = 1; i <= 3; i++) {
+            legacy.update("insert into trips (destination, start_date, end_date, price, status) values (?, ?, ?, ?, 'PLANNED')",
+                    "Legacy " + i, LocalDate.parse("2034-01-0" + i), LocalDate.parse("2034-01-2" + i), 100.0 * i);
+        }
+    }
+
+    @Test
+    void prodProfile_ShouldBaselineTheOriginalSchemaAndUpgradeIt() {
+        List<String> applied = jdbcTemplate.queryForList(
+                "select \"version\" from \"flyway_schema_history\" where \"version\" is not null and \"success\" = true order by \"installed_rank\"", String.class);
+        assertEquals(List.of("1", "2", "3", "4", "5"), applied);
+
+        TripDto existing = tripService.getTripById("3");
+        assertEquals(0, existing.getVersion());
+
+        TripDto saved = tripService.saveTrip(new TripDto(0, "After Upgrade", LocalDate.parse("2034-02-01"),
+                LocalDate.parse("2034-02-05"), 250.0, TripStatus.PLANNED, 0));
+        assertTrue(saved.getId() > 3, "new id " + saved.getId() + " must not reuse an existing one");
+
+        Trip changes = new Trip();
+        changes.setPrice(999.0);
+        assertEquals(1, tripService.updateTripById(existing.getId(), changes, 0L).getVersion());
+    }
+}
@@ -0,0 +1,62 @@
+package com.tripmanagement.config;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.mapper.TripMapper;
+import com.tripmanagement.repository.TripRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class MetricsConfigTest {
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private TripMapper tripMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void repositoryCall_ShouldRecordRowsReturned() {
+        tripRepository.save(tripMapper.mapTripDtoToTrip(new TripDto(0, "Metrics Riga",
+                LocalDate.parse("2025-09-01"), LocalDate.parse("2025-09-04"), 450.0, TripStatus.PLANNED, 0)));
+
+        List<Trip> trips = tripRepository.findAll();
+
+        DistributionSummary rows = meterRegistry.get(MetricsConfig.REPOSITORY_ROWS)
+                .tag("repository", "TripRepository")
+                .tag("method", "findAll")
+                .summary();
+        assertEquals(trips.size(), (long) rows.max());
+    }
+
+    @Test
+    void mapperCall_ShouldRecordTime() {
+        tripMapper.mapTripToTripDto(new Trip());
+
+        Timer timer = meterRegistry.get(MetricsConfig.MAPPER_TIME).tag("method", "mapTripToTripDto").timer();
+        assertTrue(timer.count() >= 1);
+    }
+
+    @Test
+    void countRows_ShouldSkipScalarResults() {
+        assertEquals(-1, MetricsConfig.countRows(3L));
+        assertEquals(-1, MetricsConfig.countRows(true));
+        assertEquals(0, MetricsConfig.countRows(Optional.empty()));
+        assertEquals(2, MetricsConfig.countRows(List.of(new Trip(), new Trip())));
+    }
+}
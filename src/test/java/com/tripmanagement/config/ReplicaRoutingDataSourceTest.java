@@ -0,0 +1,180 @@
+package com.tripmanagement.config;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.repository.TripRepository;
+import com.tripmanagement.service.TripService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "trip.datasource.routing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "trip.datasource.replicas[0].url=jdbc:h2:mem:routing_replica;MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:replica-schema.sql'",
+        "trip.datasource.replicas[0].username=sa",
+        "trip.datasource.replicas[1].url=jdbc:h2:tcp://localhost:1/unreachable",
+        "trip.datasource.read-your-writes-window=PT0.3S",
+        "trip.datasource.health-check-interval=PT1H"
+})
+class ReplicaRoutingDataSourceTest {
+
+    private static final long WINDOW_MILLIS = 300;
+
+    private final JdbcTemplate replica = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:replica-schema.sql'", "sa", ""));
+
+    private final JdbcTemplate primary = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private ReplicaRoutingDataSource tripRoutingDataSource;
+
+    @Autowired
+    private ReadYourWritesFilter readYourWritesFilter;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica() throws InterruptedException {
+        replica.update("insert into trips (id, destination, start_date, end_date, price, status) values (9001, 'Replica Only', ?, ?, 100.0, 'PLANNED')",
+                LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-02"));
+        Thread.sleep(WINDOW_MILLIS + 100);
+
+        assertTrue(tripRepository.findById(9001).isPresent());
+    }
+
+    @Test
+    void readAfterWrite_ShouldUsePrimaryUntilWindowExpires() throws InterruptedException {
+        Trip trip = tripRepository.save(new Trip(0, "Primary Only", LocalDate.parse("2025-02-01"),
+                LocalDate.parse("2025-02-03"), 200.0, TripStatus.PLANNED, 0));
+
+        assertTrue(tripRepository.findById(trip.getId()).isPresent());
+
+        Thread.sleep(WINDOW_MILLIS + 100);
+        assertTrue(tripRepository.findById(trip.getId()).isEmpty());
+    }
+
+    @Test
+    void tripByIdCacheMiss_ShouldUseReplica() throws InterruptedException {
+        replica.update("insert into trips (id, destination, start_date, end_date, price, status) values (9002, 'Replica Lookup', ?, ?, 100.0, 'PLANNED')",
+                LocalDate.parse("2025-01-03"), LocalDate.parse("2025-01-04"));
+        Thread.sleep(WINDOW_MILLIS + 100);
+
+        assertEquals("Replica Lookup", tripService.getTripById("9002").getDestination());
+    }
+
+    @Test
+    void tripByIdAfterWrite_ShouldNotCacheTheLaggingReplicasRow() throws InterruptedException {
+        primary.update("insert into trips (id, destination, start_date, end_date, price, status, version) values (9008, 'Lagging Before', ?, ?, 100.0, 'PLANNED', 0)",
+                LocalDate.parse("2025-05-01"), LocalDate.parse("2025-05-02"));
+        replica.update("insert into trips (id, destination, start_date, end_date, price, status, version) values (9008, 'Lagging Before', ?, ?, 100.0, 'PLANNED', 0)",
+                LocalDate.parse("2025-05-01"), LocalDate.parse("2025-05-02"));
+        Thread.sleep(WINDOW_MILLIS + 100);
+        assertEquals("Lagging Before", tripService.getTripById("9008").getDestination());
+
+        // The replica never receives either write
+        tripService.updateTripById(9008, new Trip(0, "Lagging After", null, null, 0, null, 0), null);
+        TripDto created = tripService.saveTrip(new TripDto(0, "Lagging Created", LocalDate.parse("2025-05-03"),
+                LocalDate.parse("2025-05-04"), 100.0, TripStatus.PLANNED, 0));
+        Thread.sleep(WINDOW_MILLIS + 100);
+
+        TripDto updated = tripService.getTripById("9008");
+        assertEquals("Lagging After", updated.getDestination());
+        assertEquals(1, updated.getVersion());
+        assertEquals("Lagging Created", tripService.getTripById(String.valueOf(created.getId())).getDestination());
+        assertEquals("Lagging Before", replica.queryForObject("select destination from trips where id = 9008", String.class));
+    }
+
+    @Test
+    void coalescedRead_ShouldUseReplicaAndKeepLaterReadsThere() throws InterruptedException {
+        replica.update("insert into trips (id, destination, start_date, end_date, price, status) values (9003, 'Replica Completed', ?, ?, 100.0, 'COMPLETED')",
+                LocalDate.parse("2025-01-05"), LocalDate.parse("2025-01-06"));
+        replica.update("insert into trips (id, destination, start_date, end_date, price, status) values (9004, 'Replica After', ?, ?, 100.0, 'PLANNED')",
+                LocalDate.parse("2025-01-07"), LocalDate.parse("2025-01-08"));
+        Thread.sleep(WINDOW_MILLIS + 100);
+
+        assertTrue(tripService.getTripByStatus(TripStatus.COMPLETED).stream().anyMatch(tripDto -> tripDto.getId() == 9003));
+        assertTrue(tripRepository.findById(9004).isPresent());
+    }
+
+    @Test
+    void nonTransactionalRead_ShouldNotKeepLaterReadsOnPrimary() throws InterruptedException {
+        replica.update("insert into trips (id, destination, start_date, end_date, price, status) values (9005, 'Replica Untouched', ?, ?, 100.0, 'PLANNED')",
+                LocalDate.parse("2025-01-09"), LocalDate.parse("2025-01-10"));
+        Thread.sleep(WINDOW_MILLIS + 100);
+
+        new JdbcTemplate(dataSource).queryForObject("select count(*) from trips", Integer.class);
+
+        assertTrue(tripRepository.findById(9005).isPresent());
+    }
+
+    @Test
+    void writeByAnotherClient_ShouldNotKeepThisClientOnPrimary() throws InterruptedException {
+        replica.update("insert into trips (id, destination, start_date, end_date, price, status) values (9006, 'Replica Elsewhere', ?, ?, 100.0, 'PLANNED')",
+                LocalDate.parse("2025-01-11"), LocalDate.parse("2025-01-12"));
+        Thread.sleep(WINDOW_MILLIS + 100);
+
+        CompletableFuture.runAsync(() -> tripRepository.save(new Trip(0, "Other Client", LocalDate.parse("2025-03-01"),
+                LocalDate.parse("2025-03-03"), 200.0, TripStatus.PLANNED, 0))).join();
+
+        assertTrue(tripRepository.findById(9006).isPresent());
+    }
+
+    @Test
+    void readYourWritesCookie_ShouldKeepOnlyTheWritingClientOnPrimary() throws Exception {
+        MockHttpServletResponse written = new MockHttpServletResponse();
+        Trip[] saved = new Trip[1];
+        readYourWritesFilter.doFilter(new MockHttpServletRequest(), written, (request, response) ->
+                saved[0] = tripRepository.save(new Trip(0, "Cookie Client", LocalDate.parse("2025-04-01"),
+                        LocalDate.parse("2025-04-03"), 200.0, TripStatus.PLANNED, 0)));
+        Cookie lastWrite = written.getCookie("trip-last-write");
+        assertNotNull(lastWrite);
+
+        MockHttpServletRequest sameClient = new MockHttpServletRequest();
+        sameClient.setCookies(lastWrite);
+        boolean[] found = new boolean[2];
+        readYourWritesFilter.doFilter(sameClient, new MockHttpServletResponse(), (request, response) ->
+                found[0] = tripRepository.findById(saved[0].getId()).isPresent());
+        readYourWritesFilter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) ->
+                found[1] = tripRepository.findById(saved[0].getId()).isPresent());
+
+        assertTrue(found[0], "the writing client reads from the primary");
+        assertFalse(found[1], "another client reads from the replica");
+    }
+
+    @Test
+    void unreachableReplica_ShouldBeTakenOutOfRotation() throws InterruptedException {
+        Thread.sleep(WINDOW_MILLIS + 100);
+        for (int i = 0; i < 4; i++) {
+            tripRepository.findAll();
+        }
+        tripRoutingDataSource.checkReplicas();
+
+        assertEquals(1.0, meterRegistry.get("trip.datasource.replica.up").tag("replica", "replica-0").gauge().value());
+        assertEquals(0.0, meterRegistry.get("trip.datasource.replica.up").tag("replica", "replica-1").gauge().value());
+    }
+}
@@ -0,0 +1,41 @@
+package com.tripmanagement.config;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.service.TripService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrated;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "trip.instance-lease.enabled=true"
+})
+@ActiveProfiles("prod")
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TripService tripService;
+
+    @Test
+    void prodProfile_ShouldCreateSchemaWithFlywayAndValidateEntitiesAgainstIt() {
+        List<String> applied = jdbcTemplate.queryForList(
+                "select \"version\" from \"flyway_schema_history\" where \"version\" is not null and \"success\" = true order by \"installed_rank\"", String.class);
+        assertEquals(List.of("1", "2", "3", "4", "5"), applied);
+
+        TripDto saved = tripService.saveTrip(new TripDto(0, "Migrated", LocalDate.parse("2033-01-01"),
+                LocalDate.parse("2033-01-05"), 250.0, TripStatus.PLANNED, 0));
+
+        assertEquals("Migrated", tripService.getTripById(String.valueOf(saved.getId())).getDestination());
+    }
+}
@@ -0,0 +1,61 @@
+package com.tripmanagement.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripInstanceLeaseTest {
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:instance_lease;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    @BeforeEach
+    void dropLease() {
+        jdbcTemplate.execute("drop table if exists trip_instance_lease");
+    }
+
+    @Test
+    void secondInstance_ShouldRefuseToStartUntilTheFirstStops() {
+        TripInstanceLease first = lease(Duration.ofMinutes(1));
+        TripInstanceLease second = lease(Duration.ofMinutes(1));
+        first.afterSingletonsInstantiated();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, second::afterSingletonsInstantiated);
+        assertTrue(exception.getMessage().contains(first.getOwner()));
+
+        first.destroy();
+        second.afterSingletonsInstantiated();
+        assertEquals(second.getOwner(), owner());
+    }
+
+    @Test
+    void expiredLease_ShouldBeTakenOver() throws InterruptedException {
+        TripInstanceLease crashed = lease(Duration.ofMillis(50));
+        crashed.afterSingletonsInstantiated();
+        Thread.sleep(100);
+
+        TripInstanceLease replacement = lease(Duration.ofMinutes(1));
+        replacement.afterSingletonsInstantiated();
+
+        assertEquals(replacement.getOwner(), owner());
+        assertTrue(crashed.isHeld());
+        crashed.renew();
+        assertEquals(replacement.getOwner(), owner());
+        assertFalse(crashed.isHeld());
+        assertTrue(replacement.isHeld());
+    }
+
+    private TripInstanceLease lease(Duration ttl) {
+        return new TripInstanceLease(jdbcTemplate, true, ttl, false);
+    }
+
+    private String owner() {
+        return jdbcTemplate.queryForObject("select owner from trip_instance_lease where name = ?", String.class,
+                TripInstanceLease.LEASE_NAME);
+    }
+}
@@ -0,0 +1,61 @@
+package com.tripmanagement.config;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.service.TripService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A database that ddl-auto=update moved from the original entity to the current one: ids from
+ * the AUTO_INCREMENT days, and a trips_seq Hibernate created at 1. Baselined at version 2, it
+ * skips V2, so the sequence has to be moved by a later migration.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:updated;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.baseline-version=2"
+})
+@ActiveProfiles("prod")
+class UpdatedSchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TripService tripService;
+
+    @BeforeAll
+    static void createUpdatedSchema() {
+        JdbcTemplate updated = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:updated;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        updated.execute("create table trips (id integer not null, destination varchar(255) not null, "
+                + "end_date date not null, price float(53) not null, start_date date not null, "
+                + "status enum ('COMPLETED','ONGOING','PLANNED') not null, version bigint not null, primary key (id))");
+        updated.execute("create sequence trips_seq start with 1 increment by 50");
+        for (int i = 1; i <= 3; i++) {
+            updated.update("insert into trips (id, destination, start_date, end_date, price, status, version) "
+                    + "values (?, ?, ?, ?, ?, 'PLANNED', 0)", 40 * i, "Updated " + i,
+                    LocalDate.parse("2035-01-0" + i), LocalDate.parse("2035-01-2" + i), 100.0 * i);
+        }
+    }
+
+    @Test
+    void prodProfile_ShouldMoveTheSequencePastExistingIds() {
+        List<String> applied = jdbcTemplate.queryForList(
+                "select \"version\" from \"flyway_schema_history\" where \"version\" is not null and \"success\" = true order by \"installed_rank\"", String.class);
+        assertEquals(List.of("2", "3", "4", "5"), applied);
+
+        TripDto saved = tripService.saveTrip(new TripDto(0, "After Update", LocalDate.parse("2035-02-01"),
+                LocalDate.parse("2035-02-05"), 250.0, TripStatus.PLANNED, 0));
+        assertTrue(saved.getId() > 120, "new id " + saved.getId() + " must not reuse an existing one");
+    }
+}
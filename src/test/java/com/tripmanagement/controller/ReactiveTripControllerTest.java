@@ -0,0 +1,113 @@
+package com.tripmanagement.controller;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.service.TripService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+class ReactiveTripControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TripService tripService;
+
+    @Test
+    void addTrip_ThenGetById_ShouldKeepTheServletContract() {
+        webTestClient.post().uri("/api/trips")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TripDto(0, "Reactive Lisbon", LocalDate.parse("2033-05-01"), LocalDate.parse("2033-05-08"),
+                        1200.0, TripStatus.PLANNED, 0))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.statusCode").isEqualTo("CREATED")
+                .jsonPath("$.message").isEqualTo("Trip created successfully")
+                .jsonPath("$.data.destination").isEqualTo("Reactive Lisbon");
+
+        TripDto trip = tripService.getTripsByDestination("Reactive Lisbon").get(0);
+        String etag = "\"" + trip.getId() + "-" + trip.getVersion() + "\"";
+
+        webTestClient.get().uri("/api/trips/{id}", trip.getId())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Trip Id " + trip.getId() + " fetched successfully")
+                .jsonPath("$.data.destination").isEqualTo("Reactive Lisbon");
+        webTestClient.get().uri("/api/trips/{id}", trip.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void streamAllTrips_ShouldWriteOneTripPerLine() {
+        save("Reactive Porto", "2033-06-01");
+        save("Reactive Faro", "2033-07-01");
+
+        List<TripDto> trips = webTestClient.get().uri("/api/trips/all")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TripDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(trips);
+        assertTrue(trips.stream().map(TripDto::getDestination).toList().containsAll(List.of("Reactive Porto", "Reactive Faro")));
+    }
+
+    @Test
+    void getTripsByStatus_ShouldWrapTheMatchesInTheEnvelope() {
+        save("Reactive Coimbra", "2033-09-01");
+
+        webTestClient.get().uri("/api/trips/filter?status=PLANNED")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Trips with status PLANNED found successfully")
+                .jsonPath("$.data[?(@.destination == 'Reactive Coimbra')]").exists();
+    }
+
+    @Test
+    void errors_ShouldUseTheErrorResponseBody() {
+        webTestClient.get().uri("/api/trips/search?destination=Atlantis")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No trips found with destination Atlantis")
+                .jsonPath("$.apiPath").isEqualTo("uri=/api/trips/search");
+
+        TripDto trip = save("Reactive Braga", "2033-08-01");
+        webTestClient.put().uri("/api/trips/{id}", trip.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + trip.getId() + "-" + (trip.getVersion() + 1) + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"price\": 900.0}")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    private TripDto save(String destination, String start) {
+        LocalDate startDate = LocalDate.parse(start);
+        return tripService.saveTrip(new TripDto(0, destination, startDate, startDate.plusDays(5), 800.0, TripStatus.PLANNED, 0));
+    }
+}
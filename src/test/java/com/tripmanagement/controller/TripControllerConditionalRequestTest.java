@@ -0,0 +1,77 @@
+package com.tripmanagement.controller;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.service.TripService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TripControllerConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TripService tripService;
+
+    @Test
+    void getTripById_WithCurrentETag_ShouldReturnNotModified() throws Exception {
+        TripDto trip = save("ETag Vienna", "2032-03-01", "2032-03-05");
+        String etag = "\"" + trip.getId() + "-" + trip.getVersion() + "\"";
+
+        mockMvc.perform(get("/api/trips/{id}", trip.getId()))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/trips/{id}", trip.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updateTripById_WithStaleIfMatch_ShouldFailPrecondition() throws Exception {
+        TripDto trip = save("ETag Prague", "2032-04-01", "2032-04-05");
+        String etag = "\"" + trip.getId() + "-" + trip.getVersion() + "\"";
+        String body = "{\"price\": 900.0}";
+
+        String newEtag = mockMvc.perform(put("/api/trips/{id}", trip.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/trips/{id}", trip.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/trips/{id}", trip.getId()).header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/trips/{id}", trip.getId()).header(HttpHeaders.IF_MATCH, newEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getTrips_WithCurrentWeakETag_ShouldReturnNotModified() throws Exception {
+        save("ETag Bern", "2032-05-01", "2032-05-05");
+        String etag = mockMvc.perform(get("/api/trips/search").param("destination", "ETag Bern"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/trips/search").param("destination", "ETag Bern").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private TripDto save(String destination, String start, String end) {
+        return tripService.saveTrip(new TripDto(0, destination, LocalDate.parse(start), LocalDate.parse(end), 700.0,
+                TripStatus.PLANNED, 0));
+    }
+}
@@ -0,0 +1,90 @@
+package com.tripmanagement.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ndjson;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "trip.stream.fetch-size=2",
+        "trip.stream.flush-interval=2"
+})
+@AutoConfigureMockMvc
+class TripControllerNdjsonTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void clearTrips() {
+        jdbcTemplate.update("delete from trips");
+    }
+
+    @Test
+    void streamAllTrips_ShouldWriteOneJsonObjectPerLineInIdOrder() throws Exception {
+        // Inserted out of id order, and more rows than the fetch size and flush interval
+        for (int id : new int[]{30, 10, 50, 20, 40}) {
+            jdbcTemplate.update("insert into trips (id, destination, start_date, end_date, price, status, version) "
+                    + "values (?, ?, '2033-03-01', '2033-03-05', 100.0, 'PLANNED', 1)", id, "Stream " + id);
+        }
+
+        String body = streamAllTrips();
+
+        // Checked as raw text: a parser would skip the whitespace Jackson puts between root values by default
+        assertTrue(body.endsWith("\n"));
+        List<String> lines = List.of(body.split("\n", -1)).subList(0, 5);
+        assertEquals("", body.split("\n", -1)[5]);
+        for (String line : lines) {
+            assertTrue(line.startsWith("{\"id\":") && line.endsWith("}"), line);
+        }
+        assertEquals(List.of(10, 20, 30, 40, 50), lines.stream().map(this::id).toList());
+        assertEquals("{\"id\":10,\"destination\":\"Stream 10\",\"startDate\":\"2033-03-01\",\"endDate\":\"2033-03-05\","
+                + "\"price\":100.0,\"status\":\"PLANNED\",\"version\":1}", lines.get(0));
+    }
+
+    @Test
+    void streamAllTrips_WithNoTrips_ShouldWriteAnEmptyBody() throws Exception {
+        assertEquals("", streamAllTrips());
+    }
+
+    private int id(String line) {
+        try {
+            return objectMapper.readTree(line).get("id").asInt();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String streamAllTrips() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/trips/all").header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
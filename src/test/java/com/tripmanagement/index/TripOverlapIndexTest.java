@@ -0,0 +1,153 @@
+package com.tripmanagement.index;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.repository.TripRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class TripOverlapIndexTest {
+
+    @Mock
+    private TripRepository tripRepository;
+
+    @InjectMocks
+    private TripOverlapIndex tripOverlapIndex;
+
+    @BeforeEach
+    void setUp() {
+        tripOverlapIndex.put(trip(1, "Paris", "2025-06-01", "2025-06-10"));
+        tripOverlapIndex.put(trip(2, "Paris", "2025-07-01", "2025-07-10"));
+        tripOverlapIndex.put(trip(3, "London", "2025-06-01", "2025-06-30"));
+    }
+
+    @Test
+    void findOverlap_ShouldMatchInclusiveBoundsCaseInsensitively() {
+        assertEquals(OptionalInt.of(1), tripOverlapIndex.findOverlap(" PARIS ", date("2025-06-10"), date("2025-06-20"), 0));
+        assertEquals(OptionalInt.of(2), tripOverlapIndex.findOverlap("paris", date("2025-06-20"), date("2025-07-01"), 0));
+        assertTrue(tripOverlapIndex.findOverlap("Paris", date("2025-06-11"), date("2025-06-30"), 0).isEmpty());
+        assertTrue(tripOverlapIndex.findOverlap("Rome", date("2025-06-01"), date("2025-06-30"), 0).isEmpty());
+    }
+
+    @Test
+    void findOverlap_ShouldIgnoreExcludedTrip() {
+        assertTrue(tripOverlapIndex.findOverlap("Paris", date("2025-06-05"), date("2025-06-12"), 1).isEmpty());
+    }
+
+    @Test
+    void findOverlap_ShouldFindLongIntervalHiddenBehindShorterOnes() {
+        tripOverlapIndex.put(trip(4, "Rome", "2025-01-01", "2025-12-31"));
+        for (int i = 0; i < 50; i++) {
+            LocalDate start = date("2025-01-02").plusDays(i * 3L);
+            tripOverlapIndex.put(new Trip(100 + i, "Rome", start, start, 100.0, TripStatus.PLANNED, 0));
+        }
+
+        assertEquals(OptionalInt.of(4), tripOverlapIndex.findOverlap("Rome", date("2025-11-01"), date("2025-11-02"), 0));
+    }
+
+    @Test
+    void put_ShouldMoveExistingTrip() {
+        tripOverlapIndex.put(trip(1, "London", "2025-08-01", "2025-08-05"));
+
+        assertTrue(tripOverlapIndex.findOverlap("Paris", date("2025-06-01"), date("2025-06-10"), 0).isEmpty());
+        assertEquals(OptionalInt.of(1), tripOverlapIndex.findOverlap("London", date("2025-08-03"), date("2025-08-03"), 0));
+        assertEquals(3, tripOverlapIndex.size());
+    }
+
+    @Test
+    void remove_ShouldFreeDates() {
+        tripOverlapIndex.remove(2);
+
+        assertTrue(tripOverlapIndex.findOverlap("Paris", date("2025-07-01"), date("2025-07-10"), 0).isEmpty());
+        assertEquals(2, tripOverlapIndex.size());
+    }
+
+    @Test
+    void reserve_ShouldHoldIntervalUntilReleased() {
+        assertTrue(tripOverlapIndex.reserve("Paris", date("2025-06-05"), date("2025-06-12"), 0).isEmpty());
+
+        TripOverlapIndex.Reservation reservation = tripOverlapIndex.reserve("Paris", date("2025-06-11"), date("2025-06-20"), 0).orElseThrow();
+        assertTrue(tripOverlapIndex.reserve(" paris", date("2025-06-20"), date("2025-06-25"), 0).isEmpty());
+        assertTrue(tripOverlapIndex.reserve("Paris", date("2025-06-21"), date("2025-06-25"), 0).isPresent());
+
+        reservation.release();
+        reservation.release();
+        assertTrue(tripOverlapIndex.reserve("Paris", date("2025-06-15"), date("2025-06-15"), 0).isPresent());
+        assertEquals(3, tripOverlapIndex.size());
+    }
+
+    @Test
+    void reserve_ShouldIgnoreExcludedTripButNotOtherReservations() {
+        assertTrue(tripOverlapIndex.reserve("Paris", date("2025-06-05"), date("2025-06-12"), 1).isPresent());
+        assertTrue(tripOverlapIndex.reserve("Paris", date("2025-06-12"), date("2025-06-13"), 1).isEmpty());
+    }
+
+    @Test
+    void stagingReserve_ShouldReportTripRowOrWriteInFlight() {
+        TripOverlapIndex.Reservation single = tripOverlapIndex.reserve("Oslo", date("2025-09-01"), date("2025-09-05"), 0).orElseThrow();
+        TripOverlapIndex.Staging staging = tripOverlapIndex.stage();
+
+        assertEquals(OptionalInt.empty(), staging.reserve("Oslo", date("2025-09-10"), date("2025-09-12"), 0));
+        assertEquals(OptionalInt.of(1), staging.reserve("Paris", date("2025-06-10"), date("2025-06-12"), 1));
+        assertEquals(OptionalInt.of(-1), staging.reserve("OSLO", date("2025-09-12"), date("2025-09-14"), 2));
+        assertEquals(OptionalInt.of(TripOverlapIndex.Staging.IN_FLIGHT), staging.reserve("Oslo", date("2025-09-05"), date("2025-09-06"), 3));
+        assertTrue(tripOverlapIndex.reserve("Oslo", date("2025-09-11"), date("2025-09-11"), 0).isEmpty());
+
+        staging.release(0);
+        assertEquals(OptionalInt.empty(), staging.reserve("Oslo", date("2025-09-12"), date("2025-09-14"), 4));
+        staging.close();
+        single.release();
+        assertTrue(tripOverlapIndex.reserve("Oslo", date("2025-09-01"), date("2025-09-30"), 0).isPresent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_ShouldKeepReservations() {
+        doAnswer(invocation -> null).when(tripRepository).forEachTrip(anyInt(), any(Consumer.class));
+        TripOverlapIndex.Reservation reservation = tripOverlapIndex.reserve("Rome", date("2025-06-01"), date("2025-06-10"), 0).orElseThrow();
+
+        tripOverlapIndex.rebuild();
+
+        assertTrue(tripOverlapIndex.reserve("Rome", date("2025-06-10"), date("2025-06-12"), 0).isEmpty());
+        reservation.release();
+        assertTrue(tripOverlapIndex.reserve("Rome", date("2025-06-10"), date("2025-06-12"), 0).isPresent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_ShouldReloadFromRepository() {
+        doAnswer(invocation -> {
+            Consumer<Trip> action = invocation.getArgument(1);
+            action.accept(trip(9, "Berlin", "2025-05-01", "2025-05-03"));
+            return null;
+        }).when(tripRepository).forEachTrip(anyInt(), any(Consumer.class));
+
+        tripOverlapIndex.rebuild();
+
+        assertEquals(1, tripOverlapIndex.size());
+        assertTrue(tripOverlapIndex.findOverlap("Paris", date("2025-06-01"), date("2025-06-10"), 0).isEmpty());
+        assertEquals(OptionalInt.of(9), tripOverlapIndex.findOverlap("berlin", date("2025-05-03"), date("2025-05-09"), 0));
+    }
+
+    private static Trip trip(int id, String destination, String start, String end) {
+        return new Trip(id, destination, date(start), date(end), 1000.0, TripStatus.PLANNED, 0);
+    }
+
+    private static LocalDate date(String value) {
+        return LocalDate.parse(value);
+    }
+}
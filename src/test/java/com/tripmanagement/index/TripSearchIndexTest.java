@@ -0,0 +1,70 @@
+package com.tripmanagement.index;
+
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.repository.TripRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class TripSearchIndexTest {
+
+    @Mock
+    private TripRepository tripRepository;
+
+    @InjectMocks
+    private TripSearchIndex tripSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        tripSearchIndex.onTripSaved(trip(1, "Paris"));
+        tripSearchIndex.onTripSaved(trip(2, "Disneyland Paris"));
+        tripSearchIndex.onTripSaved(trip(3, "Comparison Falls"));
+        tripSearchIndex.onTripSaved(trip(4, "paris"));
+        tripSearchIndex.onTripSaved(trip(5, "London"));
+    }
+
+    @Test
+    void search_ShouldRankExactThenWordThenSubstringMatches() {
+        assertEquals(List.of(1, 4, 2, 3), tripSearchIndex.search("PARIS"));
+    }
+
+    @Test
+    void search_WithShortQuery_ShouldScanDestinations() {
+        assertEquals(List.of(5), tripSearchIndex.search("lo"));
+        assertEquals(5, tripSearchIndex.search("").size());
+    }
+
+    @Test
+    void search_WithUnknownTrigram_ShouldReturnNothing() {
+        assertTrue(tripSearchIndex.search("xyz").isEmpty());
+    }
+
+    @Test
+    void onTripUpdated_ShouldMoveTripToNewDestination() {
+        tripSearchIndex.onTripUpdated(trip(5, "London"), trip(5, "Parisville"));
+
+        assertTrue(tripSearchIndex.search("london").isEmpty());
+        assertEquals(List.of(1, 4, 5, 2, 3), tripSearchIndex.search("paris"));
+    }
+
+    @Test
+    void onTripDeleted_ShouldDropDestinationWithoutTrips() {
+        tripSearchIndex.onTripDeleted(trip(3, "Comparison Falls"));
+
+        assertTrue(tripSearchIndex.search("falls").isEmpty());
+    }
+
+    private static Trip trip(int id, String destination) {
+        return new Trip(id, destination, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 10), 1000.0, TripStatus.PLANNED, 0);
+    }
+}
@@ -0,0 +1,204 @@
+package com.tripmanagement.journal;
+
+import com.tripmanagement.dto.TripFingerprintDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripChangeType;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.repository.TripRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TripJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private TripRepository tripRepository;
+
+    private TripJournal tripJournal;
+
+    @AfterEach
+    void tearDown() {
+        if (tripJournal != null) {
+            tripJournal.destroy();
+        }
+    }
+
+    @Test
+    void appendedEvents_ShouldSurviveReopenAndReplayInOrder() throws IOException {
+        tripJournal = open(DataSize.ofMegabytes(1));
+        tripJournal.onTripSaved(trip(1, "Paris", 0));
+        tripJournal.onTripUpdated(trip(1, "Paris", 0), trip(1, "Paris", 1));
+        tripJournal.onTripDeleted(trip(1, "Paris", 1));
+        tripJournal.destroy();
+
+        tripJournal = open(DataSize.ofMegabytes(1));
+
+        assertEquals(3, tripJournal.lastSequence());
+        List<TripChangeEvent> events = tripJournal.read(0, 10);
+        assertEquals(List.of(TripChangeType.SAVED, TripChangeType.UPDATED, TripChangeType.DELETED),
+                events.stream().map(TripChangeEvent::type).toList());
+        assertEquals(trip(1, "Paris", 1), events.get(1).trip());
+        assertEquals(List.of(3L), tripJournal.read(2, 10).stream().map(TripChangeEvent::sequence).toList());
+    }
+
+    @Test
+    void fullSegment_ShouldRollOverToANewFile() throws IOException {
+        tripJournal = open(DataSize.ofBytes(256));
+        for (int i = 1; i <= 20; i++) {
+            tripJournal.onTripSaved(trip(i, "City " + i, 0));
+        }
+
+        assertTrue(segmentFiles().size() > 1);
+        assertEquals(20, tripJournal.read(0, 100).size());
+    }
+
+    @Test
+    void compact_ShouldFoldSealedSegmentsIntoASnapshot() throws IOException {
+        tripJournal = open(DataSize.ofBytes(256));
+        for (int i = 1; i <= 20; i++) {
+            tripJournal.onTripSaved(trip(i, "City " + i, 0));
+        }
+        tripJournal.onTripDeleted(trip(5, "City 5", 0));
+        tripJournal.onTripUpdated(trip(7, "City 7", 0), trip(7, "Harbour 7", 1));
+
+        tripJournal.compact();
+
+        assertEquals(1, segmentFiles().size());
+        assertTrue(tripJournal.firstSequence() > 1);
+        tripJournal.destroy();
+        tripJournal = open(DataSize.ofBytes(256));
+        when(tripRepository.fingerprintTrips()).thenReturn(new TripFingerprintDto(19, 1, 20));
+        List<Trip> trips = new ArrayList<>();
+        tripJournal.forEachTrip(trips::add);
+
+        assertEquals(19, trips.size());
+        assertFalse(trips.stream().anyMatch(trip -> trip.getId() == 5));
+        assertEquals("Harbour 7", trips.stream().filter(trip -> trip.getId() == 7).findFirst().orElseThrow().getDestination());
+        verify(tripRepository, never()).forEachTrip(anyInt(), any());
+    }
+
+    @Test
+    void tornRecord_ShouldBeDroppedOnRecovery() throws IOException {
+        tripJournal = open(DataSize.ofMegabytes(1));
+        tripJournal.onTripSaved(trip(1, "Paris", 0));
+        tripJournal.onTripSaved(trip(2, "London", 0));
+        tripJournal.destroy();
+        // Flip a byte inside the second record's body, as if the crash hit mid-write
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer firstLength = ByteBuffer.allocate(4);
+            channel.read(firstLength, 0);
+            long secondBody = 8 + firstLength.flip().getInt() + 8;
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0x7F}), secondBody + 12);
+        }
+
+        tripJournal = open(DataSize.ofMegabytes(1));
+        tripJournal.onTripSaved(trip(3, "Rome", 0));
+
+        assertEquals(List.of(1, 3), tripJournal.read(0, 10).stream().map(event -> event.trip().getId()).toList());
+        assertEquals(List.of(1L, 2L), tripJournal.read(0, 10).stream().map(TripChangeEvent::sequence).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void forEachTrip_WhenDatabaseDisagrees_ShouldSnapshotTheDatabase() throws IOException {
+        tripJournal = open(DataSize.ofMegabytes(1));
+        tripJournal.onTripSaved(trip(1, "Paris", 0));
+        when(tripRepository.fingerprintTrips()).thenReturn(new TripFingerprintDto(2, 0, 2));
+        doAnswer(invocation -> {
+            Consumer<Trip> action = invocation.getArgument(1);
+            action.accept(trip(1, "Paris", 0));
+            action.accept(trip(2, "London", 0));
+            return null;
+        }).when(tripRepository).forEachTrip(anyInt(), any(Consumer.class));
+
+        List<Trip> trips = new ArrayList<>();
+        tripJournal.forEachTrip(trips::add);
+        assertEquals(2, trips.size());
+
+        tripJournal.destroy();
+        tripJournal = open(DataSize.ofMegabytes(1));
+        trips.clear();
+        tripJournal.forEachTrip(trips::add);
+        assertEquals(List.of(1, 2), trips.stream().map(Trip::getId).toList());
+        verify(tripRepository, times(1)).forEachTrip(anyInt(), any(Consumer.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void forEachTrip_WhenAnUpdateWasLost_ShouldSnapshotTheDatabase() throws IOException {
+        tripJournal = open(DataSize.ofMegabytes(1));
+        tripJournal.onTripSaved(trip(1, "Paris", 0));
+        tripJournal.onTripSaved(trip(2, "London", 0));
+        // Same trip count, but trip 2 was updated without the event reaching the journal
+        when(tripRepository.fingerprintTrips()).thenReturn(new TripFingerprintDto(2, 1, 2));
+        doAnswer(invocation -> {
+            Consumer<Trip> action = invocation.getArgument(1);
+            action.accept(trip(1, "Paris", 0));
+            action.accept(trip(2, "Lisbon", 1));
+            return null;
+        }).when(tripRepository).forEachTrip(anyInt(), any(Consumer.class));
+
+        List<Trip> trips = new ArrayList<>();
+        tripJournal.forEachTrip(trips::add);
+
+        assertEquals(List.of("Paris", "Lisbon"), trips.stream().map(Trip::getDestination).toList());
+    }
+
+    @Test
+    void forEachTrip_WhenEventsLandOutOfOrder_ShouldKeepTheNewestVersion() throws IOException {
+        tripJournal = open(DataSize.ofMegabytes(1));
+        tripJournal.onTripSaved(trip(1, "Paris", 0));
+        tripJournal.onTripUpdated(trip(1, "Paris", 1), trip(1, "Nice", 2));
+        tripJournal.onTripUpdated(trip(1, "Paris", 0), trip(1, "Lyon", 1));
+        tripJournal.onTripSaved(trip(2, "London", 0));
+        tripJournal.onTripDeleted(trip(2, "London", 1));
+        tripJournal.onTripUpdated(trip(2, "London", 0), trip(2, "Leeds", 1));
+        when(tripRepository.fingerprintTrips()).thenReturn(new TripFingerprintDto(1, 2, 1));
+
+        List<Trip> trips = new ArrayList<>();
+        tripJournal.forEachTrip(trips::add);
+
+        assertEquals(List.of(trip(1, "Nice", 2)), trips);
+        verify(tripRepository, never()).forEachTrip(anyInt(), any());
+    }
+
+    private TripJournal open(DataSize segmentSize) throws IOException {
+        return new TripJournal(tripRepository, true, directory.toString(), segmentSize, false);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(JournalSegment.SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static Trip trip(int id, String destination, long version) {
+        return new Trip(id, destination, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 10), 1000.0 + id,
+                TripStatus.PLANNED, version);
+    }
+}
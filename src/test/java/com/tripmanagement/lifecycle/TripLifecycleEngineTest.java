@@ -0,0 +1,51 @@
+package com.tripmanagement.lifecycle;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.service.TripService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "trip.lifecycle.chunk-size=2")
+class TripLifecycleEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.parse("2031-06-15");
+
+    @Autowired
+    private TripLifecycleEngine tripLifecycleEngine;
+
+    @Autowired
+    private TripService tripService;
+
+    @Test
+    void run_ShouldMoveDueTripsAndRefreshCachedViews() {
+        TripDto ended = save("Lifecycle Ended", "2031-06-01", "2031-06-10", TripStatus.ONGOING);
+        TripDto neverStarted = save("Lifecycle Missed", "2031-06-01", "2031-06-14", TripStatus.PLANNED);
+        TripDto started = save("Lifecycle Started", "2031-06-15", "2031-06-20", TripStatus.PLANNED);
+        TripDto underway = save("Lifecycle Underway", "2031-06-10", "2031-06-18", TripStatus.PLANNED);
+        TripDto upcoming = save("Lifecycle Upcoming", "2031-06-16", "2031-06-20", TripStatus.PLANNED);
+        tripService.getTripById(String.valueOf(started.getId()));
+
+        assertTrue(tripLifecycleEngine.run(TODAY) >= 4);
+
+        assertEquals(TripStatus.COMPLETED, statusOf(ended));
+        assertEquals(TripStatus.COMPLETED, statusOf(neverStarted));
+        assertEquals(TripStatus.ONGOING, statusOf(started));
+        assertEquals(TripStatus.ONGOING, statusOf(underway));
+        assertEquals(TripStatus.PLANNED, statusOf(upcoming));
+        assertEquals(0, tripLifecycleEngine.run(TODAY));
+    }
+
+    private TripDto save(String destination, String start, String end, TripStatus status) {
+        return tripService.saveTrip(new TripDto(0, destination, LocalDate.parse(start), LocalDate.parse(end), 500.0, status, 0));
+    }
+
+    private TripStatus statusOf(TripDto tripDto) {
+        return tripService.getTripById(String.valueOf(tripDto.getId())).getStatus();
+    }
+}
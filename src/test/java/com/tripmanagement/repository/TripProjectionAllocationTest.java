@@ -0,0 +1,118 @@
+package com.tripmanagement.repository;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.mapper.TripMapper;
+import com.tripmanagement.mapper.TripMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares bytes allocated on the calling thread by the entity read path (load managed
+ * entities, then map them) with the DTO projection that replaced it.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TripProjectionAllocationTest {
+
+    private static final int TRIPS = 2000;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final TripMapper tripMapper = new TripMapperImpl();
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<Trip> trips = new ArrayList<>(TRIPS);
+        for (int i = 0; i < TRIPS; i++) {
+            LocalDate start = LocalDate.of(2025, 1, 1).plusDays(i % 300);
+            trips.add(new Trip(0, "City " + i, start, start.plusDays(5), 100.0 + i, TripStatus.PLANNED, 0));
+        }
+        tripRepository.saveAll(trips);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tripRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void findAllTripDtos_ShouldMatchMappedEntities() {
+        List<TripDto> mapped = readOnly.execute(status ->
+                tripRepository.findAll().stream().map(tripMapper::mapTripToTripDto).toList());
+        List<TripDto> projected = readOnly.execute(status -> tripRepository.findAllTripDtos());
+
+        assertEquals(TRIPS, projected.size());
+        assertEquals(mapped.stream().sorted((a, b) -> a.getId() - b.getId()).toList(),
+                projected.stream().sorted((a, b) -> a.getId() - b.getId()).toList());
+    }
+
+    @Test
+    void streamTripDtos_ShouldReturnEveryTripInIdOrder() {
+        List<Integer> ids = readOnly.execute(status -> {
+            try (Stream<TripDto> tripDtos = tripRepository.streamTripDtos(100)) {
+                return tripDtos.map(TripDto::getId).toList();
+            }
+        });
+
+        assertEquals(TRIPS, ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    void findAllTripDtos_ShouldAllocateLessThanHydratingEntities() {
+        Supplier<List<TripDto>> entities = () -> readOnly.execute(status ->
+                tripRepository.findAll().stream().map(tripMapper::mapTripToTripDto).toList());
+        Supplier<List<TripDto>> projection = () -> readOnly.execute(status -> tripRepository.findAllTripDtos());
+
+        long entityBytes = minAllocatedBytes(entities);
+        long projectionBytes = minAllocatedBytes(projection);
+
+        assertTrue(projectionBytes < entityBytes,
+                "projection allocated " + projectionBytes + " B, entities " + entityBytes + " B");
+    }
+
+    /**
+     * Runs {@code read} a few times to warm it up, then reports the smallest allocation seen,
+     * which filters out one-off costs such as query plan compilation.
+     */
+    private static long minAllocatedBytes(Supplier<List<TripDto>> read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long min = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            assertEquals(TRIPS, read.get().size());
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            if (round >= ROUNDS) {
+                min = Math.min(min, allocated);
+            }
+        }
+        return min;
+    }
+}
@@ -0,0 +1,92 @@
+package com.tripmanagement.repository;
+
+import com.tripmanagement.dto.TripSummaryDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TripRepositoryTest {
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Test
+    void summarizeTrips_OnEmptyTable_ShouldReturnZeros() {
+        assertEquals(new TripSummaryDto(0, 0.0, 0.0, 0.0), tripRepository.summarizeTrips());
+    }
+
+    @Test
+    void summarizeTrips_ShouldAggregatePrices() {
+        tripRepository.save(trip("Paris", 1500.0));
+        tripRepository.save(trip("London", 2000.0));
+
+        assertEquals(new TripSummaryDto(2, 1500.0, 2000.0, 1750.0), tripRepository.summarizeTrips());
+    }
+
+    @Test
+    void forEachTrip_ShouldVisitEveryTripInIdOrderAcrossBatches() {
+        for (int i = 0; i < 7; i++) {
+            tripRepository.save(trip("City " + i, 100.0 + i));
+        }
+
+        List<Integer> visited = new ArrayList<>();
+        tripRepository.forEachTrip(3, trip -> visited.add(trip.getId()));
+
+        assertEquals(7, visited.size());
+        assertEquals(visited.stream().sorted().toList(), visited);
+    }
+
+    @Test
+    void findAllBy_ShouldScrollForwardAndBackwardByKeyset() {
+        for (double price : new double[]{300.0, 100.0, 200.0, 100.0, 300.0}) {
+            tripRepository.save(trip("City " + price, price));
+        }
+        Sort sort = Sort.by(Sort.Direction.ASC, "price").and(Sort.by(Sort.Direction.ASC, "id"));
+
+        Window<Trip> first = tripRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(2));
+        assertEquals(List.of(100.0, 100.0), prices(first));
+        assertTrue(first.hasNext());
+
+        Trip last = first.getContent().get(1);
+        Window<Trip> second = tripRepository.findAllBy(
+                ScrollPosition.forward(keys(last)), sort, Limit.of(2));
+        assertEquals(List.of(200.0, 300.0), prices(second));
+
+        Trip firstOfSecond = second.getContent().get(0);
+        Window<Trip> back = tripRepository.findAllBy(
+                ScrollPosition.backward(keys(firstOfSecond)), sort, Limit.of(2));
+        assertEquals(first.getContent().stream().map(Trip::getId).toList(),
+                back.getContent().stream().map(Trip::getId).toList());
+        assertFalse(back.hasNext());
+    }
+
+    private static Map<String, Object> keys(Trip trip) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("price", trip.getPrice());
+        keys.put("id", trip.getId());
+        return keys;
+    }
+
+    private static List<Double> prices(Window<Trip> window) {
+        return window.getContent().stream().map(Trip::getPrice).toList();
+    }
+
+    private static Trip trip(String destination, double price) {
+        return new Trip(0, destination, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 10), price, TripStatus.PLANNED, 0);
+    }
+}
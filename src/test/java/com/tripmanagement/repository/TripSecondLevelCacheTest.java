@@ -0,0 +1,71 @@
+package com.tripmanagement.repository;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.service.TripService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "trip.second-level-cache.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TripSecondLevelCacheTest {
+
+    private static final String FROM = "2033-01-01";
+    private static final String TO = "2034-01-01";
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void updateTripById_ShouldBeVisibleImmediatelyThroughCachedQueriesAndEntities() {
+        TripDto trip = tripService.saveTrip(new TripDto(0, "Cache Lisbon", LocalDate.parse("2033-03-01"),
+                LocalDate.parse("2033-03-08"), 800.0, TripStatus.PLANNED, 0));
+        statistics.clear();
+
+        tripService.getTripsBetweenDates(FROM, TO);
+        assertEquals(800.0, tripService.getTripsBetweenDates(FROM, TO).get(0).getPrice());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        tripRepository.findById(trip.getId());
+        tripRepository.findById(trip.getId());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+
+        tripService.updateTripById(trip.getId(), new Trip(0, null, null, null, 950.0, TripStatus.ONGOING, 0), null);
+
+        List<TripDto> afterUpdate = tripService.getTripsBetweenDates(FROM, TO);
+        assertEquals(950.0, afterUpdate.get(0).getPrice());
+        assertEquals(TripStatus.ONGOING, afterUpdate.get(0).getStatus());
+        assertTrue(tripService.getTripByStatus(TripStatus.ONGOING).stream().anyMatch(dto -> dto.getId() == trip.getId()));
+        assertEquals(950.0, tripRepository.findById(trip.getId()).orElseThrow().getPrice());
+        assertTrue(meterRegistry.get("trip.l2cache.entries").tag("region", Trip.CACHE_REGION).gauge().value() > 0);
+    }
+}
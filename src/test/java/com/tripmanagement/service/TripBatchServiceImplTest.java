@@ -0,0 +1,102 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.dto.TripBatchResultDto;
+import com.tripmanagement.dto.TripBatchRowResultDto;
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.index.TripOverlapIndex;
+import com.tripmanagement.repository.TripRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "trip.batch.chunk-size=2")
+class TripBatchServiceImplTest {
+
+    @Autowired
+    private TripBatchService tripBatchService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private TripOverlapIndex tripOverlapIndex;
+
+    @Test
+    void saveTrips_ShouldReportResultPerRowAndKeepValidRows() {
+        List<TripDto> tripDtos = List.of(
+                tripDto("Batch Lisbon", "2025-06-01", "2025-06-10", 1200.0),
+                tripDto("Batch Lisbon", "2025-06-05", "2025-06-12", 1300.0),
+                tripDto("", "2025-06-01", "2025-06-10", 900.0),
+                tripDto("Batch Oslo", "2025-06-01", "2025-06-10", -5.0),
+                tripDto("Batch Oslo", "2025-06-01", "2025-06-10", 800.0),
+                tripDto("batch lisbon", "2025-06-11", "2025-06-20", 1100.0)
+        );
+
+        TripBatchResultDto result = tripBatchService.saveTrips(tripDtos.iterator());
+
+        assertEquals(6, result.getTotal());
+        assertEquals(3, result.getCreated());
+        assertEquals(3, result.getFailed());
+        List<HttpStatus> statuses = result.getRows().stream().map(TripBatchRowResultDto::getStatus).toList();
+        assertEquals(List.of(HttpStatus.CREATED, HttpStatus.CONFLICT, HttpStatus.BAD_REQUEST,
+                HttpStatus.BAD_REQUEST, HttpStatus.CREATED, HttpStatus.CREATED), statuses);
+        assertTrue(result.getRows().get(1).getMessage().contains("row 0"));
+
+        for (TripBatchRowResultDto row : result.getRows()) {
+            if (row.getStatus() == HttpStatus.CREATED) {
+                assertTrue(tripRepository.existsById(row.getId()));
+            }
+        }
+        assertTrue(tripOverlapIndex.findOverlap("Batch Oslo", LocalDate.parse("2025-06-10"),
+                LocalDate.parse("2025-06-10"), 0).isPresent());
+    }
+
+    @Test
+    void saveTrips_WithExistingOverlap_ShouldRejectRow() {
+        tripBatchService.saveTrips(List.of(tripDto("Batch Quito", "2025-03-01", "2025-03-05", 700.0)).iterator());
+
+        TripBatchResultDto result = tripBatchService.saveTrips(
+                List.of(tripDto("Batch Quito", "2025-03-05", "2025-03-09", 750.0)).iterator());
+
+        assertEquals(HttpStatus.CONFLICT, result.getRows().get(0).getStatus());
+        assertTrue(result.getRows().get(0).getMessage().contains("trip "));
+    }
+
+    @Test
+    void saveTrips_WhileSingleSaveHoldsTheDates_ShouldRejectRow() {
+        TripOverlapIndex.Reservation inFlight = tripOverlapIndex.reserve("Batch Lima",
+                LocalDate.parse("2025-04-01"), LocalDate.parse("2025-04-05"), 0).orElseThrow();
+        try {
+            TripBatchResultDto result = tripBatchService.saveTrips(
+                    List.of(tripDto("Batch Lima", "2025-04-05", "2025-04-09", 650.0)).iterator());
+
+            assertEquals(HttpStatus.CONFLICT, result.getRows().get(0).getStatus());
+            assertTrue(result.getRows().get(0).getMessage().contains("being saved concurrently"));
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    @Test
+    void saveTrips_ShouldReleaseTheDatesOfSavedRows() {
+        TripBatchResultDto result = tripBatchService.saveTrips(
+                List.of(tripDto("Batch Accra", "2025-05-01", "2025-05-05", 600.0)).iterator());
+        int id = result.getRows().get(0).getId();
+
+        // Only the saved trip itself still holds the dates, and it is excluded
+        TripOverlapIndex.Reservation update = tripOverlapIndex.reserve("Batch Accra",
+                LocalDate.parse("2025-05-02"), LocalDate.parse("2025-05-03"), id).orElseThrow();
+        update.release();
+    }
+
+    private static TripDto tripDto(String destination, String start, String end, double price) {
+        return new TripDto(0, destination, LocalDate.parse(start), LocalDate.parse(end), price, TripStatus.PLANNED, 0);
+    }
+}
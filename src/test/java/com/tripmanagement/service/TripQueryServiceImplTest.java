@@ -0,0 +1,92 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.dto.TripFacetsDto;
+import com.tripmanagement.dto.TripQueryFilter;
+import com.tripmanagement.dto.TripQueryResultDto;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.exception.InvalidTripRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TripQueryServiceImplTest {
+
+    private static final LocalDate FROM = LocalDate.parse("2035-01-01");
+    private static final LocalDate TO = LocalDate.parse("2036-01-01");
+
+    @Autowired
+    private TripQueryService tripQueryService;
+
+    @Autowired
+    private TripService tripService;
+
+    @BeforeEach
+    void setUp() {
+        if (tripService.getTripsBetweenDates(FROM.toString(), TO.toString()).isEmpty()) {
+            save("Facet Oslo", "2035-02-01", 400.0, TripStatus.PLANNED);
+            save("Facet Oslo", "2035-02-20", 900.0, TripStatus.PLANNED);
+            save("Facet Bergen", "2035-03-05", 1200.0, TripStatus.ONGOING);
+            save("Facet Bergen", "2035-04-10", 2000.0, TripStatus.PLANNED);
+            save("Elsewhere", "2035-04-10", 700.0, TripStatus.PLANNED);
+        }
+    }
+
+    @Test
+    void queryTrips_ShouldCombineCriteriaAndPageWithCursors() {
+        TripQueryFilter filter = new TripQueryFilter("facet", TripStatus.PLANNED, FROM, TO, 500.0, null);
+
+        TripQueryResultDto first = tripQueryService.queryTrips(filter, null, 1, "price,desc", 4);
+        TripQueryResultDto second = tripQueryService.queryTrips(filter, first.getPage().getNextCursor(), 1, null, 4);
+
+        assertEquals(List.of(2000.0), prices(first));
+        assertEquals(List.of(900.0), prices(second));
+        assertNull(second.getPage().getNextCursor());
+        assertEquals(2L, second.getPage().getTotalElements());
+    }
+
+    @Test
+    void queryTrips_ShouldCountFacetsOverAllMatches() {
+        TripFacetsDto facets = tripQueryService.queryTrips(new TripQueryFilter("FACET", null, FROM, TO, null, null), null, 1, null, 4)
+                .getFacets();
+
+        assertEquals(4, facets.getTotalTrips());
+        assertEquals(3L, facets.getByStatus().get(TripStatus.PLANNED));
+        assertEquals(1L, facets.getByStatus().get(TripStatus.ONGOING));
+        assertEquals(0L, facets.getByStatus().get(TripStatus.COMPLETED));
+        assertEquals(List.of("2035-02", "2035-03", "2035-04"), List.copyOf(facets.getByMonth().keySet()));
+        assertEquals(List.of(1L, 1L, 1L, 1L), facets.getByPrice().stream().map(bucket -> bucket.getTrips()).toList());
+    }
+
+    @Test
+    void queryTrips_WithNoMatch_ShouldReturnAnEmptyPage() {
+        TripQueryResultDto result = tripQueryService.queryTrips(new TripQueryFilter("Atlantis", null, null, null, null, null),
+                null, 10, null, 10);
+
+        assertTrue(result.getPage().getContent().isEmpty());
+        assertEquals(0, result.getFacets().getTotalTrips());
+    }
+
+    @Test
+    void queryTrips_WithInvertedPriceRange_ShouldBeRejected() {
+        TripQueryFilter filter = new TripQueryFilter(null, null, null, null, 900.0, 100.0);
+
+        assertThrows(InvalidTripRequestException.class, () -> tripQueryService.queryTrips(filter, null, 10, null, 10));
+    }
+
+    private void save(String destination, String start, double price, TripStatus status) {
+        LocalDate startDate = LocalDate.parse(start);
+        tripService.saveTrip(new TripDto(0, destination, startDate, startDate.plusDays(5), price, status, 0));
+    }
+
+    private static List<Double> prices(TripQueryResultDto result) {
+        return result.getPage().getContent().stream().map(TripDto::getPrice).toList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.tripmanagement.service;
+
+import com.tripmanagement.sharding.TripShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripSequenceCheckTest {
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:sequence_check;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    private final TripSequenceCheck tripSequenceCheck = new TripSequenceCheck(jdbcTemplate, new TripShardRouter(1));
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("drop all objects");
+        jdbcTemplate.execute("create table trips (id integer not null, primary key (id))");
+        jdbcTemplate.execute("create sequence trips_seq start with 1 increment by 50");
+    }
+
+    @Test
+    void freshSequence_OnEmptyTable_ShouldPass() {
+        assertDoesNotThrow(tripSequenceCheck::afterSingletonsInstantiated);
+    }
+
+    @Test
+    void freshSequence_BehindExistingIds_ShouldRefuseToStart() {
+        jdbcTemplate.update("insert into trips (id) values (1), (2), (120)");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, tripSequenceCheck::afterSingletonsInstantiated);
+        assertTrue(ex.getMessage().contains("move the sequence to 170"), ex.getMessage());
+    }
+
+    @Test
+    void sequencePastExistingIds_ShouldPass() {
+        jdbcTemplate.update("insert into trips (id) values (1), (2), (120)");
+        jdbcTemplate.execute("alter sequence trips_seq restart with 170");
+
+        assertDoesNotThrow(tripSequenceCheck::afterSingletonsInstantiated);
+    }
+}
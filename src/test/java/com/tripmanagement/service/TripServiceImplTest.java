@@ -1,25 +1,44 @@
 package com.tripmanagement.service;
 
+import com.tripmanagement.cache.TripCache;
+import com.tripmanagement.cache.TripQueryCoalescer;
+import com.tripmanagement.dto.CursorPageDto;
 import com.tripmanagement.dto.TripDto;
 import com.tripmanagement.dto.TripSummaryDto;
 import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripSortKey;
 import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.exception.InvalidTripRequestException;
+import com.tripmanagement.exception.TripAlreadyExistsException;
 import com.tripmanagement.exception.TripNotFoundException;
+import com.tripmanagement.exception.TripVersionMismatchException;
+import com.tripmanagement.index.TripOverlapIndex;
+import com.tripmanagement.index.TripSearchIndex;
+import com.tripmanagement.journal.TripJournal;
 import com.tripmanagement.mapper.TripMapper;
+import com.tripmanagement.pagination.TripCursor;
+import com.tripmanagement.pagination.TripSort;
 import com.tripmanagement.repository.TripRepository;
+import com.tripmanagement.sharding.TripShardRouter;
+import com.tripmanagement.statistics.TripStatisticsEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -33,7 +52,22 @@ class TripServiceImplTest {
     @Mock
     private TripMapper tripMapper;
 
-    @InjectMocks
+    private TripOverlapIndex tripOverlapIndex;
+
+    @Mock
+    private TripStatisticsEngine tripStatisticsEngine;
+
+    @Mock
+    private TripSearchIndex tripSearchIndex;
+
+    @Mock
+    private TripChangeListener tripChangeListener;
+
+    @Mock
+    private TripJournal tripJournal;
+
+    private TripCache tripCache;
+
     private TripServiceImpl tripService;
 
     private Trip trip;
@@ -43,22 +77,28 @@ class TripServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        tripOverlapIndex = new TripOverlapIndex(tripRepository, tripJournal);
+        tripCache = new TripCache(100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+        TripQueryCoalescer tripQueryCoalescer = new TripQueryCoalescer(Duration.ZERO, new SimpleMeterRegistry());
+        tripService = new TripServiceImpl(tripRepository, tripMapper, tripOverlapIndex, tripStatisticsEngine,
+                tripCache, tripSearchIndex, tripQueryCoalescer, tripJournal, new TripShardRouter(1), List.of(tripChangeListener, tripOverlapIndex, tripCache, tripQueryCoalescer));
+
         trip = new Trip(1, "Paris", LocalDate.of(2025, 6, 1),
-                LocalDate.of(2025, 6, 10), 1500.0, TripStatus.PLANNED);
+                LocalDate.of(2025, 6, 10), 1500.0, TripStatus.PLANNED, 0);
 
         tripDto = new TripDto(1, "Paris", LocalDate.of(2025, 6, 1),
-                LocalDate.of(2025, 6, 10), 1500.0, TripStatus.PLANNED);
+                LocalDate.of(2025, 6, 10), 1500.0, TripStatus.PLANNED, 0);
 
         tripList = Arrays.asList(
                 trip,
                 new Trip(2, "London", LocalDate.of(2025, 7, 1),
-                        LocalDate.of(2025, 7, 10), 2000.0, TripStatus.PLANNED)
+                        LocalDate.of(2025, 7, 10), 2000.0, TripStatus.PLANNED, 0)
         );
 
         tripDtoList = Arrays.asList(
                 tripDto,
                 new TripDto(2, "London", LocalDate.of(2025, 7, 1),
-                        LocalDate.of(2025, 7, 10), 2000.0, TripStatus.PLANNED)
+                        LocalDate.of(2025, 7, 10), 2000.0, TripStatus.PLANNED, 0)
         );
     }
 
@@ -73,75 +113,242 @@ class TripServiceImplTest {
         assertNotNull(result);
         assertEquals(tripDto, result);
         verify(tripRepository).save(trip);
+        verify(tripChangeListener).onTripSaved(trip);
         System.out.println("saved successfully");
     }
 
+    @Test
+    void saveTrip_WithOverlappingDates_ShouldThrowException() {
+        when(tripMapper.mapTripDtoToTrip(tripDto)).thenReturn(trip);
+        tripOverlapIndex.put(new Trip(7, "paris", LocalDate.of(2025, 6, 10), LocalDate.of(2025, 6, 12), 900.0, TripStatus.PLANNED, 0));
+
+        assertThrows(TripAlreadyExistsException.class, () -> tripService.saveTrip(tripDto));
+        verify(tripRepository, never()).save(any(Trip.class));
+    }
+
+    @Test
+    void saveTrip_WhileOverlappingSaveIsInFlight_ShouldThrowException() throws Exception {
+        TripDto overlapping = new TripDto(0, "Paris", LocalDate.of(2025, 6, 5), LocalDate.of(2025, 6, 8), 900.0, TripStatus.PLANNED, 0);
+        Trip overlappingTrip = new Trip(0, "Paris", overlapping.getStartDate(), overlapping.getEndDate(), 900.0, TripStatus.PLANNED, 0);
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(tripMapper.mapTripDtoToTrip(tripDto)).thenReturn(trip);
+        when(tripMapper.mapTripDtoToTrip(overlapping)).thenReturn(overlappingTrip);
+        when(tripRepository.save(trip)).thenAnswer(invocation -> {
+            inserting.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return trip;
+        });
+
+        CompletableFuture<TripDto> first = CompletableFuture.supplyAsync(() -> tripService.saveTrip(tripDto));
+        try {
+            assertTrue(inserting.await(10, TimeUnit.SECONDS));
+            assertThrows(TripAlreadyExistsException.class, () -> tripService.saveTrip(overlapping));
+        } finally {
+            release.countDown();
+        }
+        first.get(10, TimeUnit.SECONDS);
+
+        assertThrows(TripAlreadyExistsException.class, () -> tripService.saveTrip(overlapping));
+        verify(tripRepository, never()).save(overlappingTrip);
+    }
+
+    @Test
+    void saveTrip_WhenInsertFails_ShouldReleaseTheDates() {
+        when(tripMapper.mapTripDtoToTrip(tripDto)).thenReturn(trip);
+        when(tripRepository.save(trip)).thenThrow(new IllegalStateException("insert failed")).thenReturn(trip);
+
+        assertThrows(IllegalStateException.class, () -> tripService.saveTrip(tripDto));
+
+        tripService.saveTrip(tripDto);
+        verify(tripRepository, times(2)).save(trip);
+    }
+
+    @Test
+    void updateTripById_WithOverlappingDates_ShouldThrowException() {
+        Trip update = new Trip(0, null, LocalDate.of(2025, 7, 5), LocalDate.of(2025, 7, 8), 0, null, 0);
+
+        when(tripRepository.findById(1)).thenReturn(Optional.of(trip));
+        tripOverlapIndex.put(new Trip(2, "Paris", LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 5), 900.0, TripStatus.PLANNED, 0));
+
+        assertThrows(TripAlreadyExistsException.class, () -> tripService.updateTripById(1, update, null));
+        verify(tripRepository, never()).saveAndFlush(any(Trip.class));
+    }
+
     @Test
     void getAllTrips_ShouldReturnAllTrips() {
-        when(tripRepository.findAll()).thenReturn(tripList);
-        when(tripMapper.mapTripToTripDto(any(Trip.class)))
-                .thenReturn(tripDtoList.get(0), tripDtoList.get(1));
+        when(tripRepository.findAllTripDtos()).thenReturn(tripDtoList);
 
         List<TripDto> result = tripService.getAllTrips();
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(tripRepository).findAll();
+        verify(tripRepository).findAllTripDtos();
+        verify(tripMapper, never()).mapTripToTripDto(any(Trip.class));
         System.out.println(result);
     }
 
     @Test
     void getPaginatedTrips_ShouldReturnPageOfTrips(){
         Pageable pageable = PageRequest.of(0, 10, Sort.unsorted());
-        Page<Trip> tripPage = new PageImpl<>(tripList, pageable, tripList.size());
+        Page<TripDto> tripDtoPage = new PageImpl<>(tripDtoList, pageable, tripDtoList.size());
 
-        when(tripRepository.findAll(any(Pageable.class))).thenReturn((tripPage));
-        when(tripMapper.mapTripToTripDto(any(Trip.class)))
-                .thenReturn(tripDtoList.get(0), tripDtoList.get(1));
+        when(tripRepository.findTripDtos(any(Pageable.class))).thenReturn(tripDtoPage);
 
         Page<TripDto> result = tripService.getPaginatedTrips(0, 10, null);
 
         assertNotNull(result);
         assertEquals(2, result.getContent().size());
-        verify(tripRepository).findAll(any(Pageable.class));
+        verify(tripRepository).findTripDtos(any(Pageable.class));
+    }
+
+    @Test
+    void getPaginatedTrips_WithUnsupportedSortField_ShouldThrowException() {
+        assertThrows(InvalidTripRequestException.class, () -> tripService.getPaginatedTrips(0, 10, "status,desc"));
+        verify(tripRepository, never()).findTripDtos(any(Pageable.class));
+    }
+
+    @Test
+    void getPaginatedTrips_WithUnsupportedSortDirection_ShouldThrowBadRequest() {
+        InvalidTripRequestException exception = assertThrows(InvalidTripRequestException.class,
+                () -> tripService.getPaginatedTrips(0, 10, "price,foo"));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertThrows(InvalidTripRequestException.class, () -> tripService.getPaginatedTrips(0, 10, "price,desc,id"));
+        verify(tripRepository, never()).findTripDtos(any(Pageable.class));
+    }
+
+    @Test
+    void getPaginatedTrips_WithSizeOverLimit_ShouldThrowBadRequest() {
+        InvalidTripRequestException exception = assertThrows(InvalidTripRequestException.class,
+                () -> tripService.getPaginatedTrips(0, 1001, null));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertThrows(InvalidTripRequestException.class, () -> tripService.getPaginatedTrips(-1, 10, null));
+        verify(tripRepository, never()).findTripDtos(any(Pageable.class));
+    }
+
+    @Test
+    void getPaginatedTrips_WithDeepOffsetUnsharded_ShouldReadThePage() {
+        when(tripRepository.findTripDtos(any(Pageable.class))).thenReturn(Page.empty());
+
+        tripService.getPaginatedTrips(Integer.MAX_VALUE, 1000, null);
+
+        verify(tripRepository).findTripDtos(PageRequest.of(Integer.MAX_VALUE, 1000, Sort.by("id")));
+    }
+
+    @Test
+    void getPaginatedTrips_WithDeepOffsetSharded_ShouldThrowBadRequest() {
+        TripServiceImpl shardedTripService = new TripServiceImpl(tripRepository, tripMapper, tripOverlapIndex, tripStatisticsEngine,
+                tripCache, tripSearchIndex, new TripQueryCoalescer(Duration.ZERO, new SimpleMeterRegistry()), tripJournal,
+                new TripShardRouter(2), List.of());
+
+        assertThrows(InvalidTripRequestException.class, () -> shardedTripService.getPaginatedTrips(11, 1000, null));
+        assertThrows(InvalidTripRequestException.class, () -> shardedTripService.getPaginatedTrips(Integer.MAX_VALUE, 1000, null));
+        verify(tripRepository, never()).findTripDtos(any(Pageable.class));
+    }
+
+    @Test
+    void getTripsByCursor_WithSizeOverLimit_ShouldThrowBadRequest() {
+        InvalidTripRequestException exception = assertThrows(InvalidTripRequestException.class,
+                () -> tripService.getTripsByCursor("", 1001, null, false));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(tripRepository);
+    }
+
+    @Test
+    void getTripsByCursor_ShouldReturnNextCursorThatResumesAfterLastTrip() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "price").and(Sort.by(Sort.Direction.DESC, "id"));
+        when(tripRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(2)))
+                .thenReturn(Window.from(tripList, ScrollPosition::offset, true));
+        when(tripMapper.mapTripToTripDto(any(Trip.class)))
+                .thenReturn(tripDtoList.get(0), tripDtoList.get(1));
+
+        CursorPageDto<TripDto> result = tripService.getTripsByCursor("", 2, "price,desc", false);
+
+        assertEquals(2, result.getContent().size());
+        assertNull(result.getPrevCursor());
+        assertNull(result.getTotalElements());
+        TripCursor next = TripCursor.decode(result.getNextCursor());
+        assertEquals(new TripSort(TripSortKey.PRICE, Sort.Direction.DESC), next.sort());
+        assertEquals(2000.0, next.value());
+        assertEquals(2, next.id());
+        assertFalse(next.backward());
     }
 
     @Test
     void getTripById_WithValidId_ShouldReturnTrip() {
-        when(tripRepository.findById(1)).thenReturn(Optional.of(trip));
-        when(tripMapper.mapTripToTripDto(trip)).thenReturn(tripDto);
+        when(tripRepository.findTripDtoById(1)).thenReturn(Optional.of(tripDto));
 
         TripDto result = tripService.getTripById("1");
 
         assertNotNull(result);
         assertEquals(tripDto, result);
-        verify(tripRepository).findById(1);
+        verify(tripRepository).findTripDtoById(1);
     }
 
     @Test
     void getTripById_WithInvalidId_ShouldThrowException(){
-        when(tripRepository.findById(99)).thenReturn(Optional.empty());
+        when(tripRepository.findTripDtoById(99)).thenReturn(Optional.empty());
         assertThrows(TripNotFoundException.class, ()-> tripService.getTripById("99"));
-        verify(tripRepository).findById(99);
+        verify(tripRepository).findTripDtoById(99);
+    }
+
+    @Test
+    void getTripById_ShouldServeRepeatedReadsFromCache() {
+        when(tripRepository.findTripDtoById(1)).thenReturn(Optional.of(tripDto));
+
+        tripService.getTripById("1");
+        TripDto result = tripService.getTripById("1");
+
+        assertEquals(tripDto, result);
+        verify(tripRepository, times(1)).findTripDtoById(1);
+        assertEquals(1, tripService.getTripCacheStats().getHitCount());
+    }
+
+    @Test
+    void getTripById_WithMissingId_ShouldCacheNegativeResult() {
+        when(tripRepository.findTripDtoById(99)).thenReturn(Optional.empty());
+
+        assertThrows(TripNotFoundException.class, () -> tripService.getTripById("99"));
+        assertThrows(TripNotFoundException.class, () -> tripService.getTripById("99"));
+
+        verify(tripRepository, times(1)).findTripDtoById(99);
+        assertEquals(1, tripService.getTripCacheStats().getNegativeHitCount());
+    }
+
+    @Test
+    void getTripById_AfterDelete_ShouldNotReturnStaleTrip() {
+        when(tripRepository.findTripDtoById(1)).thenReturn(Optional.of(tripDto), Optional.empty());
+        when(tripRepository.findById(1)).thenReturn(Optional.of(trip));
+        when(tripMapper.mapTripToTripDto(trip)).thenReturn(tripDto);
+
+        tripService.getTripById("1");
+        tripService.deleteTripById(1, null);
+
+        assertThrows(TripNotFoundException.class, () -> tripService.getTripById("1"));
     }
 
     @Test
     void updateTripById_WithValidId_ShouldReturUpdatedTrip(){
         Trip updatedTrip = new Trip(1,"Update Paris",LocalDate.of(2025,6,1),
-                LocalDate.of(2025,6,10), 1600.0, TripStatus.PLANNED);
+                LocalDate.of(2025,6,10), 1600.0, TripStatus.PLANNED, 0);
         TripDto updatedTripDto = new TripDto(1, "Updated Paris", LocalDate.of(2025, 6, 1),
-                LocalDate.of(2025, 6, 10), 1600.0, TripStatus.PLANNED);
+                LocalDate.of(2025, 6, 10), 1600.0, TripStatus.PLANNED, 0);
+
+        Trip previousTrip = new Trip(1, "Paris", LocalDate.of(2025, 6, 1),
+                LocalDate.of(2025, 6, 10), 1500.0, TripStatus.PLANNED, 0);
 
         when(tripRepository.findById(1)).thenReturn(Optional.of(trip));
-        when(tripRepository.save(any(Trip.class))).thenReturn(updatedTrip);
+        when(tripMapper.copyTrip(trip)).thenReturn(previousTrip);
+        when(tripRepository.saveAndFlush(any(Trip.class))).thenReturn(updatedTrip);
         when(tripMapper.mapTripToTripDto(updatedTrip)).thenReturn(updatedTripDto);
 
-        TripDto result = tripService.updateTripById(1, updatedTrip);
+        TripDto result = tripService.updateTripById(1, updatedTrip, null);
 
         assertNotNull(result);
         assertEquals(updatedTripDto, result);
         verify(tripRepository).findById(1);
-        verify(tripRepository).save(any(Trip.class));
+        verify(tripRepository).saveAndFlush(any(Trip.class));
+        verify(tripChangeListener).onTripUpdated(previousTrip, updatedTrip);
     }
 
     @Test
@@ -149,38 +356,77 @@ class TripServiceImplTest {
         when(tripRepository.findById(1)).thenReturn(Optional.of(trip));
         when(tripMapper.mapTripToTripDto(trip)).thenReturn(tripDto);
 
-        TripDto result = tripService.deleteTripById(1);
+        TripDto result = tripService.deleteTripById(1, null);
 
         assertNotNull(result);
         assertEquals(tripDto, result);
         verify(tripRepository).findById(1);
         verify(tripRepository).delete(trip);
+        verify(tripChangeListener).onTripDeleted(trip);
+    }
+
+    @Test
+    void updateTripById_WithStaleVersion_ShouldThrowPreconditionFailed() {
+        trip.setVersion(3);
+        when(tripRepository.findById(1)).thenReturn(Optional.of(trip));
+
+        TripVersionMismatchException exception = assertThrows(TripVersionMismatchException.class,
+                () -> tripService.updateTripById(1, new Trip(), 2L));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+        verify(tripRepository, never()).saveAndFlush(any(Trip.class));
+    }
+
+    @Test
+    void deleteTripById_WithStaleVersion_ShouldNotDelete() {
+        trip.setVersion(3);
+        when(tripRepository.findById(1)).thenReturn(Optional.of(trip));
+
+        assertThrows(TripVersionMismatchException.class, () -> tripService.deleteTripById(1, 2L));
+        verify(tripRepository, never()).delete(any(Trip.class));
+        verify(tripChangeListener, never()).onTripDeleted(any(Trip.class));
     }
 
     @Test
     void getTripsByDestination_ShouldReturnMatchingTrips() {
-        when(tripRepository.findByDestinationContainingIgnoreCase("Paris")).thenReturn(Collections.singletonList(trip));
-        when(tripMapper.mapTripToTripDto(trip)).thenReturn(tripDto);
+        when(tripSearchIndex.search("Paris")).thenReturn(List.of(1));
+        when(tripRepository.findTripDtosByIdIn(List.of(1))).thenReturn(Collections.singletonList(tripDto));
 
         List<TripDto> result = tripService.getTripsByDestination("Paris");
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(tripDto, result.get(0));
-        verify(tripRepository).findByDestinationContainingIgnoreCase("Paris");
+        verify(tripRepository).findTripDtosByIdIn(List.of(1));
+        verifyNoMoreInteractions(tripRepository);
+    }
+
+    @Test
+    void getTripsByDestination_ShouldKeepIndexRanking() {
+        when(tripSearchIndex.search("on")).thenReturn(List.of(2, 1));
+        when(tripRepository.findTripDtosByIdIn(List.of(2, 1))).thenReturn(tripDtoList);
+
+        List<TripDto> result = tripService.getTripsByDestination("on");
+
+        assertEquals(List.of(tripDtoList.get(1), tripDtoList.get(0)), result);
+    }
+
+    @Test
+    void getTripsByDestination_WithNoMatch_ShouldThrowException() {
+        when(tripSearchIndex.search("Atlantis")).thenReturn(List.of());
+
+        assertThrows(TripNotFoundException.class, () -> tripService.getTripsByDestination("Atlantis"));
     }
 
     @Test
     void getTripByStatus_ShouldReturnMatchingTrips() {
-        when(tripRepository.findByStatus(TripStatus.PLANNED)).thenReturn(tripList);
-        when(tripMapper.mapTripToTripDto(any(Trip.class)))
-                .thenReturn(tripDtoList.get(0), tripDtoList.get(1));
+        when(tripRepository.findTripDtosByStatus(TripStatus.PLANNED)).thenReturn(tripDtoList);
 
         List<TripDto> result = tripService.getTripByStatus(TripStatus.PLANNED);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(tripRepository).findByStatus(TripStatus.PLANNED);
+        verify(tripRepository).findTripDtosByStatus(TripStatus.PLANNED);
     }
 
     @Test
@@ -188,21 +434,18 @@ class TripServiceImplTest {
         LocalDate start = LocalDate.of(2025, 6, 1);
         LocalDate end = LocalDate.of(2025, 7, 30);
 
-        when(tripRepository.findByStartDateGreaterThanEqualAndEndDateLessThan(start, end))
-                .thenReturn(tripList);
-        when(tripMapper.mapTripToTripDto(any(Trip.class)))
-                .thenReturn(tripDtoList.get(0), tripDtoList.get(1));
+        when(tripRepository.findTripDtosBetween(start, end)).thenReturn(tripDtoList);
 
         List<TripDto> result = tripService.getTripsBetweenDates("2025-06-01", "2025-07-30");
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(tripRepository).findByStartDateGreaterThanEqualAndEndDateLessThan(start, end);
+        verify(tripRepository).findTripDtosBetween(start, end);
     }
 
     @Test
     void getTripSummary_ShouldReturnCorrectSummary() {
-        when(tripRepository.findAll()).thenReturn(tripList);
+        when(tripStatisticsEngine.getSummary()).thenReturn(new TripSummaryDto(2, 1500.0, 2000.0, 1750.0));
 
         TripSummaryDto result = tripService.getTripSummary();
 
@@ -211,7 +454,7 @@ class TripServiceImplTest {
         assertEquals(1500.0, result.getMinPrice());
         assertEquals(2000.0, result.getMaxPrice());
         assertEquals(1750.0, result.getAveragePrice());
-        verify(tripRepository).findAll();
+        verify(tripRepository, never()).findAllTripDtos();
     }
 
 }
\ No newline at end of file
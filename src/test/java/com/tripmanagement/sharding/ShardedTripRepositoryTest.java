@@ -0,0 +1,178 @@
+package com.tripmanagement.sharding;
+
+import com.tripmanagement.dto.CursorPageDto;
+import com.tripmanagement.dto.TripBatchResultDto;
+import com.tripmanagement.dto.TripDto;
+import com.tripmanagement.dto.TripSummaryDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.lifecycle.TripLifecycleEngine;
+import com.tripmanagement.repository.ReactiveTripRepository;
+import com.tripmanagement.repository.TripRepository;
+import com.tripmanagement.service.TripBatchService;
+import com.tripmanagement.service.TripService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "trip.sharding.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:sharded_0;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "trip.sharding.shards[0].url=jdbc:h2:mem:sharded_1;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "trip.sharding.shards[0].username=sa",
+        "trip.sharding.shards[1].url=jdbc:h2:mem:sharded_2;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "trip.sharding.shards[1].username=sa",
+        "trip.lifecycle.chunk-size=2"
+})
+class ShardedTripRepositoryTest {
+
+    private final List<JdbcTemplate> shards = IntStream.range(0, 3)
+            .mapToObj(shard -> new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:sharded_" + shard + ";DB_CLOSE_DELAY=-1", "sa", "")))
+            .toList();
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private TripBatchService tripBatchService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private TripShardRouter tripShardRouter;
+
+    @Autowired
+    private TripLifecycleEngine tripLifecycleEngine;
+
+    @Test
+    void saveTrip_ShouldStoreTripOnItsDestinationsShardWithTheShardInItsId() {
+        List<TripDto> saved = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            saved.add(save("Placement " + i, "2032-01-01", "2032-01-05", 100.0 + i));
+        }
+
+        for (TripDto tripDto : saved) {
+            int shard = tripShardRouter.shardOf(tripDto.getDestination());
+            assertEquals(shard, tripDto.getId() % TripShardRouter.MAX_SHARDS);
+            for (int other = 0; other < shards.size(); other++) {
+                assertEquals(other == shard ? 1 : 0, rowsWithId(other, tripDto.getId()), "shard " + other);
+            }
+            assertEquals(tripDto.getDestination(), tripService.getTripById(String.valueOf(tripDto.getId())).getDestination());
+        }
+        assertEquals(3, saved.stream().map(tripDto -> tripShardRouter.shardOf(tripDto.getDestination())).distinct().count());
+
+        TripDto moved = saved.get(0);
+        Trip changes = new Trip();
+        changes.setDestination("Placement Elsewhere");
+        tripService.updateTripById(moved.getId(), changes, null);
+        assertEquals(1, rowsWithId(moved.getId() % TripShardRouter.MAX_SHARDS, moved.getId()));
+        tripService.deleteTripById(moved.getId(), null);
+        assertTrue(tripRepository.findById(moved.getId()).isEmpty());
+    }
+
+    @Test
+    void pagesAndCursors_ShouldMergeShardsInSortOrder() {
+        for (int i = 0; i < 10; i++) {
+            save("Paging " + i, "2032-02-01", "2032-02-05", 500.0 + (i % 4));
+        }
+        List<Integer> expected = tripService.getAllTrips().stream()
+                .sorted(Comparator.comparingDouble(TripDto::getPrice).reversed().thenComparing(TripDto::getId, Comparator.reverseOrder()))
+                .map(TripDto::getId)
+                .toList();
+
+        assertEquals(expected.subList(3, 6), tripService.getPaginatedTrips(1, 3, "price,desc").getContent().stream().map(TripDto::getId).toList());
+        assertEquals(expected.size(), tripService.getPaginatedTrips(1, 3, "price,desc").getTotalElements());
+
+        List<Integer> scrolled = new ArrayList<>();
+        CursorPageDto<TripDto> page = tripService.getTripsByCursor(null, 4, "price,desc", true);
+        assertEquals(expected.size(), page.getTotalElements());
+        page.getContent().forEach(tripDto -> scrolled.add(tripDto.getId()));
+        while (page.getNextCursor() != null) {
+            page = tripService.getTripsByCursor(page.getNextCursor(), 4, null, false);
+            page.getContent().forEach(tripDto -> scrolled.add(tripDto.getId()));
+        }
+        assertEquals(expected, scrolled);
+
+        CursorPageDto<TripDto> before = tripService.getTripsByCursor(page.getPrevCursor(), 4, null, false);
+        int end = expected.size() - page.getContent().size();
+        assertEquals(expected.subList(end - 4, end), before.getContent().stream().map(TripDto::getId).toList());
+    }
+
+    @Test
+    void sortByDestination_ShouldMergeShardsInTheDatabasesOrder() {
+        List<String> destinations = List.of("sort alpha2", "Sort alpha", "sort Beta", "SORT gamma", "sort delta", "Sort Epsilon");
+        destinations.forEach(destination -> save(destination, "2032-05-01", "2032-05-05", 400.0));
+        assertTrue(destinations.stream().map(tripShardRouter::shardOf).distinct().count() > 1);
+
+        List<String> merged = tripService.getPaginatedTrips(0, 1000, "destination,asc").getContent().stream()
+                .map(TripDto::getDestination)
+                .filter(destination -> destination.toLowerCase().startsWith("sort "))
+                .toList();
+
+        // Binary order, as each shard sorts: upper case before lower case
+        assertEquals(List.of("SORT gamma", "Sort Epsilon", "Sort alpha", "sort Beta", "sort alpha2", "sort delta"), merged);
+    }
+
+    @Test
+    void summaryAndStream_ShouldCoverEveryShard() {
+        for (int i = 0; i < 6; i++) {
+            save("Summary " + i, "2032-03-01", "2032-03-05", 50.0 * (i + 1));
+        }
+        List<TripDto> all = tripService.getAllTrips();
+
+        TripSummaryDto summary = tripRepository.summarizeTrips();
+        assertEquals(all.size(), summary.getTotalTrips());
+        assertEquals(all.stream().mapToDouble(TripDto::getPrice).min().orElseThrow(), summary.getMinPrice());
+        assertEquals(all.stream().mapToDouble(TripDto::getPrice).max().orElseThrow(), summary.getMaxPrice());
+        assertEquals(all.stream().mapToDouble(TripDto::getPrice).average().orElseThrow(), summary.getAveragePrice(), 1e-9);
+        assertEquals(all.size(), tripRepository.count());
+
+        List<Integer> streamed = new ArrayList<>();
+        tripService.streamAllTrips(tripDto -> streamed.add(tripDto.getId()));
+        assertEquals(all.stream().map(TripDto::getId).sorted().toList(), streamed);
+    }
+
+    @Test
+    void batchAndLifecycle_ShouldWorkShardByShard() {
+        List<TripDto> rows = IntStream.range(0, 9)
+                .mapToObj(i -> new TripDto(0, "Batch " + i, LocalDate.parse("2032-04-01"), LocalDate.parse("2032-04-10"),
+                        300.0, TripStatus.PLANNED, 0))
+                .toList();
+
+        TripBatchResultDto result = tripBatchService.saveTrips(rows.iterator());
+
+        assertEquals(9, result.getCreated());
+        List<TripDto> batch = tripService.getAllTrips().stream().filter(tripDto -> tripDto.getDestination().startsWith("Batch ")).toList();
+        assertEquals(9, batch.size());
+        assertTrue(tripLifecycleEngine.run(LocalDate.parse("2032-04-05")) >= 9);
+        batch.forEach(tripDto -> assertEquals(TripStatus.ONGOING,
+                tripService.getTripById(String.valueOf(tripDto.getId())).getStatus()));
+    }
+
+    @Test
+    void reactiveRepository_WithShardingEnabled_ShouldRefuseToStart() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> new ReactiveTripRepository(
+                "r2dbc:h2:mem:///sharded_0", "sa", "", 1, Duration.ofSeconds(1), 10, true));
+        assertTrue(exception.getMessage().contains("trip.sharding.enabled"));
+    }
+
+    private TripDto save(String destination, String start, String end, double price) {
+        return tripService.saveTrip(new TripDto(0, destination, LocalDate.parse(start), LocalDate.parse(end), price, TripStatus.PLANNED, 0));
+    }
+
+    private int rowsWithId(int shard, int id) {
+        return shards.get(shard).queryForObject("select count(*) from trips where id = ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,83 @@
+package com.tripmanagement.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceSketchTest {
+
+    private static final double[] QUANTILES = {0.0, 0.1, 0.5, 0.9, 0.99, 1.0};
+
+    @Test
+    void quantile_ShouldStayWithinRelativeAccuracyOfExactValue() {
+        double[] prices = logNormalPrices(100_000, 42);
+        PriceSketch sketch = new PriceSketch();
+        Arrays.stream(prices).forEach(sketch::add);
+
+        assertWithinAccuracy(prices, sketch);
+        assertTrue(sketch.sizeInBytes() < 4096, "sketch grew to " + sketch.sizeInBytes() + " bytes");
+    }
+
+    @Test
+    void remove_ShouldLeaveTheSameSketchAsNeverAdding() {
+        double[] prices = logNormalPrices(10_000, 7);
+        PriceSketch sketch = new PriceSketch();
+        Arrays.stream(prices).forEach(sketch::add);
+        double[] removed = Arrays.copyOfRange(prices, 0, 5_000);
+        Arrays.stream(removed).forEach(sketch::remove);
+        sketch.remove(123456789.0);
+
+        double[] kept = Arrays.copyOfRange(prices, 5_000, prices.length);
+        assertEquals(kept.length, sketch.count());
+        assertWithinAccuracy(kept, sketch);
+    }
+
+    @Test
+    void merge_ShouldMatchOneSketchOverBothInputs() {
+        double[] prices = logNormalPrices(20_000, 11);
+        PriceSketch left = new PriceSketch();
+        PriceSketch right = new PriceSketch();
+        PriceSketch whole = new PriceSketch();
+        for (int i = 0; i < prices.length; i++) {
+            (i % 3 == 0 ? left : right).add(prices[i] * (i % 3 == 0 ? 100 : 1));
+            whole.add(prices[i] * (i % 3 == 0 ? 100 : 1));
+        }
+
+        left.merge(right);
+
+        for (double q : QUANTILES) {
+            assertEquals(whole.quantile(q), left.quantile(q));
+        }
+    }
+
+    @Test
+    void emptySketch_ShouldReturnNaN() {
+        PriceSketch sketch = new PriceSketch();
+        sketch.add(100.0);
+        sketch.remove(100.0);
+
+        assertEquals(0, sketch.count());
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+    }
+
+    private static void assertWithinAccuracy(double[] prices, PriceSketch sketch) {
+        double[] sorted = prices.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            assertEquals(exact, sketch.quantile(q), exact * PriceSketch.RELATIVE_ACCURACY, "quantile " + q);
+        }
+    }
+
+    private static double[] logNormalPrices(int count, long seed) {
+        Random random = new Random(seed);
+        double[] prices = new double[count];
+        for (int i = 0; i < count; i++) {
+            prices[i] = Math.round(Math.exp(7.5 + random.nextGaussian()) * 100) / 100.0;
+        }
+        return prices;
+    }
+}
@@ -0,0 +1,157 @@
+package com.tripmanagement.statistics;
+
+import com.tripmanagement.dto.TripPriceQuantilesDto;
+import com.tripmanagement.dto.TripQuantilesDto;
+import com.tripmanagement.dto.TripStatisticsDto;
+import com.tripmanagement.dto.TripSummaryDto;
+import com.tripmanagement.entity.Trip;
+import com.tripmanagement.enums.TripStatus;
+import com.tripmanagement.repository.TripRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TripStatisticsEngineTest {
+
+    @Mock
+    private TripRepository tripRepository;
+
+    @InjectMocks
+    private TripStatisticsEngine tripStatisticsEngine;
+
+    private Trip paris;
+    private Trip london;
+    private Trip rome;
+
+    @BeforeEach
+    void setUp() {
+        paris = trip(1, "Paris", 1500.0, TripStatus.PLANNED);
+        london = trip(2, "London", 2000.0, TripStatus.ONGOING);
+        rome = trip(3, "Rome", 4000.0, TripStatus.PLANNED);
+        tripStatisticsEngine.onTripSaved(paris);
+        tripStatisticsEngine.onTripSaved(london);
+        tripStatisticsEngine.onTripSaved(rome);
+    }
+
+    @Test
+    void getSummary_ShouldReflectSavedTrips() {
+        assertEquals(new TripSummaryDto(3, 1500.0, 4000.0, 2500.0), tripStatisticsEngine.getSummary());
+    }
+
+    @Test
+    void onTripDeleted_ShouldRecomputeMinAndMax() {
+        tripStatisticsEngine.onTripDeleted(rome);
+        tripStatisticsEngine.onTripDeleted(paris);
+
+        assertEquals(new TripSummaryDto(1, 2000.0, 2000.0, 2000.0), tripStatisticsEngine.getSummary());
+    }
+
+    @Test
+    void onTripUpdated_ShouldMoveTripBetweenGroups() {
+        Trip completedRome = trip(3, "Rome", 1000.0, TripStatus.COMPLETED, 1);
+
+        tripStatisticsEngine.onTripUpdated(rome, completedRome);
+
+        TripStatisticsDto statistics = tripStatisticsEngine.getStatistics();
+        assertEquals(new TripSummaryDto(3, 1000.0, 2000.0, 1500.0), statistics.getOverall());
+        assertEquals(new TripSummaryDto(1, 1500.0, 1500.0, 1500.0), statistics.getByStatus().get(TripStatus.PLANNED));
+        assertEquals(new TripSummaryDto(1, 1000.0, 1000.0, 1000.0), statistics.getByStatus().get(TripStatus.COMPLETED));
+        assertEquals(new TripSummaryDto(1, 1000.0, 1000.0, 1000.0), statistics.getByDestination().get("rome"));
+    }
+
+    @Test
+    void getQuantiles_ShouldStayWithinRangeAndFollowUpdates() {
+        tripStatisticsEngine.onTripUpdated(rome, trip(3, "Rome", 1000.0, TripStatus.COMPLETED, 1));
+
+        TripPriceQuantilesDto quantiles = tripStatisticsEngine.getQuantiles();
+        TripQuantilesDto overall = quantiles.getOverall();
+        assertEquals(3, overall.getTotalTrips());
+        assertEquals(1500.0, overall.getMedianPrice(), 1500.0 * quantiles.getRelativeError());
+        assertEquals(1500.0, overall.getP99Price(), 1500.0 * quantiles.getRelativeError());
+        assertEquals(1000.0, quantiles.getByDestination().get("rome").getMedianPrice());
+        assertEquals(1, quantiles.getByStatus().get(TripStatus.COMPLETED).getTotalTrips());
+    }
+
+    @Test
+    void reconcile_WithMatchingDatabase_ShouldNotRebuild() {
+        when(tripRepository.summarizeTrips()).thenReturn(new TripSummaryDto(3, 1500.0, 4000.0, 2500.0));
+
+        assertFalse(tripStatisticsEngine.reconcile());
+    }
+
+    @Test
+    void reconcile_WithDrift_ShouldRebuildFromRepository() {
+        when(tripRepository.summarizeTrips()).thenReturn(new TripSummaryDto(0, 0.0, 0.0, 0.0));
+
+        assertTrue(tripStatisticsEngine.reconcile());
+        assertEquals(0, tripStatisticsEngine.getSummary().getTotalTrips());
+    }
+
+    @Test
+    void repeatedAndStaleNotifications_ShouldBeCountedOnce() {
+        Trip completedRome = trip(3, "Rome", 1000.0, TripStatus.COMPLETED, 1);
+        tripStatisticsEngine.onTripUpdated(rome, completedRome);
+
+        // A rebuild that already read the new trip, then its save notification
+        tripStatisticsEngine.onTripSaved(london);
+        // The update notifications of an older version arriving late
+        tripStatisticsEngine.onTripUpdated(rome, rome);
+        tripStatisticsEngine.onTripUpdated(rome, completedRome);
+
+        assertEquals(new TripSummaryDto(3, 1000.0, 2000.0, 1500.0), tripStatisticsEngine.getSummary());
+        tripStatisticsEngine.onTripDeleted(completedRome);
+        tripStatisticsEngine.onTripDeleted(completedRome);
+        assertEquals(new TripSummaryDto(2, 1500.0, 2000.0, 1750.0), tripStatisticsEngine.getSummary());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_ShouldNotBlockChangesAndKeepThoseMadeDuringTheScan() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch finishScan = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Consumer<Trip> action = invocation.getArgument(1);
+            action.accept(paris);
+            action.accept(london);
+            scanning.countDown();
+            finishScan.await();
+            action.accept(rome);
+            return null;
+        }).when(tripRepository).forEachTrip(anyInt(), any(Consumer.class));
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(tripStatisticsEngine::rebuild);
+        assertTrue(scanning.await(5, TimeUnit.SECONDS));
+        // Neither waits for the scan; the save is one it never sees, the delete one it already read
+        CompletableFuture.runAsync(() -> tripStatisticsEngine.onTripSaved(trip(4, "Lisbon", 3000.0, TripStatus.PLANNED)))
+                .get(1, TimeUnit.SECONDS);
+        CompletableFuture.runAsync(() -> tripStatisticsEngine.onTripDeleted(paris)).get(1, TimeUnit.SECONDS);
+        finishScan.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertEquals(new TripSummaryDto(3, 2000.0, 4000.0, 3000.0), tripStatisticsEngine.getSummary());
+    }
+
+    private static Trip trip(int id, String destination, double price, TripStatus status) {
+        return trip(id, destination, price, status, 0);
+    }
+
+    private static Trip trip(int id, String destination, double price, TripStatus status, long version) {
+        return new Trip(id, destination, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 10), price, status, version);
+    }
+}
@@ -0,0 +1,10 @@
+create table if not exists trips (
+    id integer not null,
+    destination varchar(255) not null,
+    start_date date not null,
+    end_date date not null,
+    price float(53) not null,
+    status varchar(255) not null,
+    version bigint default 0 not null,
+    primary key (id)
+);